@@ -0,0 +1,57 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import io.github.mmm.marshall.StructuredFormat;
+import io.github.mmm.marshall.StructuredFormatProvider;
+import io.github.mmm.marshall.json.JsonFormatProvider;
+import io.github.mmm.marshall.jsonp.JsonpFormatProvider;
+import io.github.mmm.marshall.mrpc.MrpcFormatProvider;
+import io.github.mmm.marshall.protobuf.ProtoBufFormatProvider;
+import io.github.mmm.marshall.snakeyaml.SnakeYamlFormatProvider;
+import io.github.mmm.marshall.stax.StaxFormatProvider;
+import io.github.mmm.marshall.yaml.YamlFormatProvider;
+
+/**
+ * Enum with the {@link StructuredFormat} implementations to benchmark. As multiple implementations exist for the same
+ * {@link StructuredFormat#getId() format ID} we address the {@link StructuredFormatProvider}s directly.
+ */
+public enum BenchmarkFormat {
+
+  /** {@code mmm-marshall-json} */
+  JSON(new JsonFormatProvider()),
+
+  /** {@code mmm-marshall-jsonp} */
+  JSONP(new JsonpFormatProvider()),
+
+  /** {@code mmm-marshall-yaml} */
+  YAML(new YamlFormatProvider()),
+
+  /** {@code mmm-marshall-snakeyaml} */
+  SNAKEYAML(new SnakeYamlFormatProvider()),
+
+  /** {@code mmm-marshall-stax} */
+  STAX(new StaxFormatProvider()),
+
+  /** {@code mmm-marshall-protobuf} */
+  PROTOBUF(new ProtoBufFormatProvider()),
+
+  /** {@code mmm-marshall-mrpc} */
+  MRPC(new MrpcFormatProvider());
+
+  private final StructuredFormatProvider provider;
+
+  private BenchmarkFormat(StructuredFormatProvider provider) {
+
+    this.provider = provider;
+  }
+
+  /**
+   * @return the {@link StructuredFormat} with default configuration.
+   */
+  public StructuredFormat create() {
+
+    return this.provider.create();
+  }
+
+}
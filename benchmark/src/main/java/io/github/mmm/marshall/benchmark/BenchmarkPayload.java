@@ -0,0 +1,240 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
+import io.github.mmm.marshall.test.ChildTestBean;
+import io.github.mmm.marshall.test.RootTestBean;
+
+/**
+ * Enum with the payloads to benchmark. Each payload knows how to {@link #write(StructuredWriter) write} and
+ * {@link #read(StructuredReader) read} itself with typed calls so it also works for
+ * {@link io.github.mmm.marshall.StructuredFormat#isIdBased() ID based} formats.
+ */
+public enum BenchmarkPayload {
+
+  /** The data of the TCK based on {@link RootTestBean} and {@link ChildTestBean}. */
+  BEAN {
+
+    @Override
+    public void write(StructuredWriter writer) {
+
+      writer.writeStartObject(ROOT);
+      writer.writeName(RootTestBean.PROPERTY_FOO);
+      writer.writeValueAsString(FOO);
+      writer.writeName(RootTestBean.PROPERTY_INSTANT);
+      writer.writeValueAsInstant(INSTANT);
+      writer.writeName(RootTestBean.PROPERTY_LIST);
+      writer.writeStartArray();
+      writer.writeValueAsByte(Byte.valueOf((byte) -1));
+      writer.writeValueAsShort(Short.valueOf((short) -1));
+      writer.writeValueAsInteger(Integer.valueOf(-1));
+      writer.writeValueAsLong(Long.valueOf(-12345678901L));
+      writer.writeValueAsFloat(Float.valueOf(4.2F));
+      writer.writeValueAsDouble(Double.valueOf(42.42));
+      writer.writeValueAsBigDecimal(BIG_DECIMAL);
+      writer.writeValueAsBigInteger(BIG_INTEGER);
+      writer.writeStartArray();
+      writer.writeStartObject(CHILD);
+      writer.writeName(ChildTestBean.PROPERTY_KEY);
+      writer.writeValueAsString(KEY);
+      writer.writeEnd();
+      writer.writeEnd();
+      writer.writeEnd();
+      writer.writeName(RootTestBean.PROPERTY_EMPTY);
+      writer.writeStartArray();
+      writer.writeEnd();
+      writer.writeEnd();
+      writer.close();
+    }
+
+    @Override
+    public long read(StructuredReader reader) {
+
+      long hash = 0;
+      reader.readStartObject(ROOT);
+      reader.readName();
+      hash += reader.readValueAsString().length();
+      reader.readName();
+      hash += reader.readValueAsInstant().getNano();
+      reader.readName();
+      reader.readStartArray();
+      hash += reader.readValueAsByte().longValue();
+      hash += reader.readValueAsShort().longValue();
+      hash += reader.readValueAsInteger().longValue();
+      hash += reader.readValueAsLong().longValue();
+      hash += reader.readValueAsFloat().longValue();
+      hash += reader.readValueAsDouble().longValue();
+      hash += reader.readValueAsBigDecimal().scale();
+      hash += reader.readValueAsBigInteger().signum();
+      reader.readStartArray();
+      reader.readStartObject(CHILD);
+      reader.readName();
+      hash += reader.readValueAsString().length();
+      reader.readEndObject();
+      reader.readEndArray();
+      reader.readEndArray();
+      // binary formats may omit property with empty array value
+      if (reader.isName(RootTestBean.PROPERTY_EMPTY)) {
+        reader.readStartArray();
+        reader.readEndArray();
+      }
+      reader.readEndObject();
+      return hash;
+    }
+  },
+
+  /** A synthetic document with objects nested {@link #DEPTH} levels deep. */
+  DEEP {
+
+    @Override
+    public void write(StructuredWriter writer) {
+
+      for (int i = 0; i < DEPTH; i++) {
+        writer.writeStartObject(SyntheticObject.DEEP);
+        writer.writeName(SyntheticObject.PROPERTY_CHILD);
+      }
+      writer.writeStartObject(SyntheticObject.DEEP);
+      writer.writeName(SyntheticObject.PROPERTY_VALUE);
+      writer.writeValueAsInteger(Integer.valueOf(DEPTH));
+      for (int i = 0; i <= DEPTH; i++) {
+        writer.writeEnd();
+      }
+      writer.close();
+    }
+
+    @Override
+    public long read(StructuredReader reader) {
+
+      for (int i = 0; i < DEPTH; i++) {
+        reader.readStartObject(SyntheticObject.DEEP);
+        reader.readName();
+      }
+      reader.readStartObject(SyntheticObject.DEEP);
+      reader.readName();
+      long hash = reader.readValueAsInteger().longValue();
+      for (int i = 0; i <= DEPTH; i++) {
+        reader.readEndObject();
+      }
+      return hash;
+    }
+  },
+
+  /** A synthetic document with a single object with {@link SyntheticObject#WIDE_PROPERTY_COUNT many} properties. */
+  WIDE {
+
+    @Override
+    public void write(StructuredWriter writer) {
+
+      SyntheticObject object = SyntheticObject.WIDE;
+      writer.writeStartObject(object);
+      for (int i = 0; i < SyntheticObject.WIDE_PROPERTY_COUNT; i++) {
+        writer.writeName(object.getName(i));
+        int mod = i % 4;
+        if (mod == 0) {
+          writer.writeValueAsString(KEY + i);
+        } else if (mod == 1) {
+          writer.writeValueAsLong(Long.valueOf(i * 1234567L));
+        } else if (mod == 2) {
+          writer.writeValueAsDouble(Double.valueOf(i / 7.0));
+        } else {
+          writer.writeValueAsBoolean(Boolean.valueOf((i & 8) == 0));
+        }
+      }
+      writer.writeEnd();
+      writer.close();
+    }
+
+    @Override
+    public long read(StructuredReader reader) {
+
+      long hash = 0;
+      reader.readStartObject(SyntheticObject.WIDE);
+      for (int i = 0; i < SyntheticObject.WIDE_PROPERTY_COUNT; i++) {
+        reader.readName();
+        int mod = i % 4;
+        if (mod == 0) {
+          hash += reader.readValueAsString().length();
+        } else if (mod == 1) {
+          hash += reader.readValueAsLong().longValue();
+        } else if (mod == 2) {
+          hash += reader.readValueAsDouble().longValue();
+        } else if (reader.readValueAsBoolean().booleanValue()) {
+          hash++;
+        }
+      }
+      reader.readEndObject();
+      return hash;
+    }
+  },
+
+  /** A synthetic document with an array of {@link #ARRAY_SIZE} numbers. */
+  LARGE_ARRAY {
+
+    @Override
+    public void write(StructuredWriter writer) {
+
+      writer.writeStartObject(SyntheticObject.ARRAY);
+      writer.writeName(SyntheticObject.PROPERTY_VALUES);
+      writer.writeStartArray();
+      for (int i = 0; i < ARRAY_SIZE; i++) {
+        writer.writeValueAsInteger(Integer.valueOf((i * 31) - 5000));
+      }
+      writer.writeEnd();
+      writer.writeEnd();
+      writer.close();
+    }
+
+    @Override
+    public long read(StructuredReader reader) {
+
+      long hash = 0;
+      reader.readStartObject(SyntheticObject.ARRAY);
+      reader.readName();
+      reader.readStartArray();
+      while (!reader.readEndArray()) {
+        hash += reader.readValueAsInteger().longValue();
+      }
+      reader.readEndObject();
+      return hash;
+    }
+  };
+
+  /** Depth of {@link #DEEP}. */
+  public static final int DEPTH = 64;
+
+  /** Number of items in the array of {@link #LARGE_ARRAY}. */
+  public static final int ARRAY_SIZE = 10000;
+
+  private static final String FOO = "bar";
+
+  private static final String KEY = "value";
+
+  private static final Instant INSTANT = Instant.parse("1999-12-31T23:59:59.999999Z");
+
+  private static final BigDecimal BIG_DECIMAL = new BigDecimal("0.12345678901234567890123456789");
+
+  private static final BigInteger BIG_INTEGER = new BigInteger("1234567890123456789012345678901234567890");
+
+  private static final RootTestBean ROOT = new RootTestBean();
+
+  private static final ChildTestBean CHILD = new ChildTestBean();
+
+  /**
+   * @param writer the {@link StructuredWriter} where to write this payload to. Will be {@link StructuredWriter#close()
+   *        closed} at the end.
+   */
+  public abstract void write(StructuredWriter writer);
+
+  /**
+   * @param reader the {@link StructuredReader} to read this payload from.
+   * @return a hash computed from the values that have been read to prevent dead-code elimination.
+   */
+  public abstract long read(StructuredReader reader);
+
+}
@@ -0,0 +1,35 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main program to run the benchmarks. Always adds the {@link GCProfiler} so the results contain the bytes allocated
+ * per operation ({@code gc.alloc.rate.norm}) next to the throughput. All arguments are passed to JMH, e.g. a regex to
+ * select the benchmarks or {@code -p format=JSON} to select a parameter.
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+
+  }
+
+  /**
+   * @param args the JMH command-line arguments.
+   * @throws RunnerException on error running the benchmarks.
+   * @throws CommandLineOptionException on invalid arguments.
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+
+    Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build();
+    new Runner(options).run();
+  }
+
+}
@@ -0,0 +1,85 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
+
+/**
+ * Benchmark for reading, writing and skipping every {@link BenchmarkPayload} in every {@link BenchmarkFormat}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FormatBenchmark {
+
+  /** The {@link BenchmarkFormat} to benchmark. */
+  @Param
+  public BenchmarkFormat format;
+
+  /** The {@link BenchmarkPayload} to benchmark. */
+  @Param
+  public BenchmarkPayload payload;
+
+  private FormatData data;
+
+  /**
+   * Pre-computes the payload data.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+
+    this.data = new FormatData(this.format.create(), this.payload);
+  }
+
+  /**
+   * @return the hash of the read values.
+   */
+  @Benchmark
+  public long read() {
+
+    StructuredReader reader = this.data.newReader();
+    return this.payload.read(reader);
+  }
+
+  /**
+   * @return the {@link StructuredWriter} after writing the payload.
+   */
+  @Benchmark
+  public StructuredWriter write() {
+
+    StructuredWriter writer = this.data.newWriter();
+    this.payload.write(writer);
+    return writer;
+  }
+
+  /**
+   * @return {@code true} if the reader is done after skipping the entire payload.
+   */
+  @Benchmark
+  public boolean skipValue() {
+
+    StructuredReader reader = this.data.newReader();
+    reader.skipValue();
+    return reader.isDone();
+  }
+
+}
@@ -0,0 +1,91 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import io.github.mmm.marshall.StructuredFormat;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredTextFormat;
+import io.github.mmm.marshall.StructuredWriter;
+
+/**
+ * Container for a {@link StructuredFormat} together with a {@link BenchmarkPayload} pre-written in that format. The
+ * payload is written once on construction so that reading benchmarks do not measure the writer.
+ */
+public class FormatData {
+
+  private final StructuredFormat format;
+
+  private final StringBuilder sb;
+
+  private final ByteArrayOutputStream baos;
+
+  private final String text;
+
+  private final byte[] bytes;
+
+  /**
+   * The constructor.
+   *
+   * @param format the {@link StructuredFormat}.
+   * @param payload the {@link BenchmarkPayload} to pre-write.
+   */
+  public FormatData(StructuredFormat format, BenchmarkPayload payload) {
+
+    super();
+    this.format = format;
+    this.sb = new StringBuilder(4096);
+    this.baos = new ByteArrayOutputStream(4096);
+    payload.write(newWriter());
+    if (format.isBinary()) {
+      this.text = null;
+      this.bytes = this.baos.toByteArray();
+    } else {
+      this.text = this.sb.toString();
+      this.bytes = null;
+    }
+  }
+
+  /**
+   * @return the {@link StructuredFormat}.
+   */
+  public StructuredFormat getFormat() {
+
+    return this.format;
+  }
+
+  /**
+   * @return the pre-written payload as text or {@code null} if the {@link #getFormat() format} is binary.
+   */
+  public String getText() {
+
+    return this.text;
+  }
+
+  /**
+   * @return a new {@link StructuredReader} for the pre-written payload.
+   */
+  public StructuredReader newReader() {
+
+    if (this.text != null) {
+      return ((StructuredTextFormat) this.format).reader(this.text);
+    }
+    return this.format.reader(new ByteArrayInputStream(this.bytes));
+  }
+
+  /**
+   * @return a new {@link StructuredWriter} writing into a reused buffer.
+   */
+  public StructuredWriter newWriter() {
+
+    if (this.format.isBinary()) {
+      this.baos.reset();
+      return this.format.writer(this.baos);
+    }
+    this.sb.setLength(0);
+    return ((StructuredTextFormat) this.format).writer(this.sb);
+  }
+
+}
@@ -0,0 +1,83 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.marshall.EnumFormat;
+import io.github.mmm.marshall.id.StructuredIdMapping;
+import io.github.mmm.marshall.id.impl.StructuredIdMappingProviderDefault;
+import io.github.mmm.marshall.impl.EnumMapping;
+import io.github.mmm.marshall.impl.EnumMappings;
+import io.github.mmm.marshall.standard.DatatypeMarshalling;
+import io.github.mmm.marshall.test.RootTestBean;
+
+/**
+ * Benchmark of the per-type caches looked up for every object or value under contention of many threads. The
+ * {@code concurrentHashMap} benchmark is the baseline using {@link ConcurrentHashMap#computeIfAbsent(Object,
+ * java.util.function.Function) computeIfAbsent} as the caches did before they were moved to {@link ClassValue}. Use
+ * {@code -t} to change the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(32)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MappingCacheBenchmark {
+
+  private final RootTestBean bean = new RootTestBean();
+
+  private final Map<Object, StructuredIdMapping> map = new ConcurrentHashMap<>();
+
+  /**
+   * @return the {@link StructuredIdMapping} from {@link StructuredIdMappingProviderDefault}.
+   */
+  @Benchmark
+  public StructuredIdMapping idMappingProvider() {
+
+    return StructuredIdMappingProviderDefault.get().getMapping(this.bean);
+  }
+
+  /**
+   * @return the {@link StructuredIdMapping} from a {@link ConcurrentHashMap} as baseline.
+   */
+  @Benchmark
+  public StructuredIdMapping concurrentHashMap() {
+
+    return this.map.computeIfAbsent(this.bean.asTypeKey(), k -> this.bean.defineIdMapping());
+  }
+
+  /**
+   * @return the {@link EnumMapping} from {@link EnumMappings}.
+   */
+  @Benchmark
+  public EnumMapping<EnumFormat> enumMappings() {
+
+    return EnumMappings.get().getMapping(EnumFormat.class);
+  }
+
+  /**
+   * @return the {@link DatatypeMarshalling} for {@link String}.
+   */
+  @Benchmark
+  public DatatypeMarshalling<String> datatypeMarshalling() {
+
+    return DatatypeMarshalling.of(String.class);
+  }
+
+}
@@ -0,0 +1,107 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredTextFormat;
+import io.github.mmm.scanner.CharSequenceScanner;
+import io.github.mmm.scanner.CharStreamScanner;
+
+/**
+ * Benchmark comparing {@link StructuredReader#skipValue()} of the entire payload with a raw scan over the same data
+ * as baseline. Skipping should get close to the speed of the raw scan and should not allocate per token.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SkipBenchmark {
+
+  /** The {@link SkipFormat} to skip. */
+  @Param
+  public SkipFormat format;
+
+  /** The {@link BenchmarkPayload} to skip. */
+  @Param
+  public BenchmarkPayload payload;
+
+  private StructuredTextFormat readFormat;
+
+  private String text;
+
+  /**
+   * Pre-computes the payload data.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+
+    FormatData data = new FormatData(this.format.writeFormat.create(), this.payload);
+    this.text = data.getText();
+    this.readFormat = (StructuredTextFormat) this.format.readFormat.create();
+  }
+
+  /**
+   * @return {@code true} if the reader is done after skipping the entire payload.
+   */
+  @Benchmark
+  public boolean skipValue() {
+
+    StructuredReader reader = this.readFormat.reader(this.text);
+    reader.skipValue();
+    return reader.isDone();
+  }
+
+  /**
+   * @return the number of characters scanned as baseline.
+   */
+  @Benchmark
+  public int scan() {
+
+    CharStreamScanner scanner = new CharSequenceScanner(this.text);
+    return scanner.skipWhile(c -> c != CharStreamScanner.EOS);
+  }
+
+  /**
+   * The text formats to skip. YAML is covered in block style (as written by the YAML writer) and in flow style
+   * ({@code {...}} and {@code [...]}) as both are skipped by different code paths.
+   */
+  public enum SkipFormat {
+
+    /** JSON written and read via {@link BenchmarkFormat#JSON}. */
+    JSON(BenchmarkFormat.JSON, BenchmarkFormat.JSON),
+
+    /** YAML in block style written and read via {@link BenchmarkFormat#YAML}. */
+    YAML(BenchmarkFormat.YAML, BenchmarkFormat.YAML),
+
+    /** YAML in flow style written via {@link BenchmarkFormat#JSON} and read via {@link BenchmarkFormat#YAML}. */
+    YAML_FLOW(BenchmarkFormat.JSON, BenchmarkFormat.YAML);
+
+    private final BenchmarkFormat writeFormat;
+
+    private final BenchmarkFormat readFormat;
+
+    private SkipFormat(BenchmarkFormat writeFormat, BenchmarkFormat readFormat) {
+
+      this.writeFormat = writeFormat;
+      this.readFormat = readFormat;
+    }
+  }
+
+}
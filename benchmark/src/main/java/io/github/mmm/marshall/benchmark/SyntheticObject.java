@@ -0,0 +1,72 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import io.github.mmm.marshall.id.StructuredIdMapping;
+import io.github.mmm.marshall.id.StructuredIdMappingObject;
+
+/**
+ * {@link StructuredIdMappingObject} for the synthetic {@link BenchmarkPayload}s that have no bean representation.
+ */
+public final class SyntheticObject implements StructuredIdMappingObject {
+
+  /** Property name of the nested object in {@link BenchmarkPayload#DEEP}. */
+  public static final String PROPERTY_CHILD = "child";
+
+  /** Property name of the leaf value in {@link BenchmarkPayload#DEEP}. */
+  public static final String PROPERTY_VALUE = "value";
+
+  /** Property name of the array in {@link BenchmarkPayload#LARGE_ARRAY}. */
+  public static final String PROPERTY_VALUES = "values";
+
+  /** Number of properties in {@link #WIDE}. */
+  public static final int WIDE_PROPERTY_COUNT = 256;
+
+  /** {@link SyntheticObject} for {@link BenchmarkPayload#DEEP}. */
+  public static final SyntheticObject DEEP = new SyntheticObject(PROPERTY_CHILD, PROPERTY_VALUE);
+
+  /** {@link SyntheticObject} for {@link BenchmarkPayload#WIDE}. */
+  public static final SyntheticObject WIDE = new SyntheticObject(createWideNames());
+
+  /** {@link SyntheticObject} for {@link BenchmarkPayload#LARGE_ARRAY}. */
+  public static final SyntheticObject ARRAY = new SyntheticObject(PROPERTY_VALUES);
+
+  private final String[] names;
+
+  private SyntheticObject(String... names) {
+
+    super();
+    this.names = names;
+  }
+
+  /**
+   * @param i the index of the requested property name.
+   * @return the property name at the given index.
+   */
+  public String getName(int i) {
+
+    return this.names[i];
+  }
+
+  @Override
+  public StructuredIdMapping defineIdMapping() {
+
+    return StructuredIdMapping.of(this.names);
+  }
+
+  @Override
+  public Object asTypeKey() {
+
+    return this;
+  }
+
+  private static String[] createWideNames() {
+
+    String[] names = new String[WIDE_PROPERTY_COUNT];
+    for (int i = 0; i < WIDE_PROPERTY_COUNT; i++) {
+      names[i] = "property" + i;
+    }
+    return names;
+  }
+
+}
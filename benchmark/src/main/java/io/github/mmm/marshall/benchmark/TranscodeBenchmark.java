@@ -0,0 +1,73 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.mmm.marshall.StructuredWriter;
+
+/**
+ * Benchmark for transcoding via {@link StructuredWriter#write(io.github.mmm.marshall.StructuredReader)}. Only self
+ * describing formats can be used as source or target since {@link io.github.mmm.marshall.StructuredFormat#isIdBased()
+ * ID based} formats need the {@link io.github.mmm.marshall.id.StructuredIdMapping} of the object to read or write that
+ * is not available for generic copying.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TranscodeBenchmark {
+
+  /** The {@link BenchmarkFormat} to read from. */
+  @Param({ "JSON", "JSONP", "YAML", "SNAKEYAML", "STAX" })
+  public BenchmarkFormat source;
+
+  /** The {@link BenchmarkFormat} to write to. */
+  @Param({ "JSON", "JSONP", "YAML", "SNAKEYAML", "STAX" })
+  public BenchmarkFormat target;
+
+  /** The {@link BenchmarkPayload} to transcode. */
+  @Param
+  public BenchmarkPayload payload;
+
+  private FormatData sourceData;
+
+  private FormatData targetData;
+
+  /**
+   * Pre-computes the payload data.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+
+    this.sourceData = new FormatData(this.source.create(), this.payload);
+    this.targetData = new FormatData(this.target.create(), this.payload);
+  }
+
+  /**
+   * @return the {@link StructuredWriter} after transcoding the payload.
+   */
+  @Benchmark
+  public StructuredWriter transcode() {
+
+    StructuredWriter writer = this.targetData.newWriter();
+    writer.write(this.sourceData.newReader());
+    return writer;
+  }
+
+}
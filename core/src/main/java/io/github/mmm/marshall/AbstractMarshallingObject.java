@@ -27,14 +27,32 @@ public abstract class AbstractMarshallingObject implements MarshallingObject, St
   @Override
   public MarshallingObject read(StructuredReader reader) {
 
-    reader.require(StructuredState.START_OBJECT, true);
+    if (!reader.readStartObject(this)) {
+      reader.require(StructuredState.START_OBJECT);
+    }
     while (!reader.readEnd()) {
-      String name = reader.readName();
-      readProperty(reader, name);
+      String name = reader.getName();
+      int id = reader.readNameToken();
+      readProperty(reader, name, id);
     }
     return this;
   }
 
+  /**
+   * Reads the property with the given {@code name} and applies it to this {@link MarshallingObject}. Override to
+   * {@code switch} on the given {@code id} instead of comparing the {@code name}.
+   *
+   * @param reader the {@link StructuredReader} to read from.
+   * @param name the name of the property to read.
+   * @param id the {@link io.github.mmm.marshall.id.StructuredIdMapping#id(String) ID} of the property from
+   *        {@link #defineIdMapping()} or {@code 0} if unknown.
+   * @see StructuredReader#readNameToken()
+   */
+  protected void readProperty(StructuredReader reader, String name, int id) {
+
+    readProperty(reader, name);
+  }
+
   /**
    * Reads the property with the given {@code name} and applies it to this {@link MarshallingObject}.
    *
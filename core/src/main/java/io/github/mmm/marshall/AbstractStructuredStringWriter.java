@@ -3,21 +3,54 @@
 package io.github.mmm.marshall;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 
 import io.github.mmm.marshall.spi.AbstractStructuredWriter;
 import io.github.mmm.marshall.spi.StructuredNode;
+import io.github.mmm.marshall.spi.StructuredTextFormatter;
 
 /**
- * {@link AbstractStructuredWriter} for writing data as {@link String} to {@link Appendable}.
+ * {@link AbstractStructuredWriter} for writing data as {@link String} to {@link Appendable}. The data is collected in
+ * an internal buffer of {@link MarshallingConfig#VAR_BUFFER_SIZE} that is flushed in large chunks and finally when
+ * the root object or array is ended or on {@link #close()} (except for {@link StringBuilder} that is written
+ * directly). Alternatively it can write directly to an {@link OutputStream} encoding the data as UTF-8 into an
+ * internal byte buffer.
  *
  * @param <S> type of the {@link StructuredNode}.
  * @since 1.0.0
  */
 public abstract class AbstractStructuredStringWriter<S extends StructuredNode<S>> extends AbstractStructuredWriter<S> {
 
-  /** The {@link Appendable} where to {@link Appendable#append(CharSequence) write} the data to. */
+  private static final int MIN_BUFFER_SIZE = 64;
+
+  /**
+   * The {@link Appendable} where to {@link Appendable#append(CharSequence) write} the data to. Will be {@code null} if
+   * writing to an {@link OutputStream}.
+   */
   protected Appendable out;
 
+  private final int bufferSize;
+
+  private char[] buffer;
+
+  private int bufferCount;
+
+  private boolean buffered;
+
+  private OutputStream stream;
+
+  private byte[] bytes;
+
+  private int byteCount;
+
+  /** The newline followed by the indentation for the according indent count. */
+  private String[] indents;
+
+  private char[] formatBuffer;
+
   /** @see #writeComment(String) */
   private String comment;
 
@@ -32,7 +65,69 @@ public abstract class AbstractStructuredStringWriter<S extends StructuredNode<S>
   public AbstractStructuredStringWriter(Appendable out, StructuredFormat format) {
 
     super(format);
-    this.out = out;
+    this.bufferSize = Math.max(MIN_BUFFER_SIZE, this.config.get(MarshallingConfig.VAR_BUFFER_SIZE).intValue());
+    initOut(out);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param out the {@link OutputStream} to write the data to encoded as UTF-8.
+   * @param format the {@link #getFormat() format}.
+   */
+  public AbstractStructuredStringWriter(OutputStream out, StructuredFormat format) {
+
+    super(format);
+    this.bufferSize = Math.max(MIN_BUFFER_SIZE, this.config.get(MarshallingConfig.VAR_BUFFER_SIZE).intValue());
+    initStream(out);
+  }
+
+  private void initOut(Appendable newOut) {
+
+    this.out = newOut;
+    this.buffered = !(newOut instanceof StringBuilder);
+    if (this.buffered && (this.buffer == null)) {
+      this.buffer = new char[this.bufferSize];
+    }
+    this.bufferCount = 0;
+  }
+
+  private void initStream(OutputStream newStream) {
+
+    this.stream = newStream;
+    this.buffered = false;
+    if (this.bytes == null) {
+      this.bytes = new byte[this.bufferSize];
+    }
+    this.byteCount = 0;
+  }
+
+  /**
+   * Resets this writer for reuse after it has been {@link #close() closed}.
+   *
+   * @param newOut the new {@link Appendable} to write the data to.
+   */
+  protected void reset(Appendable newOut) {
+
+    reset();
+    this.stream = null;
+    initOut(newOut);
+    this.comment = null;
+    this.newlineWritten = false;
+  }
+
+  /**
+   * Resets this writer for reuse after it has been {@link #close() closed}.
+   *
+   * @param newOut the new {@link OutputStream} to write the data to encoded as UTF-8.
+   */
+  protected void reset(OutputStream newOut) {
+
+    reset();
+    this.out = null;
+    initStream(newOut);
+    this.comment = null;
+    this.newlineWritten = false;
   }
 
   /**
@@ -58,18 +153,32 @@ public abstract class AbstractStructuredStringWriter<S extends StructuredNode<S>
     if (this.indentation == null) {
       return;
     }
-    try {
-      if (this.newlineWritten) {
-        this.out.append('\n');
-      } else {
-        this.newlineWritten = true;
-      }
-      for (int i = count; i > 0; i--) {
-        this.out.append(this.indentation);
-      }
-    } catch (IOException e) {
-      throw new IllegalStateException(e);
+    String indent = getIndent(count);
+    if (this.newlineWritten) {
+      write(indent, 0, indent.length());
+    } else {
+      this.newlineWritten = true;
+      write(indent, 1, indent.length());
+    }
+  }
+
+  /**
+   * @param count the number of indentations.
+   * @return the newline followed by the given number of {@link #indentation indentations}.
+   */
+  private String getIndent(int count) {
+
+    if (this.indents == null) {
+      this.indents = new String[Math.max(8, count + 1)];
+    } else if (count >= this.indents.length) {
+      this.indents = Arrays.copyOf(this.indents, Math.max(count + 1, this.indents.length * 2));
     }
+    String indent = this.indents[count];
+    if (indent == null) {
+      indent = "\n" + this.indentation.repeat(count);
+      this.indents[count] = indent;
+    }
+    return indent;
   }
 
   /**
@@ -77,10 +186,23 @@ public abstract class AbstractStructuredStringWriter<S extends StructuredNode<S>
    */
   protected void write(char data) {
 
-    try {
-      this.out.append(data);
-    } catch (IOException e) {
-      throw new IllegalStateException(e);
+    if (this.buffered) {
+      if (this.bufferCount == this.buffer.length) {
+        flushChars();
+      }
+      this.buffer[this.bufferCount++] = data;
+    } else if (this.stream != null) {
+      if (data < 0x80) {
+        writeByte(data);
+      } else {
+        encode(String.valueOf(data), 0, 1);
+      }
+    } else {
+      try {
+        this.out.append(data);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
     }
   }
 
@@ -89,13 +211,177 @@ public abstract class AbstractStructuredStringWriter<S extends StructuredNode<S>
    */
   protected void write(String data) {
 
+    write(data, 0, data.length());
+  }
+
+  /**
+   * @param data the {@link String} containing the characters to write.
+   * @param start the index of the first character to write.
+   * @param end the index after the last character to write.
+   */
+  protected void write(String data, int start, int end) {
+
+    if (this.buffered) {
+      int length = end - start;
+      if (this.bufferCount + length > this.buffer.length) {
+        flushChars();
+        if (length > this.buffer.length) {
+          append(data, start, end);
+          return;
+        }
+      }
+      data.getChars(start, end, this.buffer, this.bufferCount);
+      this.bufferCount += length;
+    } else if (this.stream != null) {
+      encode(data, start, end);
+    } else {
+      append(data, start, end);
+    }
+  }
+
+  /**
+   * @param data the {@code char[]} containing the characters to write.
+   * @param start the index of the first character to write.
+   * @param end the index after the last character to write.
+   */
+  protected void write(char[] data, int start, int end) {
+
+    if (this.buffered) {
+      int length = end - start;
+      if (this.bufferCount + length > this.buffer.length) {
+        flushChars();
+        if (length > this.buffer.length) {
+          append(data, start, end);
+          return;
+        }
+      }
+      System.arraycopy(data, start, this.buffer, this.bufferCount, length);
+      this.bufferCount += length;
+    } else if (this.stream != null) {
+      for (int i = start; i < end; i++) {
+        char c = data[i];
+        if (c < 0x80) {
+          writeByte(c);
+        } else {
+          encode(new String(data, i, end - i), 0, end - i);
+          return;
+        }
+      }
+    } else {
+      append(data, start, end);
+    }
+  }
+
+  /**
+   * @return a reusable {@code char[]} with a capacity of at least {@link StructuredTextFormatter#BUFFER_SIZE} to format
+   *         values into before {@link #write(char[], int, int) writing} them.
+   */
+  protected char[] getCharBuffer() {
+
+    if (this.formatBuffer == null) {
+      this.formatBuffer = new char[StructuredTextFormatter.BUFFER_SIZE];
+    }
+    return this.formatBuffer;
+  }
+
+  private void append(CharSequence data, int start, int end) {
+
     try {
-      this.out.append(data);
+      this.out.append(data, start, end);
     } catch (IOException e) {
       throw new IllegalStateException(e);
     }
   }
 
+  private void append(char[] data, int start, int end) {
+
+    try {
+      if (this.out instanceof StringBuilder sb) {
+        sb.append(data, start, end - start);
+      } else if (this.out instanceof Writer writer) {
+        writer.write(data, start, end - start);
+      } else {
+        this.out.append(CharBuffer.wrap(data, start, end - start));
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void flushChars() {
+
+    if (this.bufferCount > 0) {
+      append(this.buffer, 0, this.bufferCount);
+      this.bufferCount = 0;
+    }
+  }
+
+  private void writeByte(int b) {
+
+    if (this.byteCount == this.bytes.length) {
+      flushBytes();
+    }
+    this.bytes[this.byteCount++] = (byte) b;
+  }
+
+  /**
+   * @param data the {@link String} to encode as UTF-8 into the byte buffer.
+   * @param start the index of the first character to encode.
+   * @param end the index after the last character to encode.
+   */
+  private void encode(String data, int start, int end) {
+
+    int i = start;
+    while (i < end) {
+      // fast path for ASCII characters
+      int asciiEnd = Math.min(end, i + this.bytes.length - this.byteCount);
+      while (i < asciiEnd) {
+        char c = data.charAt(i);
+        if (c >= 0x80) {
+          break;
+        }
+        this.bytes[this.byteCount++] = (byte) c;
+        i++;
+      }
+      if (i < end) {
+        if (this.byteCount + 4 > this.bytes.length) {
+          flushBytes();
+        }
+        char c = data.charAt(i++);
+        if (c < 0x80) {
+          this.bytes[this.byteCount++] = (byte) c;
+        } else if (c < 0x800) {
+          this.bytes[this.byteCount++] = (byte) (0xC0 | (c >> 6));
+          this.bytes[this.byteCount++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && (i < end) && Character.isLowSurrogate(data.charAt(i))) {
+          int cp = Character.toCodePoint(c, data.charAt(i++));
+          this.bytes[this.byteCount++] = (byte) (0xF0 | (cp >> 18));
+          this.bytes[this.byteCount++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+          this.bytes[this.byteCount++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+          this.bytes[this.byteCount++] = (byte) (0x80 | (cp & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+          this.bytes[this.byteCount++] = '?'; // unpaired surrogate like StandardCharsets.UTF_8 encoder
+        } else {
+          this.bytes[this.byteCount++] = (byte) (0xE0 | (c >> 12));
+          this.bytes[this.byteCount++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+          this.bytes[this.byteCount++] = (byte) (0x80 | (c & 0x3F));
+        }
+      }
+    }
+  }
+
+  private void flushBytes() {
+
+    if (this.byteCount > 0) {
+      try {
+        this.stream.write(this.bytes, 0, this.byteCount);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+      this.byteCount = 0;
+    }
+  }
+
   @Override
   public void writeComment(String newComment) {
 
@@ -116,9 +402,33 @@ public abstract class AbstractStructuredStringWriter<S extends StructuredNode<S>
 
   }
 
+  @Override
+  protected void doFlush() {
+
+    if (this.stream != null) {
+      flushBytes();
+    } else if (this.buffered) {
+      flushChars();
+    }
+  }
+
   @Override
   protected void doClose() {
 
+    if (this.stream != null) {
+      flushBytes();
+      try {
+        this.stream.close();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+      this.stream = null;
+      return;
+    }
+    if (this.buffered) {
+      flushChars();
+      this.buffered = false;
+    }
     if (this.out instanceof AutoCloseable) {
       try {
         ((AutoCloseable) this.out).close();
@@ -132,6 +442,14 @@ public abstract class AbstractStructuredStringWriter<S extends StructuredNode<S>
   @Override
   public String toString() {
 
+    // flush pending output so the result is complete without closing
+    if (this.stream != null) {
+      flushBytes();
+      return this.stream.toString();
+    }
+    if (this.buffered) {
+      flushChars();
+    }
     return this.out.toString();
   }
 
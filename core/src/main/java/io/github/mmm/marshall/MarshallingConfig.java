@@ -70,6 +70,21 @@ public final class MarshallingConfig extends VariableMap {
   public static final VariableDefinition<Boolean> VAR_ENCODE_ROOT_OBJECT = new VariableDefinition<>("root-object",
       Boolean.class);
 
+  /**
+   * {@link VariableDefinition} to configure if {@link java.time} values should be encoded in a compact binary form
+   * instead of ISO-8601 strings. {@link java.time.Instant} and {@link java.time.LocalDateTime} are written as a single
+   * integer of epoch seconds, milliseconds, microseconds or nanoseconds, {@link java.time.LocalDate} as epoch day and
+   * {@link java.time.LocalTime} as nanosecond of the day. {@link java.time.OffsetDateTime},
+   * {@link java.time.OffsetTime} and {@link java.time.ZonedDateTime} with a fixed {@link java.time.ZoneOffset} carry
+   * the offset in the same integer, while a {@link java.time.ZonedDateTime} with a zone ID (e.g. "Europe/Berlin") is
+   * still written as string. As strings remain distinguishable from integers on the wire, reading also accepts the
+   * ISO-8601 strings written without this option. The {@link VariableDefinition#getDefaultValue() default value} is
+   * {@code null} and depends on the format. All current formats write strings by default for interoperability. This
+   * {@link VariableDefinition} is only supported by some {@link StructuredBinaryFormat binary formats}.
+   */
+  public static final VariableDefinition<Boolean> VAR_BINARY_TEMPORALS = new VariableDefinition<>("binary-temporals",
+      Boolean.class);
+
   /**
    * {@link VariableDefinition} to configure {@link StructuredIdMappingProvider} what is required for
    * {@link StructuredFormat#isIdBased() ID based formats}.
@@ -89,6 +104,29 @@ public final class MarshallingConfig extends VariableMap {
    */
   public static final VariableDefinition<Boolean> VAR_LINK_TARGET = new VariableDefinition<>("link-target", null);
 
+  /**
+   * {@link VariableDefinition} to configure the maximum number of idle readers and writers kept for reuse by the
+   * {@link StructuredFormat#readerPool() reader pool} and {@link StructuredFormat#writerPool() writer pool} of a
+   * {@link StructuredFormat}. A value of {@code 0} disables pooling.
+   */
+  public static final VariableDefinition<Integer> VAR_POOL_SIZE = new VariableDefinition<>("pool-size",
+      Integer.valueOf(16));
+
+  /**
+   * {@link VariableDefinition} to configure the size of the internal buffer used by text formats to collect the
+   * output before it is written in bulk to the underlying {@link java.io.Writer} or {@link java.io.OutputStream}.
+   */
+  public static final VariableDefinition<Integer> VAR_BUFFER_SIZE = new VariableDefinition<>("buffer-size",
+      Integer.valueOf(8192));
+
+  /**
+   * {@link VariableDefinition} to configure trusted mode. If {@code true} the transitions of the
+   * {@link StructuredState states} are not validated what saves some overhead when writing or reading many small
+   * values. Only use this option for data produced and consumed by your own code (e.g. internal mRPC traffic) as
+   * invalid input or wrong API usage will then lead to undefined behavior instead of an {@link IllegalStateException}.
+   */
+  public static final VariableDefinition<Boolean> VAR_TRUSTED = new VariableDefinition<>("trusted", Boolean.FALSE);
+
   /** Immutable instance of {@link MarshallingConfig} with the default values. */
   public static final MarshallingConfig DEFAULTS = new MarshallingConfig(Collections.emptyMap());
 
@@ -96,7 +134,8 @@ public final class MarshallingConfig extends VariableMap {
   public static final MarshallingConfig NO_INDENTATION = DEFAULTS.with(VAR_INDENTATION, null);
 
   private static final Set<String> STANDARD_KEYS = Set.of(VAR_INDENTATION.getName(), VAR_WRITE_NULL_VALUES.getName(),
-      VAR_ENUM_FORMAT.getName(), VAR_UNQUOTED_PROPERTIES.getName());
+      VAR_ENUM_FORMAT.getName(), VAR_UNQUOTED_PROPERTIES.getName(), VAR_POOL_SIZE.getName(),
+      VAR_BUFFER_SIZE.getName(), VAR_TRUSTED.getName());
 
   /**
    * The constructor.
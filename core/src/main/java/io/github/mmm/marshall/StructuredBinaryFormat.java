@@ -2,6 +2,12 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
+import io.github.mmm.marshall.impl.ByteBufferOutputStream;
+import io.github.mmm.marshall.impl.CountingOutputStream;
+
 /**
  * {@link StructuredFormat} that is {@link #isBinary() binary}.
  *
@@ -15,4 +21,66 @@ public interface StructuredBinaryFormat extends StructuredFormat {
     return true;
   }
 
+  /**
+   * @param data the {@code byte[]} with the entire data to read.
+   * @return a new {@link StructuredReader} to read the given {@code data}.
+   */
+  default StructuredReader reader(byte[] data) {
+
+    return reader(data, 0, data.length);
+  }
+
+  /**
+   * @param data the {@code byte[]} containing the data to read.
+   * @param offset the index of the first byte to read.
+   * @param length the number of bytes to read.
+   * @return a new {@link StructuredReader} to read the given range of {@code data} without copying it.
+   */
+  default StructuredReader reader(byte[] data, int offset, int length) {
+
+    return reader(new ByteArrayInputStream(data, offset, length));
+  }
+
+  /**
+   * @param buffer the {@link ByteBuffer} with the data to read from its {@link ByteBuffer#position() position} to its
+   *        {@link ByteBuffer#limit() limit}. The {@link ByteBuffer#position() position} of the buffer is not modified.
+   * @return a new {@link StructuredReader} to read the given {@link ByteBuffer}.
+   */
+  default StructuredReader reader(ByteBuffer buffer) {
+
+    if (buffer.hasArray()) {
+      return reader(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+    byte[] data = new byte[buffer.remaining()];
+    buffer.duplicate().get(data);
+    return reader(data, 0, data.length);
+  }
+
+  /**
+   * @param buffer the {@link ByteBuffer} to write the data to starting at its {@link ByteBuffer#position() position}.
+   *        After the writer has been {@link StructuredWriter#close() closed}, the {@link ByteBuffer#position()
+   *        position} is located after the last byte written. Writing more data than {@link ByteBuffer#remaining()
+   *        remaining} will fail.
+   * @return a new {@link StructuredWriter} to write to the given {@link ByteBuffer}.
+   */
+  default StructuredWriter writer(ByteBuffer buffer) {
+
+    return writer(new ByteBufferOutputStream(buffer));
+  }
+
+  /**
+   * @param object the {@link MarshallableObject} to measure.
+   * @return the exact number of bytes that {@link MarshallableObject#write(StructuredWriter) writing} the given
+   *         {@link MarshallableObject} with a {@link #writer(java.io.OutputStream) writer} of this format will produce
+   *         (e.g. for a {@code Content-Length} header).
+   */
+  default long computeSize(MarshallableObject object) {
+
+    CountingOutputStream out = new CountingOutputStream();
+    StructuredWriter writer = writer(out);
+    object.write(writer);
+    writer.close();
+    return out.getCount();
+  }
+
 }
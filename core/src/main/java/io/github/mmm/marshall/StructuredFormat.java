@@ -86,6 +86,24 @@ public interface StructuredFormat {
    */
   StructuredWriter writer(OutputStream out);
 
+  /**
+   * @return the {@link StructuredReaderPool} to reuse {@link StructuredReader}s of this format. If pooling is not
+   *         supported, the returned {@link StructuredReaderPool} will simply delegate to {@link #reader(InputStream)}.
+   */
+  default StructuredReaderPool readerPool() {
+
+    return in -> reader(in);
+  }
+
+  /**
+   * @return the {@link StructuredWriterPool} to reuse {@link StructuredWriter}s of this format. If pooling is not
+   *         supported, the returned {@link StructuredWriterPool} will simply delegate to {@link #writer(OutputStream)}.
+   */
+  default StructuredWriterPool writerPool() {
+
+    return out -> writer(out);
+  }
+
   /**
    * @return the {@link MarshallingConfig} of this format.
    */
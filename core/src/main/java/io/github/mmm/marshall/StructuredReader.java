@@ -11,6 +11,7 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
@@ -19,6 +20,7 @@ import io.github.mmm.base.exception.ObjectMismatchException;
 import io.github.mmm.marshall.id.StructuredIdMapping;
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
 import io.github.mmm.marshall.id.impl.StructuredIdMappingIdentity;
+import io.github.mmm.marshall.impl.ValueHandler;
 
 /**
  * Interface for a reader to parse a {@link StructuredFormat structured format} such as JSON or XML.
@@ -40,6 +42,18 @@ public interface StructuredReader extends StructuredProcessor, StructuredIdMappi
     return getName();
   }
 
+  /**
+   * Alternative to {@link #readName()} that allows to dispatch properties via {@code switch} on {@code int} instead of
+   * {@link String#equals(Object) comparing} names. The {@link #getName() name} remains available after this method
+   * has returned.
+   *
+   * @return the {@link StructuredIdMapping#id(String) ID} of the current property from the {@link StructuredIdMapping}
+   *         of the {@link StructuredIdMappingObject} given to {@link #readStartObject(StructuredIdMappingObject)} or
+   *         {@code 0} if the property is unknown. Consumes to the {@link #next() next} {@link #getState() state}.
+   * @see #readName()
+   */
+  int readNameToken();
+
   /**
    * Retrieves the name of the current property (see {@link StructuredState#NAME}).<br>
    * <b>ATTENTION:</b><br>
@@ -203,52 +217,14 @@ public interface StructuredReader extends StructuredProcessor, StructuredIdMappi
    * @param type {@link Class} reflecting the value to read.
    * @return the unmarsahlled value. May be {@code null}.
    */
-  @SuppressWarnings({ "unchecked", "rawtypes" })
   default <V> V readValue(Class<V> type) {
 
     Objects.requireNonNull(type, "type");
-    Object value;
-    if (type.equals(String.class)) {
-      value = readValueAsString();
-    } else if (Boolean.class.equals(type)) {
-      value = readValueAsBoolean();
-    } else if (Integer.class.equals(type)) {
-      value = readValueAsInteger();
-    } else if (Long.class.equals(type)) {
-      value = readValueAsLong();
-    } else if (Short.class.equals(type)) {
-      value = readValueAsShort();
-    } else if (Byte.class.equals(type)) {
-      value = readValueAsByte();
-    } else if (Double.class.equals(type)) {
-      value = readValueAsDouble();
-    } else if (Float.class.equals(type)) {
-      value = readValueAsFloat();
-    } else if (BigInteger.class.equals(type)) {
-      value = readValueAsBigInteger();
-    } else if (BigDecimal.class.equals(type)) {
-      value = readValueAsBigDecimal();
-    } else if (Instant.class.equals(type)) {
-      value = readValueAsInstant();
-    } else if (LocalDateTime.class.equals(type)) {
-      value = readValueAsLocalDateTime();
-    } else if (LocalDate.class.equals(type)) {
-      value = readValueAsLocalDate();
-    } else if (LocalTime.class.equals(type)) {
-      value = readValueAsLocalTime();
-    } else if (ZonedDateTime.class.equals(type)) {
-      value = readValueAsZonedDateTime();
-    } else if (OffsetDateTime.class.equals(type)) {
-      value = readValueAsOffsetDateTime();
-    } else if (OffsetTime.class.equals(type)) {
-      value = readValueAsOffsetTime();
-    } else if (type.isEnum()) {
-      value = readValueAsEnum((Class<Enum>) type);
-    } else if (Object.class.equals(type)) {
-      value = readValue();
-    } else {
+    ValueHandler handler = ValueHandler.ofType(type);
+    if (handler == null) {
       throw new IllegalArgumentException("Unsupported value type " + type);
     }
+    Object value = handler.read(this, type);
     return type.cast(value);
   }
 
@@ -264,6 +240,15 @@ public interface StructuredReader extends StructuredProcessor, StructuredIdMappi
    */
   Boolean readValueAsBoolean();
 
+  /**
+   * Reads the value as primitive {@code boolean} without boxing.
+   *
+   * @param defaultIfNull the value to return if the value is {@link #isNullValue() null}.
+   * @return reads the value as {@code boolean}.
+   * @see #readValueAsBoolean()
+   */
+  boolean readValueAsBoolean(boolean defaultIfNull);
+
   /**
    * @param <E> type of the {@link Enum}.
    * @param enumType the {@link Class} reflecting the {@link Enum}.
@@ -277,18 +262,122 @@ public interface StructuredReader extends StructuredProcessor, StructuredIdMappi
    */
   Integer readValueAsInteger();
 
+  /**
+   * Reads the value as primitive {@code int} without boxing.
+   *
+   * @param defaultIfNull the value to return if the value is {@link #isNullValue() null}.
+   * @return reads the value as {@code int}.
+   * @see #readValueAsInteger()
+   */
+  int readValueAsInteger(int defaultIfNull);
+
   /**
    * @return reads the value as {@link Long}.
    * @see #readValue(Class)
    */
   Long readValueAsLong();
 
+  /**
+   * Reads the value as primitive {@code long} without boxing.
+   *
+   * @param defaultIfNull the value to return if the value is {@link #isNullValue() null}.
+   * @return reads the value as {@code long}.
+   * @see #readValueAsLong()
+   */
+  long readValueAsLong(long defaultIfNull);
+
   /**
    * @return reads the value as {@link Double}.
    * @see #readValue(Class)
    */
   Double readValueAsDouble();
 
+  /**
+   * Reads the value as primitive {@code double} without boxing.
+   *
+   * @param defaultIfNull the value to return if the value is {@link #isNullValue() null}.
+   * @return reads the value as {@code double}.
+   * @see #readValueAsDouble()
+   */
+  double readValueAsDouble(double defaultIfNull);
+
+  /**
+   * Reads an {@link #readStartArray() array} of {@code int} values.
+   *
+   * @return the {@code int[]} with the values of the array or {@code null} if the value was {@link #isNullValue()
+   *         null}.
+   */
+  default int[] readIntArray() {
+
+    if (!readStartArray()) {
+      readNullArray();
+      return null;
+    }
+    int[] array = new int[16];
+    int size = 0;
+    while (!readEnd()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = readValueAsInteger(0);
+    }
+    return Arrays.copyOf(array, size);
+  }
+
+  /**
+   * Reads an {@link #readStartArray() array} of {@code long} values.
+   *
+   * @return the {@code long[]} with the values of the array or {@code null} if the value was {@link #isNullValue()
+   *         null}.
+   */
+  default long[] readLongArray() {
+
+    if (!readStartArray()) {
+      readNullArray();
+      return null;
+    }
+    long[] array = new long[16];
+    int size = 0;
+    while (!readEnd()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = readValueAsLong(0);
+    }
+    return Arrays.copyOf(array, size);
+  }
+
+  /**
+   * Reads an {@link #readStartArray() array} of {@code double} values.
+   *
+   * @return the {@code double[]} with the values of the array or {@code null} if the value was {@link #isNullValue()
+   *         null}.
+   */
+  default double[] readDoubleArray() {
+
+    if (!readStartArray()) {
+      readNullArray();
+      return null;
+    }
+    double[] array = new double[16];
+    int size = 0;
+    while (!readEnd()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = readValueAsDouble(0);
+    }
+    return Arrays.copyOf(array, size);
+  }
+
+  private void readNullArray() {
+
+    Object value = readValue();
+    if (value != null) {
+      throw new IllegalStateException("Expected array but found value " + value);
+    }
+  }
+
   /**
    * @return reads the value as {@link Float}.
    * @see #readValue(Class)
@@ -414,6 +503,13 @@ public interface StructuredReader extends StructuredProcessor, StructuredIdMappi
    */
   boolean isStringValue();
 
+  /**
+   * @return {@code true} if the {@link #getState() current state} is {@link StructuredState#VALUE} and the value is
+   *         {@code null}, {@code false} otherwise. Allows to distinguish {@code null} from an actual value before
+   *         reading a primitive value like {@link #readValueAsInteger(int)}.
+   */
+  boolean isNullValue();
+
   /**
    * Proceeds to the next {@link StructuredState} skipping the current information.
    *
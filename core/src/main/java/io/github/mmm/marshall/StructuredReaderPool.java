@@ -0,0 +1,27 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall;
+
+import java.io.InputStream;
+
+/**
+ * Pool of {@link StructuredReader}s for a {@link StructuredFormat}. A {@link StructuredReader} retrieved from this pool
+ * is reset to the given source and will be returned to the pool automatically when it gets
+ * {@link StructuredReader#close() closed}. Therefore you must not use the {@link StructuredReader} anymore after it has
+ * been closed.<br>
+ * Implementations are thread-safe and do not rely on {@link ThreadLocal} so they also work well with virtual threads.
+ * If a format does not support pooling it will simply create a new {@link StructuredReader}.
+ *
+ * @see StructuredFormat#readerPool()
+ * @since 1.0.0
+ */
+public interface StructuredReaderPool {
+
+  /**
+   * @param in the {@link InputStream} pointing to the structured data to read (in UTF-8) and parse.
+   * @return the {@link StructuredReader}.
+   * @see StructuredFormat#reader(InputStream)
+   */
+  StructuredReader reader(InputStream in);
+
+}
@@ -38,6 +38,12 @@ public interface StructuredTextFormat extends StructuredFormat {
     return reader(new InputStreamReader(in, StandardCharsets.UTF_8));
   }
 
+  @Override
+  default StructuredTextReaderPool readerPool() {
+
+    return reader -> reader(reader);
+  }
+
   @Override
   default StructuredReader reader(Object data) {
 
@@ -75,6 +81,12 @@ public interface StructuredTextFormat extends StructuredFormat {
     return writer(new OutputStreamWriter(out, StandardCharsets.UTF_8));
   }
 
+  @Override
+  default StructuredTextWriterPool writerPool() {
+
+    return writer -> writer(writer);
+  }
+
   /**
    * @param object the {@link MarshallableObject} to serialize.
    * @return the serialized data as {@link String}.
@@ -0,0 +1,42 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link StructuredReaderPool} for a {@link StructuredTextFormat}.
+ *
+ * @see StructuredTextFormat#readerPool()
+ * @since 1.0.0
+ */
+public interface StructuredTextReaderPool extends StructuredReaderPool {
+
+  /**
+   * @param reader the {@link Reader} pointing to the structured data to read and parse.
+   * @return the {@link StructuredReader}.
+   * @see StructuredTextFormat#reader(Reader)
+   */
+  StructuredReader reader(Reader reader);
+
+  /**
+   * @param data the structured data as {@link String}.
+   * @return the {@link StructuredReader}.
+   * @see StructuredTextFormat#reader(String)
+   */
+  default StructuredReader reader(String data) {
+
+    return reader(new StringReader(data));
+  }
+
+  @Override
+  default StructuredReader reader(InputStream in) {
+
+    return reader(new InputStreamReader(in, StandardCharsets.UTF_8));
+  }
+
+}
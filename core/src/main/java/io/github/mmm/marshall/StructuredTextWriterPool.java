@@ -0,0 +1,30 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link StructuredWriterPool} for a {@link StructuredTextFormat}.
+ *
+ * @see StructuredTextFormat#writerPool()
+ * @since 1.0.0
+ */
+public interface StructuredTextWriterPool extends StructuredWriterPool {
+
+  /**
+   * @param writer the {@link Appendable} where to write the structured data to.
+   * @return the {@link StructuredWriter}.
+   * @see StructuredTextFormat#writer(Appendable)
+   */
+  StructuredWriter writer(Appendable writer);
+
+  @Override
+  default StructuredWriter writer(OutputStream out) {
+
+    return writer(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+  }
+
+}
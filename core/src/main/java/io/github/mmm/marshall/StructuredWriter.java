@@ -11,9 +11,9 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZonedDateTime;
-import java.time.temporal.Temporal;
 
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
+import io.github.mmm.marshall.impl.ValueHandler;
 
 /**
  * Interface for a writer to produce a {@link StructuredFormat structured format} such as JSON or XML.
@@ -69,36 +69,13 @@ public interface StructuredWriter extends StructuredProcessor {
 
     if (value == null) {
       writeValueAsNull();
-    } else if (value instanceof String) {
-      writeValueAsString(value.toString());
-    } else if (value instanceof Boolean) {
-      writeValueAsBoolean(((Boolean) value).booleanValue());
-    } else if (value instanceof Number) {
-      writeValueAsNumber((Number) value);
-    } else if (value instanceof Enum) {
-      writeValueAsEnum((Enum<?>) value);
-    } else if (value instanceof Temporal) {
-      if (value instanceof Instant) {
-        writeValueAsInstant(((Instant) value));
-      } else if (value instanceof LocalDateTime) {
-        writeValueAsLocalDateTime(((LocalDateTime) value));
-      } else if (value instanceof LocalDate) {
-        writeValueAsLocalDate(((LocalDate) value));
-      } else if (value instanceof LocalTime) {
-        writeValueAsLocalTime(((LocalTime) value));
-      } else if (value instanceof ZonedDateTime) {
-        writeValueAsZonedDateTime(((ZonedDateTime) value));
-      } else if (value instanceof OffsetDateTime) {
-        writeValueAsOffsetDateTime(((OffsetDateTime) value));
-      } else if (value instanceof OffsetTime) {
-        writeValueAsOffsetTime(((OffsetTime) value));
+    } else {
+      ValueHandler handler = ValueHandler.ofValue(value);
+      if (handler.isNumber()) {
+        writeValueAsNumber((Number) value);
       } else {
-        writeValueAsString(value.toString());
+        handler.write(this, value);
       }
-    } else if (value instanceof MarshallableObject) {
-      ((MarshallableObject) value).write(this);
-    } else {
-      writeValueAsString(value.toString());
     }
   }
 
@@ -111,24 +88,8 @@ public interface StructuredWriter extends StructuredProcessor {
 
     if (value == null) {
       writeValueAsNull();
-    } else if (value instanceof Long) {
-      writeValueAsLong(value.longValue());
-    } else if (value instanceof Integer) {
-      writeValueAsInteger(value.intValue());
-    } else if (value instanceof Double) {
-      writeValueAsDouble(value.doubleValue());
-    } else if (value instanceof BigDecimal) {
-      writeValueAsBigDecimal((BigDecimal) value);
-    } else if (value instanceof BigInteger) {
-      writeValueAsBigInteger((BigInteger) value);
-    } else if (value instanceof Float) {
-      writeValueAsFloat(value.floatValue());
-    } else if (value instanceof Short) {
-      writeValueAsShort(value.shortValue());
-    } else if (value instanceof Byte) {
-      writeValueAsByte(value.byteValue());
     } else {
-      writeValueAsDouble(value.doubleValue());
+      ValueHandler.ofValue(value).write(this, value);
     }
   }
 
@@ -386,6 +347,96 @@ public interface StructuredWriter extends StructuredProcessor {
     writeValueAsNumber(Float.valueOf(value));
   }
 
+  /**
+   * Writes the given {@code int[]} as {@link #writeStartArray() array} with its items as values.
+   *
+   * @param array the {@code int[]} to write. May be {@code null}.
+   */
+  default void writeArray(int[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    for (int item : array) {
+      writeValueAsInteger(item);
+    }
+    writeEnd();
+  }
+
+  /**
+   * Writes the given {@code long[]} as {@link #writeStartArray() array} with its items as values.
+   *
+   * @param array the {@code long[]} to write. May be {@code null}.
+   */
+  default void writeArray(long[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    for (long item : array) {
+      writeValueAsLong(item);
+    }
+    writeEnd();
+  }
+
+  /**
+   * Writes the given {@code double[]} as {@link #writeStartArray() array} with its items as values.
+   *
+   * @param array the {@code double[]} to write. May be {@code null}.
+   */
+  default void writeArray(double[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    for (double item : array) {
+      writeValueAsDouble(item);
+    }
+    writeEnd();
+  }
+
+  /**
+   * Writes the given {@code float[]} as {@link #writeStartArray() array} with its items as values.
+   *
+   * @param array the {@code float[]} to write. May be {@code null}.
+   */
+  default void writeArray(float[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    for (float item : array) {
+      writeValueAsFloat(item);
+    }
+    writeEnd();
+  }
+
+  /**
+   * Writes the given {@code byte[]} as {@link #writeStartArray() array} with its items as values.
+   *
+   * @param array the {@code byte[]} to write. May be {@code null}.
+   */
+  default void writeArray(byte[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    for (byte item : array) {
+      writeValueAsByte(item);
+    }
+    writeEnd();
+  }
+
   /**
    * Writes a comment at the current position. Implementations that do not support comments (e.g. JSON format does not
    * allow comments at all) will simply do nothing when this method is called. Otherwise implementations have to take
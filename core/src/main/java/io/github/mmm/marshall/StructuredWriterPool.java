@@ -0,0 +1,27 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall;
+
+import java.io.OutputStream;
+
+/**
+ * Pool of {@link StructuredWriter}s for a {@link StructuredFormat}. A {@link StructuredWriter} retrieved from this pool
+ * is reset to the given target and will be returned to the pool automatically when it gets
+ * {@link StructuredWriter#close() closed}. Therefore you must not use the {@link StructuredWriter} anymore after it has
+ * been closed.<br>
+ * Implementations are thread-safe and do not rely on {@link ThreadLocal} so they also work well with virtual threads.
+ * If a format does not support pooling it will simply create a new {@link StructuredWriter}.
+ *
+ * @see StructuredFormat#writerPool()
+ * @since 1.0.0
+ */
+public interface StructuredWriterPool {
+
+  /**
+   * @param out the {@link OutputStream} where to write the structured data to (in UTF-8).
+   * @return the {@link StructuredWriter}.
+   * @see StructuredFormat#writer(OutputStream)
+   */
+  StructuredWriter writer(OutputStream out);
+
+}
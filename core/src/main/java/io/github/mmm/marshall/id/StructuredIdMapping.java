@@ -3,7 +3,7 @@
 package io.github.mmm.marshall.id;
 
 import io.github.mmm.marshall.StructuredProcessor;
-import io.github.mmm.marshall.id.impl.StructuredIdMappingDefault;
+import io.github.mmm.marshall.id.impl.StructuredIdMappingArray;
 import io.github.mmm.marshall.id.impl.StructuredIdMappingEmpty;
 
 /**
@@ -34,6 +34,26 @@ public interface StructuredIdMapping extends StructuredIdMappingObject {
    */
   int id(String name);
 
+  /**
+   * Variant of {@link #id(String)} for a name given as {@code char} buffer so readers can resolve property names
+   * without creating a {@link String} first.
+   *
+   * @param chars the {@code char} buffer containing the name.
+   * @param offset the index of the first character of the name in {@code chars}.
+   * @param length the number of characters of the name.
+   * @return the ID of the property with the given name such that {@link #name(int) name(id)} is equal to that name
+   *         or {@code 0} if no such ID exists.
+   */
+  default int id(char[] chars, int offset, int length) {
+
+    String name = new String(chars, offset, length);
+    int id = id(name);
+    if ((id > 0) && !name.equals(name(id))) {
+      return 0;
+    }
+    return id;
+  }
+
   @Override
   default StructuredIdMapping defineIdMapping() {
 
@@ -57,19 +77,14 @@ public interface StructuredIdMapping extends StructuredIdMappingObject {
   /**
    * @param names the property names to map. The first name will get ID {@code 1}, second name will get ID {@code 2},
    *        etc.
-   * @return the {@link StructuredIdMappingMap}.
+   * @return the immutable {@link StructuredIdMapping}.
    */
   static StructuredIdMapping of(String... names) {
 
     if (names.length == 0) {
       return StructuredIdMappingEmpty.get();
     }
-    // TODO create more efficient implementation
-    StructuredIdMappingMap map = new StructuredIdMappingDefault(names.length);
-    for (String name : names) {
-      map.put(name);
-    }
-    return map;
+    return StructuredIdMappingArray.of(names);
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.id.impl;
+
+import io.github.mmm.base.exception.DuplicateObjectException;
+import io.github.mmm.marshall.StructuredProcessor;
+import io.github.mmm.marshall.id.AbstractStructuredIdMapping;
+import io.github.mmm.marshall.id.StructuredIdMapping;
+
+/**
+ * Immutable implementation of {@link StructuredIdMapping} for dense IDs from {@code 1} to {@code n}. The
+ * {@link #name(int) name} is resolved via array index and the {@link #id(String) ID} via a perfect hash table that is
+ * computed once at creation (hash and displace) so every lookup is a single slot access with at most one
+ * {@link String#equals(Object) equals} check. The same applies to {@link #id(char[], int, int)} so text readers
+ * resolve the ID and the canonical name of a property in a single lookup.
+ *
+ * @since 1.0.0
+ */
+public final class StructuredIdMappingArray extends AbstractStructuredIdMapping {
+
+  private static final int BUCKET_MULTIPLIER = 0x9E3779B9;
+
+  private static final int SLOT_MULTIPLIER = 0x85EBCA6B;
+
+  /** Limit of displacements to try per bucket (only exceeded for pathological input). */
+  private static final int MAX_DISPLACEMENT = 1 << 16;
+
+  /** The names indexed by their ID (index {@code 0} is unused). */
+  private final String[] id2name;
+
+  private final int[] displacements;
+
+  private final String[] table;
+
+  private final int[] ids;
+
+  private final int bucketShift;
+
+  private final int shift;
+
+  private StructuredIdMappingArray(String[] id2name, int[] displacements, String[] table, int[] ids, int shift) {
+
+    super();
+    this.id2name = id2name;
+    this.displacements = displacements;
+    this.table = table;
+    this.ids = ids;
+    this.bucketShift = shift + 2;
+    this.shift = shift;
+  }
+
+  @Override
+  public String name(int id) {
+
+    if ((id > 0) && (id < this.id2name.length)) {
+      return this.id2name[id];
+    }
+    return super.name(id);
+  }
+
+  @Override
+  public int id(String name) {
+
+    if (name == null) {
+      return 0;
+    }
+    int hash = name.hashCode();
+    int displacement = this.displacements[(hash * BUCKET_MULTIPLIER) >>> this.bucketShift];
+    int slot = ((hash ^ displacement) * SLOT_MULTIPLIER) >>> this.shift;
+    if (name.equals(this.table[slot])) {
+      return this.ids[slot];
+    }
+    return super.id(name);
+  }
+
+  @Override
+  public int id(char[] chars, int offset, int length) {
+
+    int hash = 0;
+    int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      hash = (31 * hash) + chars[i];
+    }
+    int displacement = this.displacements[(hash * BUCKET_MULTIPLIER) >>> this.bucketShift];
+    int slot = ((hash ^ displacement) * SLOT_MULTIPLIER) >>> this.shift;
+    String name = this.table[slot];
+    if ((name != null) && matches(name, chars, offset, length)) {
+      return this.ids[slot];
+    } else if (matches(StructuredProcessor.TYPE, chars, offset, length)) {
+      return TYPE;
+    }
+    return 0;
+  }
+
+  private static boolean matches(String name, char[] chars, int offset, int length) {
+
+    if (name.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (name.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param names the property names to map. The first name will get ID {@code 1}, second name will get ID {@code 2},
+   *        etc.
+   * @return the {@link StructuredIdMappingArray} for the given {@code names} or a {@link StructuredIdMappingDefault}
+   *         as fallback if no perfect hash could be found.
+   * @throws DuplicateObjectException if the same name is given twice.
+   */
+  public static StructuredIdMapping of(String... names) {
+
+    StructuredIdMapping mapping = create(names);
+    if (mapping == null) {
+      StructuredIdMappingDefault map = new StructuredIdMappingDefault(names.length);
+      for (String name : names) {
+        map.put(name);
+      }
+      mapping = map;
+    }
+    return mapping;
+  }
+
+  /**
+   * @param names the property names to map. The first name will get ID {@code 1}, second name will get ID {@code 2},
+   *        etc.
+   * @return the {@link StructuredIdMappingArray} for the given {@code names} or {@code null} if no perfect hash could
+   *         be found (names with the same {@link String#hashCode() hash code}) or the names would collide with
+   *         {@link StructuredIdMapping#TYPE}.
+   * @throws DuplicateObjectException if the same name is given twice.
+   */
+  static StructuredIdMappingArray create(String[] names) {
+
+    int count = names.length;
+    if ((count == 0) || (count >= TYPE)) {
+      return null;
+    }
+    String[] id2name = new String[count + 1];
+    for (int i = 0; i < count; i++) {
+      String name = names[i];
+      if (StructuredProcessor.TYPE.equals(name)) {
+        return null;
+      }
+      id2name[i + 1] = name;
+    }
+    // table has 2-4 times the size of names, buckets have 1/4 of the table size
+    int bits = Math.max(3, 33 - Integer.numberOfLeadingZeros(count));
+    int shift = 32 - bits;
+    int bucketShift = shift + 2;
+    int bucketCount = 1 << (bits - 2);
+    int[] bucketStart = new int[bucketCount + 1];
+    for (String name : names) {
+      bucketStart[((name.hashCode() * BUCKET_MULTIPLIER) >>> bucketShift) + 1]++;
+    }
+    int maxBucketSize = 0;
+    for (int bucket = 0; bucket < bucketCount; bucket++) {
+      maxBucketSize = Math.max(maxBucketSize, bucketStart[bucket + 1]);
+      bucketStart[bucket + 1] += bucketStart[bucket];
+    }
+    int[] members = new int[count];
+    int[] bucketEnd = new int[bucketCount];
+    System.arraycopy(bucketStart, 0, bucketEnd, 0, bucketCount);
+    for (int i = 0; i < count; i++) {
+      int bucket = (names[i].hashCode() * BUCKET_MULTIPLIER) >>> bucketShift;
+      members[bucketEnd[bucket]++] = i;
+    }
+    String[] table = new String[1 << bits];
+    int[] ids = new int[table.length];
+    int[] displacements = new int[bucketCount];
+    int[] slots = new int[maxBucketSize];
+    // place largest buckets first while the table is still empty
+    for (int size = maxBucketSize; size > 0; size--) {
+      for (int bucket = 0; bucket < bucketCount; bucket++) {
+        int start = bucketStart[bucket];
+        int end = bucketEnd[bucket];
+        if ((end - start) == size) {
+          if (!isHashUnique(names, members, start, end)) {
+            return null;
+          }
+          int displacement = 0;
+          do {
+            displacement++;
+            if (displacement > MAX_DISPLACEMENT) {
+              return null;
+            }
+          } while (!computeSlots(names, members, start, end, displacement, shift, table, slots));
+          displacements[bucket] = displacement;
+          for (int i = start; i < end; i++) {
+            int slot = slots[i - start];
+            table[slot] = names[members[i]];
+            ids[slot] = members[i] + 1;
+          }
+        }
+      }
+    }
+    return new StructuredIdMappingArray(id2name, displacements, table, ids, shift);
+  }
+
+  private static boolean isHashUnique(String[] names, int[] members, int start, int end) {
+
+    for (int i = start; i < end; i++) {
+      String name = names[members[i]];
+      for (int j = i + 1; j < end; j++) {
+        String other = names[members[j]];
+        if (name.hashCode() == other.hashCode()) {
+          if (name.equals(other)) {
+            throw new DuplicateObjectException(Integer.valueOf(members[i] + 1), name,
+                Integer.valueOf(members[j] + 1));
+          }
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean computeSlots(String[] names, int[] members, int start, int end, int displacement, int shift,
+      String[] table, int[] slots) {
+
+    for (int i = start; i < end; i++) {
+      int slot = ((names[members[i]].hashCode() ^ displacement) * SLOT_MULTIPLIER) >>> shift;
+      if (table[slot] != null) {
+        return false;
+      }
+      for (int j = 0; j < i - start; j++) {
+        if (slots[j] == slot) {
+          return false;
+        }
+      }
+      slots[i - start] = slot;
+    }
+    return true;
+  }
+
+}
@@ -7,7 +7,9 @@ import io.github.mmm.marshall.id.StructuredIdMapping;
 import io.github.mmm.marshall.id.StructuredIdMappingMap;
 
 /**
- * Default implementation of {@link StructuredIdMapping}.
+ * Default implementation of {@link StructuredIdMapping}. As long as the IDs are dense (from {@code 1} to {@code n}
+ * without gaps) the lookups are delegated to a {@link StructuredIdMappingArray} that is created on the first lookup
+ * after the last {@link #put(int, String) modification}.
  */
 public class StructuredIdMappingDefault extends AbstractStructuredIdMapping implements StructuredIdMappingMap {
 
@@ -17,6 +19,14 @@ public class StructuredIdMappingDefault extends AbstractStructuredIdMapping impl
 
   private int seq;
 
+  private int count;
+
+  /** The frozen {@link StructuredIdMappingArray} or {@code null} if not yet created or not available. */
+  private StructuredIdMappingArray frozen;
+
+  /** {@code true} if {@link #frozen} needs to be (re)created, {@code false} otherwise. */
+  private boolean modified;
+
   /**
    * The constructor.
    *
@@ -49,6 +59,10 @@ public class StructuredIdMappingDefault extends AbstractStructuredIdMapping impl
     if (id <= 0) {
       return null;
     }
+    StructuredIdMappingArray array = freeze();
+    if (array != null) {
+      return array.name(id);
+    }
     int hash = hashId(id);
     Entry entry = this.id2nameMap[hash];
     while (entry != null) {
@@ -71,6 +85,10 @@ public class StructuredIdMappingDefault extends AbstractStructuredIdMapping impl
     if (name == null) {
       return 0;
     }
+    StructuredIdMappingArray array = freeze();
+    if (array != null) {
+      return array.id(name);
+    }
     int hash = hashName(name);
     Entry entry = this.name2idMap[hash];
     while (entry != null) {
@@ -82,6 +100,36 @@ public class StructuredIdMappingDefault extends AbstractStructuredIdMapping impl
     return super.id(name);
   }
 
+  @Override
+  public int id(char[] chars, int offset, int length) {
+
+    StructuredIdMappingArray array = freeze();
+    if (array != null) {
+      return array.id(chars, offset, length);
+    }
+    return super.id(chars, offset, length);
+  }
+
+  private StructuredIdMappingArray freeze() {
+
+    if (this.modified) {
+      this.modified = false;
+      StructuredIdMappingArray array = null;
+      if (this.count == this.seq - 1) {
+        String[] names = new String[this.count];
+        for (Entry entry : this.id2nameMap) {
+          while (entry != null) {
+            names[entry.id - 1] = entry.name;
+            entry = entry.nextId2name;
+          }
+        }
+        array = StructuredIdMappingArray.create(names);
+      }
+      this.frozen = array;
+    }
+    return this.frozen;
+  }
+
   private int hashName(String name) {
 
     return name.hashCode() & (this.name2idMap.length - 1);
@@ -120,6 +168,9 @@ public class StructuredIdMappingDefault extends AbstractStructuredIdMapping impl
     } else {
       this.name2idMap[nameHash].addName2id(entry);
     }
+    this.count++;
+    this.frozen = null;
+    this.modified = true;
     if (id >= this.seq) {
       this.seq = id + 1;
       if (this.seq == TYPE) {
@@ -8,12 +8,16 @@ import io.github.mmm.marshall.id.StructuredIdMappingObject;
 import io.github.mmm.marshall.id.StructuredIdMappingProvider;
 
 /**
- * Default implementation of {@link StructuredIdMappingProvider}.
+ * Default implementation of {@link StructuredIdMappingProvider}. If the {@link StructuredIdMappingObject#asTypeKey()
+ * type key} is a {@link Class} (default) the {@link StructuredIdMapping} is cached via {@link ClassValue} so the
+ * lookup does neither hashing nor locking. Other type keys are cached in a {@link ConcurrentHashMap}.
  */
 public class StructuredIdMappingProviderDefault implements StructuredIdMappingProvider {
 
   private static final StructuredIdMappingProviderDefault INSTANCE = new StructuredIdMappingProviderDefault();
 
+  private final ClassValue<Holder> classMappings;
+
   private final Map<Object, StructuredIdMapping> idMappings;
 
   /**
@@ -22,6 +26,13 @@ public class StructuredIdMappingProviderDefault implements StructuredIdMappingPr
   public StructuredIdMappingProviderDefault() {
 
     super();
+    this.classMappings = new ClassValue<>() {
+      @Override
+      protected Holder computeValue(Class<?> type) {
+
+        return new Holder();
+      }
+    };
     this.idMappings = new ConcurrentHashMap<>();
   }
 
@@ -31,8 +42,20 @@ public class StructuredIdMappingProviderDefault implements StructuredIdMappingPr
     Object key = object.asTypeKey();
     if (key == null) {
       return object.defineIdMapping();
+    } else if (key instanceof Class<?> type) {
+      Holder holder = this.classMappings.get(type);
+      StructuredIdMapping idMapping = holder.idMapping;
+      if (idMapping == null) {
+        // race is harmless as defineIdMapping has to be stateless
+        idMapping = object.defineIdMapping();
+        holder.idMapping = idMapping;
+      }
+      return idMapping;
+    }
+    StructuredIdMapping idMapping = this.idMappings.get(key);
+    if (idMapping == null) {
+      idMapping = this.idMappings.computeIfAbsent(key, k -> object.defineIdMapping());
     }
-    StructuredIdMapping idMapping = this.idMappings.computeIfAbsent(key, k -> object.defineIdMapping());
     return idMapping;
   }
 
@@ -44,4 +67,10 @@ public class StructuredIdMappingProviderDefault implements StructuredIdMappingPr
     return INSTANCE;
   }
 
+  private static final class Holder {
+
+    private volatile StructuredIdMapping idMapping;
+
+  }
+
 }
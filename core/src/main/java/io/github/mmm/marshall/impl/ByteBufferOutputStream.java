@@ -0,0 +1,40 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.impl;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link OutputStream} writing to a {@link ByteBuffer}.
+ *
+ * @since 1.0.0
+ */
+public class ByteBufferOutputStream extends OutputStream {
+
+  private final ByteBuffer buffer;
+
+  /**
+   * The constructor.
+   *
+   * @param buffer the {@link ByteBuffer} to write to.
+   */
+  public ByteBufferOutputStream(ByteBuffer buffer) {
+
+    super();
+    this.buffer = buffer;
+  }
+
+  @Override
+  public void write(int b) {
+
+    this.buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+
+    this.buffer.put(b, off, len);
+  }
+
+}
@@ -0,0 +1,36 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.impl;
+
+import java.io.OutputStream;
+
+/**
+ * {@link OutputStream} that discards all data and only {@link #getCount() counts} the bytes written.
+ *
+ * @since 1.0.0
+ */
+public class CountingOutputStream extends OutputStream {
+
+  private long count;
+
+  @Override
+  public void write(int b) {
+
+    this.count++;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+
+    this.count += len;
+  }
+
+  /**
+   * @return the number of bytes written.
+   */
+  public long getCount() {
+
+    return this.count;
+  }
+
+}
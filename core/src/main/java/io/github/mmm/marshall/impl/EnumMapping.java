@@ -2,40 +2,72 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.impl;
 
-import java.util.HashMap;
+import java.lang.reflect.Array;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import io.github.mmm.base.text.CaseHelper;
 import io.github.mmm.base.text.CaseSyntax;
+import io.github.mmm.marshall.EnumFormat;
 
 /**
- * Container with the mapping for an individual {@link Enum} optimized for performance.
+ * Container with the mapping for an individual {@link Enum} optimized for performance. The {@link String}
+ * representations for all {@link EnumFormat}s are computed once and strings are resolved via an open addressing hash
+ * table that can also be queried with a {@link CharSequence} (e.g. a view on the input buffer of a reader).
  *
  * @param <E> type of the {@link Enum}.
  */
 public class EnumMapping<E extends Enum<E>> {
 
-  private final Map<String, E> string2enumMap;
+  private static final EnumFormat[] FORMATS = EnumFormat.values();
 
-  private final Map<Integer, E> ordinal2enumMap;
+  private final E[] constants;
+
+  /** The {@link String} representations indexed by {@link EnumFormat#ordinal()} and {@link Enum#ordinal()}. */
+  private final String[][] strings;
+
+  private final String[] keys;
+
+  private final E[] values;
 
   /**
    * The constructor.
    *
    * @param enumType the {@link Class} reflecting the {@link Enum}.
    */
+  @SuppressWarnings("unchecked")
   public EnumMapping(Class<E> enumType) {
 
     super();
-    this.ordinal2enumMap = new HashMap<>();
-    this.string2enumMap = new HashMap<>();
-    for (E e : enumType.getEnumConstants()) {
-      this.ordinal2enumMap.put(Integer.valueOf(e.ordinal()), e);
-      this.string2enumMap.put(e.name(), e);
+    this.constants = enumType.getEnumConstants();
+    this.strings = new String[FORMATS.length][];
+    for (EnumFormat format : FORMATS) {
+      String[] formatStrings = new String[this.constants.length];
+      for (E e : this.constants) {
+        formatStrings[e.ordinal()] = format.toString(e);
+      }
+      this.strings[format.ordinal()] = formatStrings;
+    }
+    Map<String, E> string2enumMap = new LinkedHashMap<>();
+    for (E e : this.constants) {
+      string2enumMap.put(e.name(), e);
       String string = e.toString();
-      this.string2enumMap.putIfAbsent(string, e);
-      this.string2enumMap.putIfAbsent(CaseHelper.toLowerCase(string), e);
-      this.string2enumMap.putIfAbsent(CaseSyntax.TRAIN_CASE.convert(string), e);
+      string2enumMap.putIfAbsent(string, e);
+      string2enumMap.putIfAbsent(CaseHelper.toLowerCase(string), e);
+      string2enumMap.putIfAbsent(CaseSyntax.TRAIN_CASE.convert(string), e);
+    }
+    // at most half of the table is used so probing always terminates quickly
+    int size = Integer.highestOneBit(Math.max(1, string2enumMap.size())) * 4;
+    this.keys = new String[size];
+    this.values = (E[]) Array.newInstance(enumType, size);
+    for (Map.Entry<String, E> entry : string2enumMap.entrySet()) {
+      String key = entry.getKey();
+      int index = key.hashCode() & (size - 1);
+      while (this.keys[index] != null) {
+        index = (index + 1) & (size - 1);
+      }
+      this.keys[index] = key;
+      this.values[index] = entry.getValue();
     }
   }
 
@@ -45,7 +77,39 @@ public class EnumMapping<E extends Enum<E>> {
    */
   public E fromString(String value) {
 
-    return this.string2enumMap.get(value);
+    return fromString((CharSequence) value);
+  }
+
+  /**
+   * @param value the {@link Enum} as {@link CharSequence}.
+   * @return the according {@link Enum} value or {@code null} if no such value exists.
+   */
+  public E fromString(CharSequence value) {
+
+    if (value == null) {
+      return null;
+    }
+    int hash;
+    if (value instanceof String string) {
+      hash = string.hashCode();
+    } else {
+      hash = 0;
+      int length = value.length();
+      for (int i = 0; i < length; i++) {
+        hash = (31 * hash) + value.charAt(i);
+      }
+    }
+    int mask = this.keys.length - 1;
+    int index = hash & mask;
+    String key = this.keys[index];
+    while (key != null) {
+      if ((key.hashCode() == hash) && key.contentEquals(value)) {
+        return this.values[index];
+      }
+      index = (index + 1) & mask;
+      key = this.keys[index];
+    }
+    return null;
   }
 
   /**
@@ -54,7 +118,36 @@ public class EnumMapping<E extends Enum<E>> {
    */
   public E fromOrdinal(Integer ordinal) {
 
-    return this.ordinal2enumMap.get(ordinal);
+    if (ordinal == null) {
+      return null;
+    }
+    return fromOrdinal(ordinal.intValue());
+  }
+
+  /**
+   * @param ordinal the {@link Enum} as {@link Enum#ordinal() ordinal}.
+   * @return the according {@link Enum} value or {@code null} if the given {@code ordinal} is out of range.
+   */
+  public E fromOrdinal(int ordinal) {
+
+    if ((ordinal < 0) || (ordinal >= this.constants.length)) {
+      return null;
+    }
+    return this.constants[ordinal];
+  }
+
+  /**
+   * @param value the {@link Enum} value.
+   * @param format the {@link EnumFormat}.
+   * @return the corresponding {@link String} representation according to the given {@link EnumFormat}.
+   * @see EnumFormat#toString(Enum)
+   */
+  public String toString(Enum<?> value, EnumFormat format) {
+
+    if (value == null) {
+      return null;
+    }
+    return this.strings[format.ordinal()][value.ordinal()];
   }
 
 }
@@ -2,17 +2,15 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.impl;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
- * Container for {@link EnumMapping}s. Supports thread-safe unmarshalling of any {@link Enum}.
+ * Container for {@link EnumMapping}s. Supports thread-safe unmarshalling of any {@link Enum}. The {@link EnumMapping}s
+ * are cached via {@link ClassValue} so the lookup does neither hashing nor locking.
  */
 public class EnumMappings {
 
   private static final EnumMappings INSTANCE = new EnumMappings();
 
-  private Map<Class<? extends Enum<?>>, EnumMapping<?>> mappings;
+  private final ClassValue<EnumMapping<?>> mappings;
 
   /**
    * The constructor.
@@ -20,7 +18,14 @@ public class EnumMappings {
   public EnumMappings() {
 
     super();
-    this.mappings = new ConcurrentHashMap<>();
+    this.mappings = new ClassValue<>() {
+      @SuppressWarnings({ "rawtypes", "unchecked" })
+      @Override
+      protected EnumMapping<?> computeValue(Class<?> type) {
+
+        return new EnumMapping(type);
+      }
+    };
   }
 
   /**
@@ -31,7 +36,16 @@ public class EnumMappings {
   @SuppressWarnings({ "rawtypes", "unchecked" })
   public <E extends Enum<E>> EnumMapping<E> getMapping(Class<E> enumType) {
 
-    return (EnumMapping) this.mappings.computeIfAbsent(enumType, e -> new EnumMapping<>(enumType));
+    return (EnumMapping) this.mappings.get(enumType);
+  }
+
+  /**
+   * @param value the {@link Enum} value.
+   * @return the {@link EnumMapping} for the {@link Enum#getDeclaringClass() type} of the given {@link Enum} value.
+   */
+  public EnumMapping<?> getMapping(Enum<?> value) {
+
+    return this.mappings.get(value.getDeclaringClass());
   }
 
   /**
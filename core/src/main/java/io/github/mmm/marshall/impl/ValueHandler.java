@@ -0,0 +1,427 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+
+import io.github.mmm.marshall.MarshallableObject;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
+
+/**
+ * {@link Enum} with the handlers to write and read values of the supported Java standard datatypes as specified in
+ * {@link io.github.mmm.marshall}. The handler for a {@link Class} is resolved once and cached via {@link ClassValue}
+ * so {@link StructuredWriter#writeValue(Object)} and {@link StructuredReader#readValue(Class)} dispatch without
+ * walking through {@code instanceof} or {@code equals} chains for every value.
+ *
+ * @since 1.0.0
+ * @see MashallingDatatypes
+ */
+public enum ValueHandler {
+
+  /** {@link String} */
+  STRING(String.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsString((String) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsString();
+    }
+  },
+
+  /** {@link Boolean} */
+  BOOLEAN(Boolean.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsBoolean(((Boolean) value).booleanValue());
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsBoolean();
+    }
+  },
+
+  /** {@link Long} */
+  LONG(Long.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsLong(((Long) value).longValue());
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsLong();
+    }
+  },
+
+  /** {@link Integer} */
+  INTEGER(Integer.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsInteger(((Integer) value).intValue());
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsInteger();
+    }
+  },
+
+  /** {@link Double} */
+  DOUBLE(Double.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsDouble(((Double) value).doubleValue());
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsDouble();
+    }
+  },
+
+  /** {@link BigDecimal} */
+  BIG_DECIMAL(BigDecimal.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsBigDecimal((BigDecimal) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsBigDecimal();
+    }
+  },
+
+  /** {@link BigInteger} */
+  BIG_INTEGER(BigInteger.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsBigInteger((BigInteger) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsBigInteger();
+    }
+  },
+
+  /** {@link Float} */
+  FLOAT(Float.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsFloat(((Float) value).floatValue());
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsFloat();
+    }
+  },
+
+  /** {@link Short} */
+  SHORT(Short.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsShort(((Short) value).shortValue());
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsShort();
+    }
+  },
+
+  /** {@link Byte} */
+  BYTE(Byte.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsByte(((Byte) value).byteValue());
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsByte();
+    }
+  },
+
+  /** Any other {@link Number} written as {@code double}. */
+  NUMBER(Number.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsDouble(((Number) value).doubleValue());
+    }
+  },
+
+  /** {@link Enum} */
+  ENUM(Enum.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsEnum((Enum<?>) value);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsEnum((Class<Enum>) type);
+    }
+  },
+
+  /** {@link Instant} */
+  INSTANT(Instant.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsInstant((Instant) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsInstant();
+    }
+  },
+
+  /** {@link LocalDateTime} */
+  LOCAL_DATE_TIME(LocalDateTime.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsLocalDateTime((LocalDateTime) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsLocalDateTime();
+    }
+  },
+
+  /** {@link LocalDate} */
+  LOCAL_DATE(LocalDate.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsLocalDate((LocalDate) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsLocalDate();
+    }
+  },
+
+  /** {@link LocalTime} */
+  LOCAL_TIME(LocalTime.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsLocalTime((LocalTime) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsLocalTime();
+    }
+  },
+
+  /** {@link ZonedDateTime} */
+  ZONED_DATE_TIME(ZonedDateTime.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsZonedDateTime((ZonedDateTime) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsZonedDateTime();
+    }
+  },
+
+  /** {@link OffsetDateTime} */
+  OFFSET_DATE_TIME(OffsetDateTime.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsOffsetDateTime((OffsetDateTime) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsOffsetDateTime();
+    }
+  },
+
+  /** {@link OffsetTime} */
+  OFFSET_TIME(OffsetTime.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsOffsetTime((OffsetTime) value);
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValueAsOffsetTime();
+    }
+  },
+
+  /** {@link MarshallableObject} that writes itself. */
+  MARSHALLABLE(MarshallableObject.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      ((MarshallableObject) value).write(writer);
+    }
+  },
+
+  /** Any other {@link Object} written as {@link Object#toString() string} and read via generic type detection. */
+  OBJECT(Object.class) {
+    @Override
+    public void write(StructuredWriter writer, Object value) {
+
+      writer.writeValueAsString(value.toString());
+    }
+
+    @Override
+    public Object read(StructuredReader reader, Class<?> type) {
+
+      return reader.readValue();
+    }
+  };
+
+  private static final ValueHandler[] HANDLERS = values();
+
+  private static final ClassValue<ValueHandler> VALUE_HANDLERS = new ClassValue<>() {
+    @Override
+    protected ValueHandler computeValue(Class<?> type) {
+
+      for (ValueHandler handler : HANDLERS) {
+        if (handler.type.isAssignableFrom(type)) {
+          return handler;
+        }
+      }
+      return OBJECT;
+    }
+  };
+
+  private static final ClassValue<ValueHandler> TYPE_HANDLERS = new ClassValue<>() {
+    @Override
+    protected ValueHandler computeValue(Class<?> type) {
+
+      if (type.isEnum()) {
+        return ENUM;
+      }
+      for (ValueHandler handler : HANDLERS) {
+        if (handler.type.equals(type) && handler.isReadable()) {
+          return handler;
+        }
+      }
+      return null;
+    }
+  };
+
+  private final Class<?> type;
+
+  private final boolean number;
+
+  private ValueHandler(Class<?> type) {
+
+    this.type = type;
+    this.number = Number.class.isAssignableFrom(type);
+  }
+
+  /**
+   * @return {@code true} if this handler is for a {@link Number} and {@link StructuredWriter#writeValue(Object)} shall
+   *         delegate to {@link StructuredWriter#writeValueAsNumber(Number)}, {@code false} otherwise.
+   */
+  public boolean isNumber() {
+
+    return this.number;
+  }
+
+  private boolean isReadable() {
+
+    return (this != NUMBER) && (this != ENUM) && (this != MARSHALLABLE);
+  }
+
+  /**
+   * @param writer the {@link StructuredWriter} to write to.
+   * @param value the value to write. Must not be {@code null} and has to be an instance of the type of this handler.
+   * @see StructuredWriter#writeValue(Object)
+   */
+  public abstract void write(StructuredWriter writer, Object value);
+
+  /**
+   * @param reader the {@link StructuredReader} to read from.
+   * @param type the {@link Class} reflecting the value to read.
+   * @return the value read. May be {@code null}.
+   * @see StructuredReader#readValue(Class)
+   */
+  public Object read(StructuredReader reader, Class<?> type) {
+
+    throw new IllegalArgumentException("Unsupported value type " + type);
+  }
+
+  /**
+   * @param value the value to write. Must not be {@code null}.
+   * @return the {@link ValueHandler} to {@link #write(StructuredWriter, Object) write} the given value. Falls back to
+   *         {@link #OBJECT}.
+   */
+  public static ValueHandler ofValue(Object value) {
+
+    return VALUE_HANDLERS.get(value.getClass());
+  }
+
+  /**
+   * @param type the {@link Class} reflecting the value to read.
+   * @return the {@link ValueHandler} to {@link #read(StructuredReader, Class) read} values of the given type or
+   *         {@code null} if not supported.
+   */
+  public static ValueHandler ofType(Class<?> type) {
+
+    return TYPE_HANDLERS.get(type);
+  }
+
+}
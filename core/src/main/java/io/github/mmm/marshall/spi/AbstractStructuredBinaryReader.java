@@ -2,6 +2,15 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.spi;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredReader;
@@ -16,9 +25,15 @@ import io.github.mmm.marshall.id.impl.StructuredIdMappingProviderDefault;
  */
 public abstract class AbstractStructuredBinaryReader<S extends StructuredNode<S>> extends AbstractStructuredReader<S> {
 
+  /** The scales of the units (seconds, milliseconds, microseconds, nanoseconds) of binary {@link java.time} values. */
+  private static final long[] TEMPORAL_SCALES = { 1, 1_000, 1_000_000, 1_000_000_000 };
+
   /** @see MarshallingConfig#VAR_ENCODE_ROOT_OBJECT */
   protected final boolean encodeRootObject;
 
+  /** @see MarshallingConfig#VAR_BINARY_TEMPORALS */
+  protected final boolean binaryTemporals;
+
   /** The {@link StructuredIdMappingProvider} - see {@link MarshallingConfig#VAR_ID_MAPPING_PROVIDER}. */
   protected final StructuredIdMappingProvider idMappingProvider;
 
@@ -32,6 +47,7 @@ public abstract class AbstractStructuredBinaryReader<S extends StructuredNode<S>
     super(format);
     this.encodeRootObject = this.config.getBoolean(MarshallingConfig.VAR_ENCODE_ROOT_OBJECT,
         isEncodeRootObjectDefault());
+    this.binaryTemporals = this.config.getBoolean(MarshallingConfig.VAR_BINARY_TEMPORALS, isBinaryTemporalsDefault());
     StructuredIdMappingProvider provider = this.config.get(MarshallingConfig.VAR_ID_MAPPING_PROVIDER);
     if (provider == null) {
       provider = StructuredIdMappingProviderDefault.get();
@@ -47,4 +63,123 @@ public abstract class AbstractStructuredBinaryReader<S extends StructuredNode<S>
     return false;
   }
 
+  /**
+   * @return the default value for {@link MarshallingConfig#VAR_BINARY_TEMPORALS}.
+   */
+  protected boolean isBinaryTemporalsDefault() {
+
+    return false;
+  }
+
+  /**
+   * @return {@code true} if the current value is a {@link java.time} value in binary form, {@code false} if it is
+   *         {@code null} or an ISO-8601 string (also accepted if {@link #binaryTemporals} is enabled).
+   */
+  private boolean isBinaryTemporal() {
+
+    return this.binaryTemporals && !isStringValue() && !isNullValue();
+  }
+
+  @Override
+  public Instant readValueAsInstant() {
+
+    if (!isBinaryTemporal()) {
+      return super.readValueAsInstant();
+    }
+    long value = readValueAsLong(0);
+    return Instant.ofEpochSecond(getTemporalSeconds(value, 0), getTemporalNanos(value, 0));
+  }
+
+  @Override
+  public LocalDateTime readValueAsLocalDateTime() {
+
+    if (!isBinaryTemporal()) {
+      return super.readValueAsLocalDateTime();
+    }
+    long value = readValueAsLong(0);
+    return LocalDateTime.ofEpochSecond(getTemporalSeconds(value, 0), getTemporalNanos(value, 0), ZoneOffset.UTC);
+  }
+
+  @Override
+  public LocalDate readValueAsLocalDate() {
+
+    if (!isBinaryTemporal()) {
+      return super.readValueAsLocalDate();
+    }
+    return LocalDate.ofEpochDay(readValueAsLong(0));
+  }
+
+  @Override
+  public LocalTime readValueAsLocalTime() {
+
+    if (!isBinaryTemporal()) {
+      return super.readValueAsLocalTime();
+    }
+    return LocalTime.ofNanoOfDay(readValueAsLong(0));
+  }
+
+  @Override
+  public OffsetDateTime readValueAsOffsetDateTime() {
+
+    if (!isBinaryTemporal()) {
+      return super.readValueAsOffsetDateTime();
+    }
+    long value = readValueAsLong(0);
+    return OffsetDateTime.ofInstant(getTemporalInstant(value), getTemporalOffset(value));
+  }
+
+  @Override
+  public OffsetTime readValueAsOffsetTime() {
+
+    if (!isBinaryTemporal()) {
+      return super.readValueAsOffsetTime();
+    }
+    long value = readValueAsLong(0);
+    int bits = AbstractStructuredBinaryWriter.TEMPORAL_OFFSET_BITS;
+    LocalTime time = LocalTime.ofSecondOfDay(getTemporalSeconds(value, bits)).withNano(getTemporalNanos(value, bits));
+    return OffsetTime.of(time, getTemporalOffset(value));
+  }
+
+  @Override
+  public ZonedDateTime readValueAsZonedDateTime() {
+
+    if (!isBinaryTemporal()) {
+      return super.readValueAsZonedDateTime();
+    }
+    long value = readValueAsLong(0);
+    return ZonedDateTime.ofInstant(getTemporalInstant(value), getTemporalOffset(value));
+  }
+
+  private static Instant getTemporalInstant(long value) {
+
+    int bits = AbstractStructuredBinaryWriter.TEMPORAL_OFFSET_BITS;
+    return Instant.ofEpochSecond(getTemporalSeconds(value, bits), getTemporalNanos(value, bits));
+  }
+
+  private static ZoneOffset getTemporalOffset(long value) {
+
+    int mask = (1 << AbstractStructuredBinaryWriter.TEMPORAL_OFFSET_BITS) - 1;
+    int offset = ((int) (value >> 2) & mask) - AbstractStructuredBinaryWriter.TEMPORAL_OFFSET_MAX;
+    return ZoneOffset.ofTotalSeconds(offset);
+  }
+
+  private static long getTemporalSeconds(long value, int bits) {
+
+    return Math.floorDiv(value >> (2 + bits), TEMPORAL_SCALES[(int) value & 3]);
+  }
+
+  private static int getTemporalNanos(long value, int bits) {
+
+    long scale = TEMPORAL_SCALES[(int) value & 3];
+    return (int) (Math.floorMod(value >> (2 + bits), scale) * (1_000_000_000 / scale));
+  }
+
+  @Override
+  public int readNameToken() {
+
+    int id = getId();
+    readName();
+    return id;
+  }
+
 }
@@ -2,6 +2,15 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.spi;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredWriter;
@@ -16,9 +25,18 @@ import io.github.mmm.marshall.id.impl.StructuredIdMappingProviderDefault;
  */
 public abstract class AbstractStructuredBinaryWriter<S extends StructuredNode<S>> extends AbstractStructuredWriter<S> {
 
+  /** Number of bits used to encode the {@link ZoneOffset} of a binary {@link java.time} value. */
+  static final int TEMPORAL_OFFSET_BITS = 17;
+
+  /** Maximum {@link ZoneOffset#getTotalSeconds() total seconds} of a {@link ZoneOffset} (18 hours). */
+  static final int TEMPORAL_OFFSET_MAX = 18 * 60 * 60;
+
   /** @see MarshallingConfig#VAR_ENCODE_ROOT_OBJECT */
   protected final boolean encodeRootObject;
 
+  /** @see MarshallingConfig#VAR_BINARY_TEMPORALS */
+  protected final boolean binaryTemporals;
+
   /** The {@link StructuredIdMappingProvider} - see {@link MarshallingConfig#VAR_ID_MAPPING_PROVIDER}. */
   protected final StructuredIdMappingProvider idMappingProvider;
 
@@ -32,6 +50,7 @@ public abstract class AbstractStructuredBinaryWriter<S extends StructuredNode<S>
     super(format);
     this.encodeRootObject = this.config.getBoolean(MarshallingConfig.VAR_ENCODE_ROOT_OBJECT,
         isEncodeRootObjectDefault());
+    this.binaryTemporals = this.config.getBoolean(MarshallingConfig.VAR_BINARY_TEMPORALS, isBinaryTemporalsDefault());
     StructuredIdMappingProvider provider = this.config.get(MarshallingConfig.VAR_ID_MAPPING_PROVIDER);
     if (provider == null) {
       provider = StructuredIdMappingProviderDefault.get();
@@ -47,4 +66,119 @@ public abstract class AbstractStructuredBinaryWriter<S extends StructuredNode<S>
     return false;
   }
 
+  /**
+   * @return the default value for {@link MarshallingConfig#VAR_BINARY_TEMPORALS}.
+   */
+  protected boolean isBinaryTemporalsDefault() {
+
+    return false;
+  }
+
+  @Override
+  public void writeValueAsInstant(Instant value) {
+
+    if ((value == null) || !this.binaryTemporals || !writeTemporal(value.getEpochSecond(), value.getNano())) {
+      super.writeValueAsInstant(value);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalDateTime(LocalDateTime value) {
+
+    if ((value == null) || !this.binaryTemporals
+        || !writeTemporal(value.toEpochSecond(ZoneOffset.UTC), value.getNano())) {
+      super.writeValueAsLocalDateTime(value);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalDate(LocalDate value) {
+
+    if ((value == null) || !this.binaryTemporals) {
+      super.writeValueAsLocalDate(value);
+    } else {
+      writeValueAsLong(value.toEpochDay());
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalTime(LocalTime value) {
+
+    if ((value == null) || !this.binaryTemporals) {
+      super.writeValueAsLocalTime(value);
+    } else {
+      writeValueAsLong(value.toNanoOfDay());
+    }
+  }
+
+  @Override
+  public void writeValueAsOffsetDateTime(OffsetDateTime value) {
+
+    if ((value == null) || !this.binaryTemporals
+        || !writeTemporal(value.toEpochSecond(), value.getNano(), value.getOffset())) {
+      super.writeValueAsOffsetDateTime(value);
+    }
+  }
+
+  @Override
+  public void writeValueAsOffsetTime(OffsetTime value) {
+
+    if ((value == null) || !this.binaryTemporals
+        || !writeTemporal(value.toLocalTime().toSecondOfDay(), value.getNano(), value.getOffset())) {
+      super.writeValueAsOffsetTime(value);
+    }
+  }
+
+  @Override
+  public void writeValueAsZonedDateTime(ZonedDateTime value) {
+
+    // a zone ID (e.g. "Europe/Berlin") can not be encoded as integer, only a fixed offset
+    if ((value == null) || !this.binaryTemporals || !(value.getZone() instanceof ZoneOffset)
+        || !writeTemporal(value.toEpochSecond(), value.getNano(), value.getOffset())) {
+      super.writeValueAsZonedDateTime(value);
+    }
+  }
+
+  private boolean writeTemporal(long seconds, int nanos) {
+
+    return writeTemporal(seconds, nanos, 0, 0);
+  }
+
+  private boolean writeTemporal(long seconds, int nanos, ZoneOffset offset) {
+
+    return writeTemporal(seconds, nanos, TEMPORAL_OFFSET_BITS, offset.getTotalSeconds() + TEMPORAL_OFFSET_MAX);
+  }
+
+  /**
+   * Writes a {@link java.time} value as a single integer in the coarsest unit (seconds, milliseconds, microseconds or
+   * nanoseconds) that represents it exactly. The amount is shifted left by the given number of {@code bits} to store
+   * the {@code extra} value (e.g. the {@link ZoneOffset}) and then by two more bits to store the unit so it can be
+   * decoded by {@link AbstractStructuredBinaryReader}.
+   *
+   * @param seconds the epoch seconds.
+   * @param nanos the nanoseconds.
+   * @param bits the number of bits for the {@code extra} value.
+   * @param extra the extra value to encode (e.g. the offset). Has to fit into the given number of {@code bits}.
+   * @return {@code true} if the value has been written, {@code false} if it is out of range and has to be written as
+   *         string.
+   */
+  private boolean writeTemporal(long seconds, int nanos, int bits, int extra) {
+
+    int unit = 0;
+    long scale = 1;
+    int divisor = 1_000_000_000;
+    while ((nanos % divisor) != 0) {
+      unit++;
+      scale *= 1000;
+      divisor /= 1000;
+    }
+    long limit = (Long.MAX_VALUE >> (2 + bits)) / scale - 1;
+    if ((seconds > limit) || (seconds < -limit)) {
+      return false;
+    }
+    long amount = seconds * scale + nanos / divisor;
+    writeValueAsLong((((amount << bits) | extra) << 2) | unit);
+    return true;
+  }
+
 }
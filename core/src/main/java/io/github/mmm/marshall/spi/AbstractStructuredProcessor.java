@@ -22,6 +22,16 @@ import io.github.mmm.marshall.id.StructuredIdMappingObject;
  */
 public abstract class AbstractStructuredProcessor<S extends StructuredNode<S>> implements StructuredProcessor {
 
+  private static final StructuredState[] STATES = StructuredState.values();
+
+  /**
+   * Bitmask of the valid target {@link StructuredState states} indexed by the source {@link StructuredState} and the
+   * {@link StructuredNodeType} (see {@link #transitionIndex(StructuredState, StructuredNodeType)}).
+   *
+   * @see StructuredState#isValidTransition(StructuredState, StructuredNodeType)
+   */
+  private static final int[] TRANSITIONS = createTransitions();
+
   private final StructuredFormat format;
 
   /** The {@link MarshallingConfig}. */
@@ -39,9 +49,17 @@ public abstract class AbstractStructuredProcessor<S extends StructuredNode<S>> i
   /** @see #getState() */
   StructuredState state;
 
+  /** @see MarshallingConfig#VAR_TRUSTED */
+  private final boolean trusted;
+
   /** The current {@link StructuredNode}. */
   protected S node;
 
+  private final S root;
+
+  /** @see StructuredProcessorPool#register(AbstractStructuredProcessor) */
+  StructuredProcessorPool<?> pool;
+
   /**
    * The constructor.
    *
@@ -53,8 +71,25 @@ public abstract class AbstractStructuredProcessor<S extends StructuredNode<S>> i
     this.format = format;
     this.config = format.getConfig();
     this.enumFormat = this.config.get(MarshallingConfig.VAR_ENUM_FORMAT);
+    this.trusted = Boolean.TRUE.equals(this.config.get(MarshallingConfig.VAR_TRUSTED));
     this.state = StructuredState.NULL;
     this.node = newNode(null, null); // root state
+    this.root = this.node;
+  }
+
+  /**
+   * Resets the internal state of this processor so it can be reused after it has been {@link #close() closed}.
+   * Implementations that support reuse shall override this method, call the super implementation and offer a public
+   * {@code reset} method taking the new source or target.
+   */
+  protected void reset() {
+
+    this.state = StructuredState.NULL;
+    this.name = null;
+    this.node = this.root;
+    if (this.root != null) {
+      this.root.reset(null);
+    }
   }
 
   /**
@@ -64,6 +99,28 @@ public abstract class AbstractStructuredProcessor<S extends StructuredNode<S>> i
    */
   protected abstract S newNode(StructuredNodeType type, StructuredIdMappingObject object);
 
+  /**
+   * Nodes form a stack where each node keeps its last child as frame for reuse. Therefore only the first object or
+   * array on each nesting level needs an allocation and all further ones reuse the existing frames. Implementations of
+   * {@link #newNode(StructuredNodeType, StructuredIdMappingObject)} should call this method first and only create a new
+   * node if {@code null} was returned.
+   *
+   * @param type the {@link StructuredNodeType} of the child node to start.
+   * @return the previous child of the current {@link #node} {@link StructuredNode#reset(StructuredNodeType) reset}
+   *         for reuse or {@code null} if no such child exists.
+   */
+  protected S reuseNode(StructuredNodeType type) {
+
+    if (this.node == null) {
+      return null;
+    }
+    S child = this.node.child;
+    if (child != null) {
+      child.reset(type);
+    }
+    return child;
+  }
+
   @Override
   public StructuredFormat getFormat() {
 
@@ -76,9 +133,37 @@ public abstract class AbstractStructuredProcessor<S extends StructuredNode<S>> i
     return this.state;
   }
 
+  private static int[] createTransitions() {
+
+    StructuredNodeType[] types = { null, StructuredNodeType.OBJECT, StructuredNodeType.ARRAY };
+    int[] transitions = new int[STATES.length * types.length];
+    for (StructuredState source : STATES) {
+      for (StructuredNodeType type : types) {
+        int mask = 0;
+        for (StructuredState target : STATES) {
+          if (source.isValidTransition(target, type)) {
+            mask |= (1 << target.ordinal());
+          }
+        }
+        transitions[transitionIndex(source, type)] = mask;
+      }
+    }
+    return transitions;
+  }
+
+  private static int transitionIndex(StructuredState source, StructuredNodeType type) {
+
+    int index = source.ordinal() * 3;
+    if (type != null) {
+      index = index + 1 + type.ordinal();
+    }
+    return index;
+  }
+
   /**
    * Set the new {@link #getState() state} and checks if the
-   * {@link StructuredState#isValidTransition(StructuredState, StructuredNodeType) transition is valid}.
+   * {@link StructuredState#isValidTransition(StructuredState, StructuredNodeType) transition is valid} unless
+   * {@link MarshallingConfig#VAR_TRUSTED trusted mode} is active.
    *
    * @param newState the new {@link #getState() state} to set.
    * @return the given {@link StructuredState} that has been set. May be used for fluent API calls.
@@ -86,10 +171,10 @@ public abstract class AbstractStructuredProcessor<S extends StructuredNode<S>> i
   protected StructuredState setState(StructuredState newState) {
 
     // accept intermediate transitions from to NULL (edge-case for gRPC)
-    if (newState != StructuredState.NULL && (this.node != null)
+    if (!this.trusted && (newState != StructuredState.NULL) && (this.node != null)
         && ((this.state != StructuredState.NULL) || (this.node.parent == null))) {
       StructuredNodeType type = this.node.getType();
-      if (!this.state.isValidTransition(newState, type)) {
+      if ((TRANSITIONS[transitionIndex(this.state, type)] & (1 << newState.ordinal())) == 0) {
         StringBuilder sb = new StringBuilder(type == null ? 56 : 72);
         sb.append("Invalid transition from state ");
         sb.append(this.state);
@@ -136,7 +221,8 @@ public abstract class AbstractStructuredProcessor<S extends StructuredNode<S>> i
   @Override
   public final void close() {
 
-    if (this.node != null) {
+    boolean open = (this.node != null);
+    if (open) {
       try {
         doClose();
       } catch (IOException e) {
@@ -146,6 +232,9 @@ public abstract class AbstractStructuredProcessor<S extends StructuredNode<S>> i
     // setState(StructuredState.DONE);
     this.state = StructuredState.DONE;
     this.node = null;
+    if (open && (this.pool != null)) {
+      this.pool.release(this);
+    }
   }
 
   /**
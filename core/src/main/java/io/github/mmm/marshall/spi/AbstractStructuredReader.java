@@ -17,10 +17,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 import io.github.mmm.base.number.NumberType;
+import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredState;
+import io.github.mmm.marshall.id.StructuredIdMapping;
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
+import io.github.mmm.marshall.id.StructuredIdMappingProvider;
+import io.github.mmm.marshall.id.impl.StructuredIdMappingProviderDefault;
 import io.github.mmm.marshall.impl.EnumMapping;
 import io.github.mmm.marshall.impl.EnumMappings;
 
@@ -37,6 +41,8 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
 
   private boolean done;
 
+  private StructuredIdMappingProvider idMappingProvider;
+
   /**
    * The constructor.
    *
@@ -53,16 +59,112 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
     return this.name;
   }
 
+  @Override
+  protected void reset() {
+
+    super.reset();
+    this.comment = null;
+    this.done = false;
+  }
+
   @Override
   public boolean readStartObject(StructuredIdMappingObject object) {
 
     if (this.state == StructuredState.START_OBJECT) {
+      setObject(object);
       next();
       return true;
     }
     return false;
   }
 
+  @Override
+  public void specializeObject(StructuredIdMappingObject object) {
+
+    setObject(object);
+  }
+
+  @Override
+  public int readNameToken() {
+
+    require(StructuredState.NAME);
+    int id = 0;
+    StructuredIdMapping idMapping = getIdMapping();
+    if (idMapping != null) {
+      id = getNameId(idMapping);
+    }
+    next();
+    return id;
+  }
+
+  /**
+   * @param idMapping the {@link #getIdMapping() current} {@link StructuredIdMapping}.
+   * @return the {@link StructuredIdMapping#id(String) ID} of the current {@link #getName() name}. Override if the ID
+   *         may already be known from resolving the name.
+   */
+  protected int getNameId(StructuredIdMapping idMapping) {
+
+    return idMapping.id(this.name);
+  }
+
+  private void setObject(StructuredIdMappingObject object) {
+
+    S objectNode = getObjectNode();
+    if (objectNode != null) {
+      objectNode.object = object;
+      objectNode.idMapping = null;
+    }
+  }
+
+  /**
+   * @return the {@link StructuredNode} of the current object that carries its {@link StructuredIdMappingObject} and
+   *         {@link StructuredIdMapping} or {@code null} if not available. Override if the current {@link #node} may
+   *         be a child of the object (e.g. for {@link StructuredState#NAME}).
+   */
+  protected S getObjectNode() {
+
+    return this.node;
+  }
+
+  /**
+   * @return the {@link StructuredIdMapping} of the {@link StructuredIdMappingObject} given to
+   *         {@link #readStartObject(StructuredIdMappingObject)} for the current object or {@code null} if not
+   *         available.
+   */
+  protected StructuredIdMapping getIdMapping() {
+
+    S objectNode = getObjectNode();
+    if (objectNode == null) {
+      return null;
+    }
+    StructuredIdMapping idMapping = objectNode.idMapping;
+    if (idMapping == null) {
+      StructuredIdMappingObject object = objectNode.object;
+      if (object == null) {
+        return null;
+      }
+      idMapping = resolveIdMapping(object);
+      objectNode.idMapping = idMapping;
+    }
+    return idMapping;
+  }
+
+  /**
+   * @param object the {@link StructuredIdMappingObject}.
+   * @return the {@link StructuredIdMapping} for the given {@link StructuredIdMappingObject}.
+   */
+  protected StructuredIdMapping resolveIdMapping(StructuredIdMappingObject object) {
+
+    if (this.idMappingProvider == null) {
+      StructuredIdMappingProvider provider = this.config.get(MarshallingConfig.VAR_ID_MAPPING_PROVIDER);
+      if (provider == null) {
+        provider = StructuredIdMappingProviderDefault.get();
+      }
+      this.idMappingProvider = provider;
+    }
+    return this.idMappingProvider.getMapping(object);
+  }
+
   @Override
   public boolean readStartArray() {
 
@@ -127,6 +229,28 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
     return newState;
   }
 
+  /**
+   * Sets the given {@link StructuredState} and keeps the {@link #node} stack in sync via
+   * {@link #start(StructuredNodeType)} and {@link #end(StructuredNodeType)}. Intended for implementations that get
+   * their states from an underlying parser.
+   *
+   * @param newState the new {@link #getState() state} to set.
+   * @return the given {@link StructuredState} that has been set.
+   */
+  protected StructuredState setStateAndNode(StructuredState newState) {
+
+    if (newState == StructuredState.START_OBJECT) {
+      return start(StructuredNodeType.OBJECT);
+    } else if (newState == StructuredState.START_ARRAY) {
+      return start(StructuredNodeType.ARRAY);
+    } else if (newState == StructuredState.END_OBJECT) {
+      return end(StructuredNodeType.OBJECT);
+    } else if (newState == StructuredState.END_ARRAY) {
+      return end(StructuredNodeType.ARRAY);
+    }
+    return setState(newState);
+  }
+
   /**
    * Verifies that the {@link #getState() current state} is one of the given states.
    *
@@ -207,8 +331,8 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
       if (ordinalValue == null) {
         return null;
       }
-      E e = mapping.fromOrdinal(ordinalValue);
-      if ((e == null) && (ordinalValue != null)) {
+      E e = mapping.fromOrdinal(ordinalValue.intValue());
+      if (e == null) {
         throw error("The integer value '" + ordinalValue + "' is not an ordinal of enum type " + enumType.getName());
       }
       return e;
@@ -263,6 +387,46 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
     return readValueAsNumber(NumberType.BIG_DECIMAL);
   }
 
+  @Override
+  public boolean readValueAsBoolean(boolean defaultIfNull) {
+
+    Boolean value = readValueAsBoolean();
+    if (value == null) {
+      return defaultIfNull;
+    }
+    return value.booleanValue();
+  }
+
+  @Override
+  public int readValueAsInteger(int defaultIfNull) {
+
+    Integer value = readValueAsInteger();
+    if (value == null) {
+      return defaultIfNull;
+    }
+    return value.intValue();
+  }
+
+  @Override
+  public long readValueAsLong(long defaultIfNull) {
+
+    Long value = readValueAsLong();
+    if (value == null) {
+      return defaultIfNull;
+    }
+    return value.longValue();
+  }
+
+  @Override
+  public double readValueAsDouble(double defaultIfNull) {
+
+    Double value = readValueAsDouble();
+    if (value == null) {
+      return defaultIfNull;
+    }
+    return value.doubleValue();
+  }
+
   /**
    * @param <N> type of the number to read.
    * @param type the {@link NumberType} to read.
@@ -315,6 +479,45 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
     }
   }
 
+  /**
+   * @param string the {@code int} value as {@link String}.
+   * @return the parsed {@code int}.
+   */
+  protected int parseInt(String string) {
+
+    try {
+      return Integer.parseInt(string);
+    } catch (RuntimeException e) {
+      throw error(string, Integer.class, e);
+    }
+  }
+
+  /**
+   * @param string the {@code long} value as {@link String}.
+   * @return the parsed {@code long}.
+   */
+  protected long parseLong(String string) {
+
+    try {
+      return Long.parseLong(string);
+    } catch (RuntimeException e) {
+      throw error(string, Long.class, e);
+    }
+  }
+
+  /**
+   * @param string the {@code double} value as {@link String}.
+   * @return the parsed {@code double}.
+   */
+  protected double parseDouble(String string) {
+
+    try {
+      return Double.parseDouble(string);
+    } catch (RuntimeException e) {
+      throw error(string, Double.class, e);
+    }
+  }
+
   @Override
   public Instant readValueAsInstant() {
 
@@ -323,7 +526,7 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
       return null;
     }
     try {
-      return Instant.parse(value);
+      return StructuredTextParser.parseInstant(value);
     } catch (RuntimeException e) {
       throw error(value, Instant.class, e);
     }
@@ -337,7 +540,7 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
       return null;
     }
     try {
-      return LocalDate.parse(value);
+      return StructuredTextParser.parseLocalDate(value);
     } catch (RuntimeException e) {
       throw error(value, LocalDate.class, e);
     }
@@ -351,7 +554,7 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
       return null;
     }
     try {
-      return LocalDateTime.parse(value);
+      return StructuredTextParser.parseLocalDateTime(value);
     } catch (RuntimeException e) {
       throw error(value, LocalDateTime.class, e);
     }
@@ -365,7 +568,7 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
       return null;
     }
     try {
-      return LocalTime.parse(value);
+      return StructuredTextParser.parseLocalTime(value);
     } catch (RuntimeException e) {
       throw error(value, LocalTime.class, e);
     }
@@ -379,7 +582,7 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
       return null;
     }
     try {
-      return ZonedDateTime.parse(value);
+      return StructuredTextParser.parseZonedDateTime(value);
     } catch (RuntimeException e) {
       throw error(value, ZonedDateTime.class, e);
     }
@@ -393,7 +596,7 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
       return null;
     }
     try {
-      return OffsetDateTime.parse(value);
+      return StructuredTextParser.parseOffsetDateTime(value);
     } catch (RuntimeException e) {
       throw error(value, OffsetDateTime.class, e);
     }
@@ -407,9 +610,9 @@ public abstract class AbstractStructuredReader<S extends StructuredNode<S>> exte
       return null;
     }
     try {
-      return OffsetTime.parse(value);
+      return StructuredTextParser.parseOffsetTime(value);
     } catch (RuntimeException e) {
-      throw error(value, OffsetDateTime.class, e);
+      throw error(value, OffsetTime.class, e);
     }
   }
 
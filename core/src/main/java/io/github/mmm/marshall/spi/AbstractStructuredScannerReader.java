@@ -6,14 +6,14 @@ import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.scanner.CharStreamScanner;
 
 /**
- * {@link AbstractStructuredReader} that {@link #readValue() reads values} as {@link Object}.
+ * {@link AbstractStructuredTokenReader} that reads from a {@link CharStreamScanner}.
  *
  * @param <S> type of the {@link StructuredNode}.
  * @since 1.0.0
  */
 @SuppressWarnings("exports")
 public abstract class AbstractStructuredScannerReader<S extends StructuredNode<S>>
-    extends AbstractStructuredValueReader<S> {
+    extends AbstractStructuredTokenReader<S> {
 
   /** The {@link CharStreamScanner} to read from. */
   protected final CharStreamScanner reader;
@@ -30,22 +30,29 @@ public abstract class AbstractStructuredScannerReader<S extends StructuredNode<S
     this.reader = scanner;
   }
 
+  /**
+   * @param quote the quote character terminating the token.
+   * @param escape the escape character.
+   * @see #readQuotedToken(CharStreamScanner, char, char)
+   */
+  protected void readQuotedToken(char quote, char escape) {
+
+    readQuotedToken(this.reader, quote, escape);
+  }
+
+  /**
+   * @param singleQuotes {@code true} if strings may also be single quoted (YAML), {@code false} otherwise.
+   * @see #skipStructure(CharStreamScanner, boolean)
+   */
+  protected void skipStructure(boolean singleQuotes) {
+
+    skipStructure(this.reader, singleQuotes);
+  }
+
   @Override
   protected String appendContextDetails(String message) {
 
-    StringBuilder sb = new StringBuilder(message);
-    sb.append('(');
-    if (this.name != null) {
-      sb.append("at property '");
-      sb.append(this.name);
-      sb.append("' ");
-    }
-    sb.append("in line ");
-    sb.append(this.reader.getLine());
-    sb.append(" and column ");
-    sb.append(this.reader.getColumn());
-    sb.append(')');
-    return sb.toString();
+    return appendContextDetails(message, this.reader.getLine(), this.reader.getColumn());
   }
 
   @Override
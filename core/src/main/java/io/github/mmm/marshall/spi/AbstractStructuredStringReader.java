@@ -46,4 +46,34 @@ public abstract class AbstractStructuredStringReader<S extends StructuredNode<S>
     }
   }
 
+  @Override
+  public int readValueAsInteger(int defaultIfNull) {
+
+    String value = readValueAsNumberString();
+    if (value == null) {
+      return defaultIfNull;
+    }
+    return parseInt(value);
+  }
+
+  @Override
+  public long readValueAsLong(long defaultIfNull) {
+
+    String value = readValueAsNumberString();
+    if (value == null) {
+      return defaultIfNull;
+    }
+    return parseLong(value);
+  }
+
+  @Override
+  public double readValueAsDouble(double defaultIfNull) {
+
+    String value = readValueAsNumberString();
+    if (value == null) {
+      return defaultIfNull;
+    }
+    return parseDouble(value);
+  }
+
 }
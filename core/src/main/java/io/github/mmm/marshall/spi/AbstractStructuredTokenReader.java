@@ -0,0 +1,740 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.spi;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import io.github.mmm.base.filter.CharFilter;
+import io.github.mmm.base.number.NumberType;
+import io.github.mmm.marshall.StructuredFormat;
+import io.github.mmm.marshall.StructuredState;
+import io.github.mmm.marshall.id.StructuredIdMapping;
+import io.github.mmm.marshall.impl.EnumMappings;
+import io.github.mmm.scanner.CharStreamScanner;
+
+/**
+ * {@link AbstractStructuredValueReader} for text formats that collects property names and numbers in internal buffers
+ * so names are {@link #resolveName(boolean) resolved} via the {@link StructuredIdMapping} of the current object
+ * and numbers are only parsed when read. Also {@link java.time} values and {@link Enum}s are read directly from the
+ * internal buffer. It is independent of the underlying source so it can be used for readers on characters as well as
+ * on bytes. For sources on characters it offers helpers to read quoted tokens and skip structures from a
+ * {@link CharStreamScanner}.
+ *
+ * @param <S> type of the {@link StructuredNode}.
+ * @since 1.0.0
+ */
+@SuppressWarnings("exports")
+public abstract class AbstractStructuredTokenReader<S extends StructuredNode<S>>
+    extends AbstractStructuredValueReader<S> {
+
+  private static final CharFilter STRUCTURE_SKIP_FILTER = c -> (c != '{') && (c != '}') && (c != '[') && (c != ']')
+      && (c != '"') && (c != '\'') && (c != CharStreamScanner.EOS);
+
+  private static final CharFilter DOUBLE_QUOTED_SKIP_FILTER = c -> (c != '"') && (c != '\\')
+      && (c != CharStreamScanner.EOS);
+
+  private static final CharFilter SINGLE_QUOTED_SKIP_FILTER = c -> (c != '\'') && (c != CharStreamScanner.EOS);
+
+  private char[] tokenBuffer;
+
+  private int tokenLength;
+
+  private final CharSequence token;
+
+  private boolean textValue;
+
+  private char[] numberBuffer;
+
+  private int numberLength;
+
+  private boolean numberDecimal;
+
+  /** The {@link StructuredIdMapping} the current {@link #name} was resolved with or {@code null} if none. */
+  private StructuredIdMapping nameIdMapping;
+
+  /** The {@link StructuredIdMapping#id(char[], int, int) ID} of the current {@link #name} or {@code 0} if unknown. */
+  private int nameId;
+
+  /**
+   * The constructor.
+   *
+   * @param format the {@link #getFormat() format}.
+   */
+  public AbstractStructuredTokenReader(StructuredFormat format) {
+
+    super(format);
+    this.tokenBuffer = new char[32];
+    this.numberBuffer = new char[32];
+    this.token = new Token();
+  }
+
+  @Override
+  protected void reset() {
+
+    super.reset();
+    this.tokenLength = 0;
+    this.textValue = false;
+    this.nameIdMapping = null;
+    clearNumberValue();
+  }
+
+  /**
+   * @param codePoint the next character of the token to append to the internal buffer.
+   * @see #resolveName(boolean)
+   * @see #resolveText()
+   */
+  protected void appendTokenChar(int codePoint) {
+
+    if (this.tokenLength + 2 > this.tokenBuffer.length) {
+      this.tokenBuffer = Arrays.copyOf(this.tokenBuffer, this.tokenBuffer.length * 2);
+    }
+    if (Character.isBmpCodePoint(codePoint)) {
+      this.tokenBuffer[this.tokenLength++] = (char) codePoint;
+    } else {
+      this.tokenLength += Character.toChars(codePoint, this.tokenBuffer, this.tokenLength);
+    }
+  }
+
+  /**
+   * Bulk variant of {@link #appendTokenChar(int)} for a sequence of ASCII characters given as bytes.
+   *
+   * @param bytes the buffer containing the ASCII bytes to append.
+   * @param offset the index of the first byte to append.
+   * @param length the number of bytes to append.
+   */
+  protected void appendTokenAscii(byte[] bytes, int offset, int length) {
+
+    int newLength = this.tokenLength + length;
+    if (newLength > this.tokenBuffer.length) {
+      this.tokenBuffer = Arrays.copyOf(this.tokenBuffer, Math.max(newLength, this.tokenBuffer.length * 2));
+    }
+    for (int i = 0; i < length; i++) {
+      this.tokenBuffer[this.tokenLength++] = (char) bytes[offset + i];
+    }
+  }
+
+  /**
+   * @param trim {@code true} to remove leading and trailing whitespaces, {@code false} otherwise.
+   * @return the property name from the {@link #appendTokenChar(int) appended characters}. If it is defined by the
+   *         {@link #getIdMapping() current} {@link StructuredIdMapping} its canonical {@link String} is returned and
+   *         its ID is kept for {@link #readNameToken()}. The internal buffer is reset for the next token.
+   */
+  protected String resolveName(boolean trim) {
+
+    int start = 0;
+    int end = this.tokenLength;
+    if (trim) {
+      while ((start < end) && (this.tokenBuffer[start] <= ' ')) {
+        start++;
+      }
+      while ((end > start) && (this.tokenBuffer[end - 1] <= ' ')) {
+        end--;
+      }
+    }
+    this.tokenLength = 0;
+    int length = end - start;
+    StructuredIdMapping idMapping = getIdMapping();
+    this.nameIdMapping = idMapping;
+    if (idMapping != null) {
+      this.nameId = idMapping.id(this.tokenBuffer, start, length);
+      if (this.nameId > 0) {
+        return idMapping.name(this.nameId);
+      }
+    }
+    return new String(this.tokenBuffer, start, length);
+  }
+
+  @Override
+  protected int getNameId(StructuredIdMapping idMapping) {
+
+    if (idMapping == this.nameIdMapping) {
+      return this.nameId;
+    }
+    return super.getNameId(idMapping);
+  }
+
+  /**
+   * @return the {@link #appendTokenChar(int) appended characters} as {@link CharSequence} view on the internal buffer.
+   *         It is only valid until the buffer is reset (e.g. by {@link #resolveText()}).
+   */
+  protected CharSequence getToken() {
+
+    return this.token;
+  }
+
+  /**
+   * @return the {@link #appendTokenChar(int) appended characters} as new {@link String} for a value that shall not be
+   *         resolved as name. The internal buffer is reset for the next token.
+   */
+  protected String resolveText() {
+
+    String result = new String(this.tokenBuffer, 0, this.tokenLength);
+    this.tokenLength = 0;
+    return result;
+  }
+
+  /**
+   * Resets the {@link #appendTokenChar(int) appended characters} without creating a {@link String} e.g. after the
+   * token has been identified as literal via {@link #getToken()}.
+   */
+  protected void clearToken() {
+
+    this.tokenLength = 0;
+  }
+
+  /**
+   * Sets the current value as text from the {@link #appendTokenChar(int) appended characters}. It is only converted
+   * to a {@link String} via {@link #getTextValue()} when read as such so e.g. {@link java.time} values are parsed
+   * directly from the internal buffer and {@link #skipValue() skipped} values are never converted.
+   *
+   * @see #isTextValue()
+   * @see #clearTextValue()
+   */
+  protected void setTextValue() {
+
+    this.textValue = true;
+  }
+
+  /**
+   * @return {@code true} if the current value is a text set via {@link #setTextValue()}, {@code false} otherwise.
+   */
+  protected boolean isTextValue() {
+
+    return this.textValue;
+  }
+
+  /**
+   * @return the current value from {@link #setTextValue()} as {@link String} or {@code null} if no text was set. The
+   *         text value is cleared.
+   */
+  protected String getTextValue() {
+
+    if (!this.textValue) {
+      return null;
+    }
+    this.textValue = false;
+    return resolveText();
+  }
+
+  /**
+   * Resets the text from {@link #setTextValue()}. Has to be called before reading the next token.
+   */
+  protected void clearTextValue() {
+
+    if (this.textValue) {
+      this.textValue = false;
+      this.tokenLength = 0;
+    }
+  }
+
+  private <T> T readTextValue(Function<CharSequence, T> parser, Class<T> type) {
+
+    T result;
+    try {
+      result = parser.apply(this.token);
+    } catch (RuntimeException e) {
+      throw error(this.token.toString(), type, e);
+    }
+    clearTextValue();
+    next();
+    return result;
+  }
+
+  private boolean isTextValueToRead() {
+
+    return this.textValue && (getState() == StructuredState.VALUE);
+  }
+
+  @Override
+  public <E extends Enum<E>> E readValueAsEnum(Class<E> enumType) {
+
+    if (isTextValueToRead()) {
+      E e = EnumMappings.get().getMapping(enumType).fromString(this.token);
+      if (e == null) {
+        throw error("The string value '" + this.token + "' is not an enum of type " + enumType.getName());
+      }
+      clearTextValue();
+      next();
+      return e;
+    }
+    return super.readValueAsEnum(enumType);
+  }
+
+  @Override
+  public Instant readValueAsInstant() {
+
+    if (isTextValueToRead()) {
+      return readTextValue(StructuredTextParser::parseInstant, Instant.class);
+    }
+    return super.readValueAsInstant();
+  }
+
+  @Override
+  public LocalDate readValueAsLocalDate() {
+
+    if (isTextValueToRead()) {
+      return readTextValue(StructuredTextParser::parseLocalDate, LocalDate.class);
+    }
+    return super.readValueAsLocalDate();
+  }
+
+  @Override
+  public LocalDateTime readValueAsLocalDateTime() {
+
+    if (isTextValueToRead()) {
+      return readTextValue(StructuredTextParser::parseLocalDateTime, LocalDateTime.class);
+    }
+    return super.readValueAsLocalDateTime();
+  }
+
+  @Override
+  public LocalTime readValueAsLocalTime() {
+
+    if (isTextValueToRead()) {
+      return readTextValue(StructuredTextParser::parseLocalTime, LocalTime.class);
+    }
+    return super.readValueAsLocalTime();
+  }
+
+  @Override
+  public ZonedDateTime readValueAsZonedDateTime() {
+
+    if (isTextValueToRead()) {
+      return readTextValue(StructuredTextParser::parseZonedDateTime, ZonedDateTime.class);
+    }
+    return super.readValueAsZonedDateTime();
+  }
+
+  @Override
+  public OffsetDateTime readValueAsOffsetDateTime() {
+
+    if (isTextValueToRead()) {
+      return readTextValue(StructuredTextParser::parseOffsetDateTime, OffsetDateTime.class);
+    }
+    return super.readValueAsOffsetDateTime();
+  }
+
+  @Override
+  public OffsetTime readValueAsOffsetTime() {
+
+    if (isTextValueToRead()) {
+      return readTextValue(StructuredTextParser::parseOffsetTime, OffsetTime.class);
+    }
+    return super.readValueAsOffsetTime();
+  }
+
+  /**
+   * Sets the current value as number in its raw textual form from the {@link #appendTokenChar(int) appended
+   * characters}. It is only converted when read so it is parsed exactly once and directly to the requested type while
+   * {@link #skipValue() skipped} numbers are never converted. The internal token buffer is reset for the next token.
+   *
+   * @see #getToken()
+   * @see #appendNumberChar(int)
+   * @see #isNumberValue()
+   * @see #getNumberValue()
+   */
+  protected void setNumberValueFromToken() {
+
+    clearNumberValue();
+    for (int i = 0; i < this.tokenLength; i++) {
+      appendNumberChar(this.tokenBuffer[i]);
+    }
+    this.tokenLength = 0;
+  }
+
+  /**
+   * Alternative to {@link #setNumberValueFromToken()} to append the number from the source character by character
+   * without collecting it as token first. Call {@link #clearNumberValue()} before appending the first character.
+   *
+   * @param c the next character of the number.
+   */
+  protected void appendNumberChar(int c) {
+
+    if (this.numberLength == this.numberBuffer.length) {
+      this.numberBuffer = Arrays.copyOf(this.numberBuffer, this.numberLength * 2);
+    }
+    this.numberBuffer[this.numberLength++] = (char) c;
+    if ((c == '.') || (c == 'e') || (c == 'E')) {
+      this.numberDecimal = true;
+    }
+  }
+
+  /**
+   * @return {@code true} if the current value is a number set via {@link #setNumberValueFromToken()}, {@code false}
+   *         otherwise.
+   */
+  protected boolean isNumberValue() {
+
+    return (this.numberLength > 0);
+  }
+
+  /**
+   * Resets the number from {@link #setNumberValueFromToken()}.
+   */
+  protected void clearNumberValue() {
+
+    this.numberLength = 0;
+    this.numberDecimal = false;
+  }
+
+  /**
+   * @return the current number from {@link #setNumberValueFromToken()} as {@link Integer}, {@link Long}, {@link Float},
+   *         or {@link Double} or {@code null} if no number was set.
+   */
+  protected Number getNumberValue() {
+
+    if (this.numberLength == 0) {
+      return null;
+    } else if (this.numberDecimal) {
+      double d = parseDoubleNumber();
+      float f = (float) d;
+      if (f == d) {
+        return Float.valueOf(f);
+      }
+      return Double.valueOf(d);
+    } else {
+      long l = parseLongNumber();
+      int i = (int) l;
+      if (i == l) {
+        return Integer.valueOf(i);
+      }
+      return Long.valueOf(l);
+    }
+  }
+
+  private long parseLongNumber() {
+
+    int i = 0;
+    boolean negative = false;
+    char c = this.numberBuffer[0];
+    if ((c == '-') || (c == '+')) {
+      negative = (c == '-');
+      i++;
+    }
+    if (i == this.numberLength) {
+      throw errorInvalidNumber(null);
+    }
+    // accumulate negative to also cover Long.MIN_VALUE
+    long result = 0;
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long multiplyLimit = limit / 10;
+    while (i < this.numberLength) {
+      int digit = this.numberBuffer[i++] - '0';
+      if ((digit < 0) || (digit > 9) || (result < multiplyLimit)) {
+        throw errorInvalidNumber(null);
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        throw errorInvalidNumber(null);
+      }
+      result -= digit;
+    }
+    if (negative) {
+      return result;
+    }
+    return -result;
+  }
+
+  private double parseDoubleNumber() {
+
+    String numberString = new String(this.numberBuffer, 0, this.numberLength);
+    try {
+      return Double.parseDouble(numberString);
+    } catch (NumberFormatException e) {
+      throw errorInvalidNumber(e);
+    }
+  }
+
+  private RuntimeException errorInvalidNumber(Throwable cause) {
+
+    return error("Invalid number: " + new String(this.numberBuffer, 0, this.numberLength), cause);
+  }
+
+  private boolean isNumberValueToRead() {
+
+    return (this.numberLength > 0) && (getState() == StructuredState.VALUE);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  protected <N extends Number> N readValueAsNumber(NumberType<N> numberType) {
+
+    if (isNumberValueToRead()) {
+      Number number = null;
+      if (numberType == NumberType.BIG_DECIMAL) {
+        try {
+          number = new BigDecimal(this.numberBuffer, 0, this.numberLength);
+        } catch (NumberFormatException e) {
+          throw errorInvalidNumber(e);
+        }
+      } else if (numberType == NumberType.BIG_INTEGER) {
+        try {
+          number = new BigInteger(new String(this.numberBuffer, 0, this.numberLength));
+        } catch (NumberFormatException e) {
+          throw errorInvalidNumber(e);
+        }
+      } else if (numberType == NumberType.DOUBLE) {
+        number = Double.valueOf(parseDoubleNumber());
+      } else if (numberType == NumberType.LONG) {
+        if (!this.numberDecimal) {
+          number = Long.valueOf(parseLongNumber());
+        }
+      } else if (numberType == NumberType.INTEGER) {
+        if (!this.numberDecimal) {
+          long l = parseLongNumber();
+          int i = (int) l;
+          if (i == l) {
+            number = Integer.valueOf(i);
+          }
+        }
+      }
+      if (number != null) {
+        clearNumberValue();
+        next();
+        return (N) number;
+      }
+    }
+    return super.readValueAsNumber(numberType);
+  }
+
+  @Override
+  public int readValueAsInteger(int defaultIfNull) {
+
+    if (isNumberValueToRead() && !this.numberDecimal) {
+      long l = parseLongNumber();
+      int i = (int) l;
+      if (i == l) {
+        clearNumberValue();
+        next();
+        return i;
+      }
+    }
+    return super.readValueAsInteger(defaultIfNull);
+  }
+
+  @Override
+  public long readValueAsLong(long defaultIfNull) {
+
+    if (isNumberValueToRead() && !this.numberDecimal) {
+      long l = parseLongNumber();
+      clearNumberValue();
+      next();
+      return l;
+    }
+    return super.readValueAsLong(defaultIfNull);
+  }
+
+  @Override
+  public double readValueAsDouble(double defaultIfNull) {
+
+    if (isNumberValueToRead()) {
+      double d;
+      if (this.numberDecimal) {
+        d = parseDoubleNumber();
+      } else {
+        d = parseLongNumber();
+      }
+      clearNumberValue();
+      next();
+      return d;
+    }
+    return super.readValueAsDouble(defaultIfNull);
+  }
+
+  /**
+   * Reads a quoted token into the internal buffer. The opening quote has to be consumed before and the closing quote
+   * will be consumed by this method.
+   *
+   * @param scanner the {@link CharStreamScanner} to read from.
+   * @param quote the quote character terminating the token.
+   * @param escape the character escaping the next character. If it is the same as {@code quote} then a doubled
+   *        {@code quote} is unescaped to a single {@code quote}. If it is a backslash then the escape sequences of JSON
+   *        (e.g. {@code \n} or {@code \t}) are decoded.
+   * @see #appendTokenChar(int)
+   */
+  protected void readQuotedToken(CharStreamScanner scanner, char quote, char escape) {
+
+    while (true) {
+      if (!scanner.hasNext()) {
+        throw error("Missing closing quote (" + quote + ")");
+      }
+      int cp = scanner.next();
+      if (cp == quote) {
+        if ((escape != quote) || (scanner.peek() != quote)) {
+          return;
+        }
+        scanner.next();
+      } else if (cp == escape) {
+        if (!scanner.hasNext()) {
+          throw error("Missing closing quote (" + quote + ")");
+        }
+        cp = scanner.next();
+        if (escape == '\\') {
+          cp = decodeEscape(scanner, cp);
+        }
+      }
+      appendTokenChar(cp);
+    }
+  }
+
+  private int decodeEscape(CharStreamScanner scanner, int cp) {
+
+    switch (cp) {
+      case 'n':
+        return '\n';
+      case 't':
+        return '\t';
+      case 'r':
+        return '\r';
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'u':
+        int c = 0;
+        for (int i = 0; i < 4; i++) {
+          int digit = Character.digit(scanner.next(), 16);
+          if (digit < 0) {
+            throw error("Invalid unicode escape sequence.");
+          }
+          c = (c << 4) | digit;
+        }
+        return c;
+      default:
+        return cp;
+    }
+  }
+
+  /**
+   * Skips the rest of a JSON like structure (flow style) on character level without creating any token. Only brackets,
+   * quotes and escapes are tracked. The opening bracket has to be consumed before and the matching closing bracket is
+   * not consumed by this method.
+   *
+   * @param scanner the {@link CharStreamScanner} to read from.
+   * @param singleQuotes {@code true} if strings may also be single quoted (YAML), {@code false} otherwise.
+   */
+  protected void skipStructure(CharStreamScanner scanner, boolean singleQuotes) {
+
+    int depth = 1;
+    while (true) {
+      scanner.skipWhile(STRUCTURE_SKIP_FILTER);
+      int c = scanner.peek();
+      if ((c == '}') || (c == ']')) {
+        depth--;
+        if (depth == 0) {
+          return;
+        }
+        scanner.next();
+      } else if ((c == '{') || (c == '[')) {
+        depth++;
+        scanner.next();
+      } else if (c == '"') {
+        scanner.next();
+        skipDoubleQuoted(scanner);
+      } else if ((c == '\'') && singleQuotes) {
+        scanner.next();
+        skipSingleQuoted(scanner);
+      } else if (scanner.hasNext()) {
+        scanner.next();
+      } else {
+        throw error("Unexpected end of data while skipping value.");
+      }
+    }
+  }
+
+  private void skipDoubleQuoted(CharStreamScanner scanner) {
+
+    while (true) {
+      scanner.skipWhile(DOUBLE_QUOTED_SKIP_FILTER);
+      int c = scanner.peek();
+      if (c == '"') {
+        scanner.next();
+        return;
+      } else if ((c == '\\') && scanner.hasNext()) {
+        scanner.next();
+        scanner.next();
+      } else {
+        throw error("Missing closing quote (\")");
+      }
+    }
+  }
+
+  private void skipSingleQuoted(CharStreamScanner scanner) {
+
+    while (true) {
+      scanner.skipWhile(SINGLE_QUOTED_SKIP_FILTER);
+      if (!scanner.hasNext()) {
+        throw error("Missing closing quote (')");
+      }
+      scanner.next();
+      if (scanner.peek() != '\'') {
+        return;
+      }
+      scanner.next(); // escaped quote ('')
+    }
+  }
+
+  /**
+   * @param message the error message.
+   * @param line the current line number.
+   * @param column the current column number.
+   * @return the given {@code message} with the current property name and the given location appended.
+   */
+  protected String appendContextDetails(String message, long line, long column) {
+
+    StringBuilder sb = new StringBuilder(message);
+    sb.append('(');
+    if (this.name != null) {
+      sb.append("at property '");
+      sb.append(this.name);
+      sb.append("' ");
+    }
+    sb.append("in line ");
+    sb.append(line);
+    sb.append(" and column ");
+    sb.append(column);
+    sb.append(')');
+    return sb.toString();
+  }
+
+  /**
+   * {@link CharSequence} view on the {@link #appendTokenChar(int) appended characters} without copying them.
+   */
+  private class Token implements CharSequence {
+
+    @Override
+    public int length() {
+
+      return AbstractStructuredTokenReader.this.tokenLength;
+    }
+
+    @Override
+    public char charAt(int index) {
+
+      return AbstractStructuredTokenReader.this.tokenBuffer[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+
+      return new String(AbstractStructuredTokenReader.this.tokenBuffer, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+
+      return subSequence(0, length()).toString();
+    }
+  }
+
+}
@@ -26,7 +26,17 @@ public abstract class AbstractStructuredValueReader<S extends StructuredNode<S>>
   @Override
   protected <N extends Number> N readValueAsNumber(NumberType<N> numberType) {
 
-    Object value = readValue();
+    return toNumber(readValue(), numberType);
+  }
+
+  /**
+   * @param <N> type of the number to convert to.
+   * @param value the {@link #readValue() value} that has been read.
+   * @param numberType the {@link NumberType} to convert to.
+   * @return the given {@code value} converted to the given {@link NumberType}. May be {@code null}.
+   */
+  protected <N extends Number> N toNumber(Object value, NumberType<N> numberType) {
+
     if (value == null) {
       return null;
     } else if (value instanceof Number) {
@@ -51,4 +61,41 @@ public abstract class AbstractStructuredValueReader<S extends StructuredNode<S>>
     throw error(value, numberType.getType());
   }
 
+  @Override
+  public int readValueAsInteger(int defaultIfNull) {
+
+    Object value = readValue();
+    if (value == null) {
+      return defaultIfNull;
+    } else if ((value instanceof Integer) || (value instanceof Short) || (value instanceof Byte)) {
+      return ((Number) value).intValue();
+    }
+    return toNumber(value, NumberType.INTEGER).intValue();
+  }
+
+  @Override
+  public long readValueAsLong(long defaultIfNull) {
+
+    Object value = readValue();
+    if (value == null) {
+      return defaultIfNull;
+    } else if ((value instanceof Long) || (value instanceof Integer) || (value instanceof Short)
+        || (value instanceof Byte)) {
+      return ((Number) value).longValue();
+    }
+    return toNumber(value, NumberType.LONG).longValue();
+  }
+
+  @Override
+  public double readValueAsDouble(double defaultIfNull) {
+
+    Object value = readValue();
+    if (value == null) {
+      return defaultIfNull;
+    } else if ((value instanceof Double) || (value instanceof Float) || (value instanceof Integer)) {
+      return ((Number) value).doubleValue();
+    }
+    return toNumber(value, NumberType.DOUBLE).doubleValue();
+  }
+
 }
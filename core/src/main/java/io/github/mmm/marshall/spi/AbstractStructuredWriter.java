@@ -9,6 +9,7 @@ import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredState;
 import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
+import io.github.mmm.marshall.impl.EnumMappings;
 
 /**
  * Abstract base implementation of {@link StructuredWriter}.
@@ -44,6 +45,13 @@ public abstract class AbstractStructuredWriter<S extends StructuredNode<S>> exte
     this.indentation = normalizeIndentation(this.config.get(MarshallingConfig.VAR_INDENTATION));
   }
 
+  @Override
+  protected void reset() {
+
+    super.reset();
+    this.indentCount = 0;
+  }
+
   @Override
   public final void writeStartArray() {
 
@@ -82,6 +90,9 @@ public abstract class AbstractStructuredWriter<S extends StructuredNode<S>> exte
     doWriteEnd(this.node.type);
     setState(this.node.type.getEnd());
     this.node = this.node.end();
+    if (this.node.parent == null) {
+      doFlush();
+    }
   }
 
   /**
@@ -91,6 +102,14 @@ public abstract class AbstractStructuredWriter<S extends StructuredNode<S>> exte
    */
   protected abstract void doWriteEnd(StructuredNodeType type);
 
+  /**
+   * Called from {@link #writeEnd()} when the root object or array has been completed. Writers that buffer their output
+   * internally override this method to write it out so the data is complete even if {@link #close()} is never called.
+   */
+  protected void doFlush() {
+
+  }
+
   /**
    * @param indent the {@link MarshallingConfig#VAR_INDENTATION indentation}.
    * @return the given {@code indent} or a normalized form (e.g. if {@code null} was given).
@@ -140,7 +159,7 @@ public abstract class AbstractStructuredWriter<S extends StructuredNode<S>> exte
     if (this.enumFormat == EnumFormat.ORDINAL) {
       writeValueAsInteger(Integer.valueOf(value.ordinal()));
     } else {
-      writeValueAsString(this.enumFormat.toString(value));
+      writeValueAsString(EnumMappings.get().getMapping(value).toString(value, this.enumFormat));
     }
   }
 
@@ -0,0 +1,63 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.spi;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link OutputStream} that delegates to another {@link OutputStream} that can be {@link #reset(OutputStream)
+ * exchanged}. A pooled writer can keep its buffering stream (e.g. a {@code CodedOutputStream}) on top of this stream
+ * and simply point it to the next target instead of creating a new buffering stream on every reset.
+ *
+ * @since 1.0.0
+ */
+public class ResettableOutputStream extends OutputStream {
+
+  private OutputStream out;
+
+  /**
+   * The constructor.
+   *
+   * @param out the initial {@link OutputStream} to write to.
+   */
+  public ResettableOutputStream(OutputStream out) {
+
+    super();
+    this.out = out;
+  }
+
+  /**
+   * @param newOut the new {@link OutputStream} to write to. Data buffered on top of this stream has to be flushed
+   *        before.
+   */
+  public void reset(OutputStream newOut) {
+
+    this.out = newOut;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+
+    this.out.write(b);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+
+    this.out.write(b, off, len);
+  }
+
+  @Override
+  public void flush() throws IOException {
+
+    this.out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+
+    this.out.close();
+  }
+
+}
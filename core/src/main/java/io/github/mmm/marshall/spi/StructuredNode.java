@@ -1,5 +1,9 @@
 package io.github.mmm.marshall.spi;
 
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.id.StructuredIdMapping;
+import io.github.mmm.marshall.id.StructuredIdMappingObject;
+
 /**
  * Represents the current node of a stack for an {@link AbstractStructuredReader} or {@link AbstractStructuredWriter}.
  *
@@ -11,11 +15,23 @@ public abstract class StructuredNode<SELF extends StructuredNode<SELF>> {
   public final SELF parent;
 
   /** @see #getType() */
-  public final StructuredNodeType type;
+  public StructuredNodeType type;
 
   /** The number of values or properties that have been written in this array or object. */
   public int elementCount;
 
+  /**
+   * The {@link StructuredIdMappingObject} of this object given to
+   * {@link StructuredReader#readStartObject(StructuredIdMappingObject)} or {@code null} if not available.
+   */
+  public StructuredIdMappingObject object;
+
+  /** The {@link StructuredIdMapping} of this object or {@code null} if not available or not yet resolved. */
+  public StructuredIdMapping idMapping;
+
+  /** The last child of this node that is kept as frame for reuse. */
+  SELF child;
+
   /**
    * The constructor.
    *
@@ -23,11 +39,29 @@ public abstract class StructuredNode<SELF extends StructuredNode<SELF>> {
    * @param type the {@link StructuredNodeType}. Should be {@code null} for the {@link #isRoot() root node} or for a
    *        virtual child node marking a single atomic value that was written.
    */
+  @SuppressWarnings("unchecked")
   public StructuredNode(SELF parent, StructuredNodeType type) {
 
     super();
     this.parent = parent;
     this.type = type;
+    if (parent != null) {
+      parent.child = (SELF) this;
+    }
+  }
+
+  /**
+   * Resets this node so it can be reused as new child of its {@link #parent}. Override to reset additional fields.
+   *
+   * @param newType the new {@link StructuredNodeType}.
+   * @see AbstractStructuredProcessor#reuseNode(StructuredNodeType)
+   */
+  protected void reset(StructuredNodeType newType) {
+
+    this.type = newType;
+    this.elementCount = 0;
+    this.object = null;
+    this.idMapping = null;
   }
 
   /**
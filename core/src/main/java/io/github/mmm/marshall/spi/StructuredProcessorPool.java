@@ -0,0 +1,103 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.spi;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.mmm.marshall.MarshallingConfig;
+import io.github.mmm.marshall.StructuredFormat;
+
+/**
+ * Bounded pool of idle {@link AbstractStructuredProcessor}s for reuse. It is lock-free and does not use any
+ * {@link ThreadLocal} so it also works with virtual threads that come and go. A processor is {@link #borrow()
+ * borrowed} from a random slot and automatically {@link #release(AbstractStructuredProcessor) released} when it gets
+ * {@link AbstractStructuredProcessor#close() closed}. If the pool is empty or full, processors are simply created or
+ * dropped.
+ *
+ * @param <P> type of the pooled {@link AbstractStructuredProcessor}.
+ * @since 1.0.0
+ */
+public class StructuredProcessorPool<P extends AbstractStructuredProcessor<?>> {
+
+  private final AtomicReferenceArray<P> processors;
+
+  /**
+   * The constructor.
+   *
+   * @param format the {@link StructuredFormat} to get the {@link MarshallingConfig#VAR_POOL_SIZE pool size} from.
+   */
+  public StructuredProcessorPool(StructuredFormat format) {
+
+    this(format.getConfig().get(MarshallingConfig.VAR_POOL_SIZE).intValue());
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param size the maximum number of idle processors to keep.
+   */
+  public StructuredProcessorPool(int size) {
+
+    super();
+    this.processors = new AtomicReferenceArray<>(Math.max(size, 0));
+  }
+
+  /**
+   * @return an idle processor that has to be reset to its new source or target before use or {@code null} if the pool
+   *         is empty and a new processor has to be {@link #register(AbstractStructuredProcessor) created}.
+   */
+  public P borrow() {
+
+    int size = this.processors.length();
+    if (size == 0) {
+      return null;
+    }
+    int index = ThreadLocalRandom.current().nextInt(size);
+    for (int i = 0; i < size; i++) {
+      P processor = this.processors.get(index);
+      if ((processor != null) && this.processors.compareAndSet(index, processor, null)) {
+        return processor;
+      }
+      index++;
+      if (index == size) {
+        index = 0;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param processor the new processor that shall be released to this pool when
+   *        {@link AbstractStructuredProcessor#close() closed}.
+   * @return the given {@code processor}.
+   */
+  public P register(P processor) {
+
+    processor.pool = this;
+    return processor;
+  }
+
+  /**
+   * @param processor the closed processor to return to this pool.
+   */
+  @SuppressWarnings("unchecked")
+  void release(AbstractStructuredProcessor<?> processor) {
+
+    int size = this.processors.length();
+    if (size == 0) {
+      return;
+    }
+    int index = ThreadLocalRandom.current().nextInt(size);
+    for (int i = 0; i < size; i++) {
+      if (this.processors.compareAndSet(index, null, (P) processor)) {
+        return;
+      }
+      index++;
+      if (index == size) {
+        index = 0;
+      }
+    }
+  }
+
+}
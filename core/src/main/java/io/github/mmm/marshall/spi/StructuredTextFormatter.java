@@ -0,0 +1,607 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.spi;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Formats numbers and {@link java.time} values into a {@code char[]} buffer without creating intermediate
+ * {@link String}s. The output is identical to the according {@code toString()} method (e.g. {@link Long#toString(long)}
+ * or {@link LocalDateTime#toString()}) so text formats can use it as a drop-in replacement. Only {@code double} and
+ * {@code float} values are always written with the shortest decimal as {@link Double#toString(double)} does since
+ * Java 19. All {@code format} methods write to the given {@code buffer} starting at the given {@code offset} and
+ * return the index after the last character written or {@code -1} if the value is not supported (e.g. a year beyond
+ * {@code 9999}) so the caller has to fall back to {@code toString()}. The {@code buffer} needs a capacity of at least
+ * {@link #BUFFER_SIZE}.
+ *
+ * @since 1.0.0
+ */
+public final class StructuredTextFormatter {
+
+  /** The minimum capacity of the buffer. */
+  public static final int BUFFER_SIZE = 128;
+
+  private static final int SECONDS_PER_DAY = 86400;
+
+  private static final int DAYS_0000_TO_1970 = 719468;
+
+  private static final int DOUBLE_Q_MIN = -1074;
+
+  private static final long DOUBLE_C_MIN = 1L << 52;
+
+  private static final long DOUBLE_C_TINY = 3;
+
+  private static final int FLOAT_Q_MIN = -149;
+
+  private static final int FLOAT_C_MIN = 1 << 23;
+
+  private static final int FLOAT_C_TINY = 8;
+
+  private static final long MASK_63 = (1L << 63) - 1;
+
+  private static final long MASK_32 = (1L << 32) - 1;
+
+  private StructuredTextFormatter() {
+
+  }
+
+  /**
+   * @param value the {@code int} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written.
+   * @see Integer#toString(int)
+   */
+  public static int formatInt(int value, char[] buffer, int offset) {
+
+    return formatLong(value, buffer, offset);
+  }
+
+  /**
+   * @param value the {@code long} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written.
+   * @see Long#toString(long)
+   */
+  public static int formatLong(long value, char[] buffer, int offset) {
+
+    if (value == Long.MIN_VALUE) {
+      String min = "-9223372036854775808";
+      min.getChars(0, min.length(), buffer, offset);
+      return offset + min.length();
+    }
+    int pos = offset;
+    long rest = value;
+    if (rest < 0) {
+      buffer[pos++] = '-';
+      rest = -rest;
+    }
+    int end = pos + countDigits(rest);
+    int i = end;
+    do {
+      buffer[--i] = (char) ('0' + (rest % 10));
+      rest = rest / 10;
+    } while (rest > 0);
+    return end;
+  }
+
+  private static int countDigits(long value) {
+
+    int digits = 1;
+    long limit = 10;
+    while ((value >= limit) && (digits < 19)) {
+      digits++;
+      limit = limit * 10;
+    }
+    return digits;
+  }
+
+  /**
+   * Formats the given {@code double} in the layout of {@link Double#toString(double)} with the shortest decimal that
+   * uniquely distinguishes the value from its adjacent {@code double}s (Schubfach algorithm by Raffaello Giulietti as
+   * used by {@link Double#toString(double)} since Java 19). On older Java versions the result may therefore have less
+   * digits than {@link Double#toString(double)} but still parses to the same value.
+   *
+   * @param value the {@code double} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written.
+   * @see Double#toString(double)
+   */
+  public static int formatDouble(double value, char[] buffer, int offset) {
+
+    long bits = Double.doubleToRawLongBits(value);
+    long t = bits & (DOUBLE_C_MIN - 1);
+    int bq = (int) (bits >>> 52) & 0x7FF;
+    if (bq == 0x7FF) {
+      return formatString(Double.toString(value), buffer, offset);
+    }
+    int pos = offset;
+    if (bits < 0) {
+      buffer[pos++] = '-';
+    }
+    if (bq != 0) {
+      int mq = -DOUBLE_Q_MIN + 1 - bq;
+      long c = DOUBLE_C_MIN | t;
+      if ((mq > 0) && (mq < 53)) {
+        // fast path for integral values
+        long f = c >> mq;
+        if ((f << mq) == c) {
+          return formatDecimal(f, 0, buffer, pos);
+        }
+      }
+      return formatDouble(-mq, c, 0, buffer, pos);
+    } else if (t == 0) {
+      return formatDecimal(0, 0, buffer, pos);
+    } else if (t < DOUBLE_C_TINY) {
+      return formatDouble(DOUBLE_Q_MIN, 10 * t, -1, buffer, pos);
+    }
+    return formatDouble(DOUBLE_Q_MIN, t, 0, buffer, pos);
+  }
+
+  private static int formatDouble(int q, long c, int dk, char[] buffer, int offset) {
+
+    int out = (int) c & 1;
+    long cb = c << 2;
+    long cbr = cb + 2;
+    long cbl;
+    int k;
+    if ((c != DOUBLE_C_MIN) || (q == DOUBLE_Q_MIN)) {
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+    int h = q + flog2pow10(-k) + 2;
+    int index = Pow10.index(k);
+    long g1 = Pow10.G[index];
+    long g0 = Pow10.G[index + 1];
+    long vb = rop(g1, g0, cb << h);
+    long vbl = rop(g1, g0, cbl << h);
+    long vbr = rop(g1, g0, cbr << h);
+    long s = vb >> 2;
+    if (s >= 100) {
+      // s / 10 * 10 via multiplication
+      long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+      long tp10 = sp10 + 10;
+      boolean upin = (vbl + out) <= (sp10 << 2);
+      boolean wpin = ((tp10 << 2) + out) <= vbr;
+      if (upin != wpin) {
+        return formatDecimal(upin ? sp10 : tp10, k, buffer, offset);
+      }
+    }
+    long t = s + 1;
+    boolean uin = (vbl + out) <= (s << 2);
+    boolean win = ((t << 2) + out) <= vbr;
+    if (uin != win) {
+      return formatDecimal(uin ? s : t, k + dk, buffer, offset);
+    }
+    long cmp = vb - ((s + t) << 1);
+    return formatDecimal(((cmp < 0) || ((cmp == 0) && ((s & 1) == 0))) ? s : t, k + dk, buffer, offset);
+  }
+
+  private static long rop(long g1, long g0, long cp) {
+
+    long x1 = Math.multiplyHigh(g0, cp);
+    long y0 = g1 * cp;
+    long y1 = Math.multiplyHigh(g1, cp);
+    long z = (y0 >>> 1) + x1;
+    long vbp = y1 + (z >>> 63);
+    return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+  }
+
+  /**
+   * Formats the given {@code float} in the layout of {@link Float#toString(float)} with the shortest decimal that
+   * uniquely distinguishes the value (see {@link #formatDouble(double, char[], int)}).
+   *
+   * @param value the {@code float} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written.
+   * @see Float#toString(float)
+   */
+  public static int formatFloat(float value, char[] buffer, int offset) {
+
+    int bits = Float.floatToRawIntBits(value);
+    int t = bits & (FLOAT_C_MIN - 1);
+    int bq = (bits >>> 23) & 0xFF;
+    if (bq == 0xFF) {
+      return formatString(Float.toString(value), buffer, offset);
+    }
+    int pos = offset;
+    if (bits < 0) {
+      buffer[pos++] = '-';
+    }
+    if (bq != 0) {
+      int mq = -FLOAT_Q_MIN + 1 - bq;
+      int c = FLOAT_C_MIN | t;
+      if ((mq > 0) && (mq < 24)) {
+        // fast path for integral values
+        int f = c >> mq;
+        if ((f << mq) == c) {
+          return formatDecimal(f, 0, buffer, pos);
+        }
+      }
+      return formatFloat(-mq, c, 0, buffer, pos);
+    } else if (t == 0) {
+      return formatDecimal(0, 0, buffer, pos);
+    } else if (t < FLOAT_C_TINY) {
+      return formatFloat(FLOAT_Q_MIN, 10 * t, -1, buffer, pos);
+    }
+    return formatFloat(FLOAT_Q_MIN, t, 0, buffer, pos);
+  }
+
+  private static int formatFloat(int q, int c, int dk, char[] buffer, int offset) {
+
+    int out = c & 1;
+    long cb = c << 2;
+    long cbr = cb + 2;
+    long cbl;
+    int k;
+    if ((c != FLOAT_C_MIN) || (q == FLOAT_Q_MIN)) {
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+    int h = q + flog2pow10(-k) + 33;
+    long g = Pow10.G[Pow10.index(k)] + 1;
+    int vb = rop(g, cb << h);
+    int vbl = rop(g, cbl << h);
+    int vbr = rop(g, cbr << h);
+    int s = vb >> 2;
+    if (s >= 100) {
+      // s / 10 * 10 via multiplication
+      int sp10 = 10 * (int) ((s * 1_717_986_919L) >>> 34);
+      int tp10 = sp10 + 10;
+      boolean upin = (vbl + out) <= (sp10 << 2);
+      boolean wpin = ((tp10 << 2) + out) <= vbr;
+      if (upin != wpin) {
+        return formatDecimal(upin ? sp10 : tp10, k, buffer, offset);
+      }
+    }
+    int t = s + 1;
+    boolean uin = (vbl + out) <= (s << 2);
+    boolean win = ((t << 2) + out) <= vbr;
+    if (uin != win) {
+      return formatDecimal(uin ? s : t, k + dk, buffer, offset);
+    }
+    int cmp = vb - ((s + t) << 1);
+    return formatDecimal(((cmp < 0) || ((cmp == 0) && ((s & 1) == 0))) ? s : t, k + dk, buffer, offset);
+  }
+
+  private static int rop(long g, long cp) {
+
+    long x1 = Math.multiplyHigh(g, cp);
+    int vbp = (int) (x1 >>> 31);
+    return vbp | (int) (((x1 & MASK_32) + MASK_32) >>> 32);
+  }
+
+  private static int flog10pow2(int q) {
+
+    return (int) ((q * 661_971_961_083L) >> 41);
+  }
+
+  private static int flog10threeQuartersPow2(int q) {
+
+    return (int) ((q * 661_971_961_083L - 274_743_187_321L) >> 41);
+  }
+
+  private static int flog2pow10(int e) {
+
+    return (int) ((e * 913_124_641_741L) >> 38);
+  }
+
+  /**
+   * Writes {@code significand * 10^exponent} in the layout of {@link Double#toString(double)}: plain for values from
+   * {@code 10^-3} to less than {@code 10^7} and in computerized scientific notation otherwise.
+   *
+   * @param significand the decimal significand (at most 17 digits).
+   * @param exponent the decimal exponent.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written.
+   */
+  private static int formatDecimal(long significand, int exponent, char[] buffer, int offset) {
+
+    int pos = offset;
+    if (significand == 0) {
+      buffer[pos++] = '0';
+      buffer[pos++] = '.';
+      buffer[pos++] = '0';
+      return pos;
+    }
+    long digits = significand;
+    int e = exponent;
+    while ((digits % 10) == 0) {
+      digits = digits / 10;
+      e++;
+    }
+    int length = countDigits(digits);
+    // value is 0.[digits] * 10^point
+    int point = e + length;
+    if ((point > 0) && (point <= 7)) {
+      pos = formatLong(digits, buffer, pos);
+      if (length <= point) {
+        for (int i = length; i < point; i++) {
+          buffer[pos++] = '0';
+        }
+        buffer[pos++] = '.';
+        buffer[pos++] = '0';
+      } else {
+        int dot = offset + point;
+        System.arraycopy(buffer, dot, buffer, dot + 1, pos - dot);
+        buffer[dot] = '.';
+        pos++;
+      }
+    } else if ((point > -3) && (point <= 0)) {
+      buffer[pos++] = '0';
+      buffer[pos++] = '.';
+      for (int i = point; i < 0; i++) {
+        buffer[pos++] = '0';
+      }
+      pos = formatLong(digits, buffer, pos);
+    } else {
+      pos = formatLong(digits, buffer, pos + 1);
+      buffer[offset] = buffer[offset + 1];
+      buffer[offset + 1] = '.';
+      if (length == 1) {
+        buffer[pos++] = '0';
+      }
+      buffer[pos++] = 'E';
+      pos = formatInt(point - 1, buffer, pos);
+    }
+    return pos;
+  }
+
+  private static int formatString(String value, char[] buffer, int offset) {
+
+    int length = value.length();
+    value.getChars(0, length, buffer, offset);
+    return offset + length;
+  }
+
+  /**
+   * @param value the {@link LocalDate} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written or {@code -1} if the year is not in the range from {@code 0}
+   *         to {@code 9999}.
+   * @see LocalDate#toString()
+   */
+  public static int formatLocalDate(LocalDate value, char[] buffer, int offset) {
+
+    return formatDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), buffer, offset);
+  }
+
+  private static int formatDate(long year, int month, int day, char[] buffer, int offset) {
+
+    if ((year < 0) || (year > 9999)) {
+      return -1;
+    }
+    int pos = format4(buffer, offset, (int) year);
+    buffer[pos++] = '-';
+    pos = format2(buffer, pos, month);
+    buffer[pos++] = '-';
+    return format2(buffer, pos, day);
+  }
+
+  /**
+   * @param value the {@link LocalTime} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written.
+   * @see LocalTime#toString()
+   */
+  public static int formatLocalTime(LocalTime value, char[] buffer, int offset) {
+
+    return formatTime(value.getHour(), value.getMinute(), value.getSecond(), value.getNano(), false, buffer, offset);
+  }
+
+  private static int formatTime(int hour, int minute, int second, int nano, boolean forceSeconds, char[] buffer,
+      int offset) {
+
+    int pos = format2(buffer, offset, hour);
+    buffer[pos++] = ':';
+    pos = format2(buffer, pos, minute);
+    if (forceSeconds || (second > 0) || (nano > 0)) {
+      buffer[pos++] = ':';
+      pos = format2(buffer, pos, second);
+      if (nano > 0) {
+        buffer[pos++] = '.';
+        if ((nano % 1000000) == 0) {
+          pos = formatDigits(buffer, pos, nano / 1000000, 3);
+        } else if ((nano % 1000) == 0) {
+          pos = formatDigits(buffer, pos, nano / 1000, 6);
+        } else {
+          pos = formatDigits(buffer, pos, nano, 9);
+        }
+      }
+    }
+    return pos;
+  }
+
+  /**
+   * @param value the {@link LocalDateTime} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written or {@code -1} if the year is not in the range from {@code 0}
+   *         to {@code 9999}.
+   * @see LocalDateTime#toString()
+   */
+  public static int formatLocalDateTime(LocalDateTime value, char[] buffer, int offset) {
+
+    int pos = formatDate(value.getYear(), value.getMonthValue(), value.getDayOfMonth(), buffer, offset);
+    if (pos < 0) {
+      return pos;
+    }
+    buffer[pos++] = 'T';
+    return formatTime(value.getHour(), value.getMinute(), value.getSecond(), value.getNano(), false, buffer, pos);
+  }
+
+  /**
+   * @param value the {@link OffsetDateTime} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written or {@code -1} if the year is not in the range from {@code 0}
+   *         to {@code 9999}.
+   * @see OffsetDateTime#toString()
+   */
+  public static int formatOffsetDateTime(OffsetDateTime value, char[] buffer, int offset) {
+
+    int pos = formatLocalDateTime(value.toLocalDateTime(), buffer, offset);
+    if (pos < 0) {
+      return pos;
+    }
+    return formatString(value.getOffset().getId(), buffer, pos);
+  }
+
+  /**
+   * @param value the {@link OffsetTime} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written.
+   * @see OffsetTime#toString()
+   */
+  public static int formatOffsetTime(OffsetTime value, char[] buffer, int offset) {
+
+    int pos = formatTime(value.getHour(), value.getMinute(), value.getSecond(), value.getNano(), false, buffer,
+        offset);
+    return formatString(value.getOffset().getId(), buffer, pos);
+  }
+
+  /**
+   * @param value the {@link ZonedDateTime} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written or {@code -1} if the year is not in the range from {@code 0}
+   *         to {@code 9999} or the zone ID is too long.
+   * @see ZonedDateTime#toString()
+   */
+  public static int formatZonedDateTime(ZonedDateTime value, char[] buffer, int offset) {
+
+    int pos = formatOffsetDateTime(value.toOffsetDateTime(), buffer, offset);
+    if (pos < 0) {
+      return pos;
+    }
+    ZoneId zone = value.getZone();
+    if (zone != value.getOffset()) {
+      String zoneId = zone.getId();
+      if (pos + zoneId.length() + 2 > buffer.length) {
+        return -1;
+      }
+      buffer[pos++] = '[';
+      pos = formatString(zoneId, buffer, pos);
+      buffer[pos++] = ']';
+    }
+    return pos;
+  }
+
+  /**
+   * @param value the {@link Instant} to format.
+   * @param buffer the {@code char[]} to write to.
+   * @param offset the index where to start writing.
+   * @return the index after the last character written or {@code -1} if the year is not in the range from {@code 0}
+   *         to {@code 9999}.
+   * @see Instant#toString()
+   */
+  public static int formatInstant(Instant value, char[] buffer, int offset) {
+
+    long epochSecond = value.getEpochSecond();
+    long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    int secondOfDay = Math.floorMod(epochSecond, SECONDS_PER_DAY);
+    // civil date from days since epoch (see http://howardhinnant.github.io/date_algorithms.html)
+    long days = epochDay + DAYS_0000_TO_1970;
+    long era = Math.floorDiv(days, 146097);
+    long dayOfEra = days - (era * 146097);
+    long yearOfEra = (dayOfEra - (dayOfEra / 1460) + (dayOfEra / 36524) - (dayOfEra / 146096)) / 365;
+    long year = yearOfEra + (era * 400);
+    long dayOfYear = dayOfEra - ((365 * yearOfEra) + (yearOfEra / 4) - (yearOfEra / 100));
+    long monthIndex = ((5 * dayOfYear) + 2) / 153;
+    int day = (int) (dayOfYear - (((153 * monthIndex) + 2) / 5) + 1);
+    int month = (int) ((monthIndex < 10) ? (monthIndex + 3) : (monthIndex - 9));
+    if (month <= 2) {
+      year++;
+    }
+    int pos = formatDate(year, month, day, buffer, offset);
+    if (pos < 0) {
+      return pos;
+    }
+    buffer[pos++] = 'T';
+    pos = formatTime(secondOfDay / 3600, (secondOfDay / 60) % 60, secondOfDay % 60, value.getNano(), true, buffer,
+        pos);
+    buffer[pos++] = 'Z';
+    return pos;
+  }
+
+  private static int format2(char[] buffer, int offset, int value) {
+
+    buffer[offset] = (char) ('0' + (value / 10));
+    buffer[offset + 1] = (char) ('0' + (value % 10));
+    return offset + 2;
+  }
+
+  private static int format4(char[] buffer, int offset, int value) {
+
+    format2(buffer, offset, value / 100);
+    return format2(buffer, offset + 2, value % 100);
+  }
+
+  private static int formatDigits(char[] buffer, int offset, int value, int digits) {
+
+    int rest = value;
+    int end = offset + digits;
+    for (int i = end - 1; i >= offset; i--) {
+      buffer[i] = (char) ('0' + (rest % 10));
+      rest = rest / 10;
+    }
+    return end;
+  }
+
+  /**
+   * Lazily computed table of {@code 10^-k} for {@code k} from {@link #K_MIN} to {@link #K_MAX} as 126 bit values
+   * {@code g = floor(10^-k * 2^-r) + 1} with {@code 2^125 <= g < 2^126} split into the upper and lower 63 bits.
+   */
+  private static final class Pow10 {
+
+    private static final int K_MIN = -324;
+
+    private static final int K_MAX = 292;
+
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+    static {
+      BigInteger mask63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+      for (int k = K_MIN; k <= K_MAX; k++) {
+        int r = flog2pow10(-k) - 125;
+        BigInteger g;
+        if (k <= 0) {
+          g = BigInteger.TEN.pow(-k).shiftLeft(-r);
+        } else {
+          g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+        }
+        g = g.add(BigInteger.ONE);
+        int i = index(k);
+        G[i] = g.shiftRight(63).longValueExact();
+        G[i + 1] = g.and(mask63).longValue();
+      }
+    }
+
+    private static int index(int k) {
+
+      return 2 * (K_MAX - k);
+    }
+  }
+
+}
@@ -0,0 +1,328 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.spi;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Parses {@link java.time} values from ISO-8601 text as produced by {@link StructuredTextFormatter} and the
+ * according {@code toString()} methods. The common fixed layouts (e.g. {@code 2024-02-29T23:59:59.123Z}) are parsed by
+ * hand while any other input falls back to the {@code parse} method of the according type (e.g.
+ * {@link Instant#parse(CharSequence)}) so the accepted syntax and error handling stay the same. This also applies to
+ * input with the fixed layout but invalid values (e.g. {@code 2024-02-30}) so errors are always reported as
+ * {@link java.time.format.DateTimeParseException} with the input text and error index.
+ *
+ * @since 1.0.0
+ */
+public final class StructuredTextParser {
+
+  private StructuredTextParser() {
+
+  }
+
+  /**
+   * @param text the {@link CharSequence} to parse.
+   * @return the parsed {@link LocalDate}.
+   * @see LocalDate#parse(CharSequence)
+   */
+  public static LocalDate parseLocalDate(CharSequence text) {
+
+    if ((text.length() == 10) && isDate(text, 0)) {
+      try {
+        return parseDate(text, 0);
+      } catch (DateTimeException e) {
+        // invalid value (e.g. February 30th) so let the JDK parser throw DateTimeParseException
+      }
+    }
+    return LocalDate.parse(text);
+  }
+
+  /**
+   * @param text the {@link CharSequence} to parse.
+   * @return the parsed {@link LocalTime}.
+   * @see LocalTime#parse(CharSequence)
+   */
+  public static LocalTime parseLocalTime(CharSequence text) {
+
+    int length = text.length();
+    if (timeEnd(text, 0, false) == length) {
+      return parseTime(text, 0, length);
+    }
+    return LocalTime.parse(text);
+  }
+
+  /**
+   * @param text the {@link CharSequence} to parse.
+   * @return the parsed {@link LocalDateTime}.
+   * @see LocalDateTime#parse(CharSequence)
+   */
+  public static LocalDateTime parseLocalDateTime(CharSequence text) {
+
+    int length = text.length();
+    if (isDateTime(text) && (timeEnd(text, 11, false) == length)) {
+      try {
+        return LocalDateTime.of(parseDate(text, 0), parseTime(text, 11, length));
+      } catch (DateTimeException e) {
+        // invalid value so let the JDK parser report the error
+      }
+    }
+    return LocalDateTime.parse(text);
+  }
+
+  /**
+   * @param text the {@link CharSequence} to parse.
+   * @return the parsed {@link OffsetDateTime}.
+   * @see OffsetDateTime#parse(CharSequence)
+   */
+  public static OffsetDateTime parseOffsetDateTime(CharSequence text) {
+
+    int length = text.length();
+    if (isDateTime(text)) {
+      int timeEnd = timeEnd(text, 11, false);
+      if ((timeEnd > 0) && (offsetEnd(text, timeEnd) == length)) {
+        try {
+          return OffsetDateTime.of(parseDate(text, 0), parseTime(text, 11, timeEnd), parseOffset(text, timeEnd));
+        } catch (DateTimeException e) {
+          // invalid value so let the JDK parser report the error
+        }
+      }
+    }
+    return OffsetDateTime.parse(text);
+  }
+
+  /**
+   * @param text the {@link CharSequence} to parse.
+   * @return the parsed {@link OffsetTime}.
+   * @see OffsetTime#parse(CharSequence)
+   */
+  public static OffsetTime parseOffsetTime(CharSequence text) {
+
+    int length = text.length();
+    int timeEnd = timeEnd(text, 0, false);
+    if ((timeEnd > 0) && (offsetEnd(text, timeEnd) == length)) {
+      try {
+        return OffsetTime.of(parseTime(text, 0, timeEnd), parseOffset(text, timeEnd));
+      } catch (DateTimeException e) {
+        // offset beyond +/-18:00 so let the JDK parser report the error
+      }
+    }
+    return OffsetTime.parse(text);
+  }
+
+  /**
+   * @param text the {@link CharSequence} to parse.
+   * @return the parsed {@link ZonedDateTime}.
+   * @see ZonedDateTime#parse(CharSequence)
+   */
+  public static ZonedDateTime parseZonedDateTime(CharSequence text) {
+
+    int length = text.length();
+    if (isDateTime(text)) {
+      int timeEnd = timeEnd(text, 11, false);
+      int offsetEnd = offsetEnd(text, timeEnd);
+      if (offsetEnd > 0) {
+        try {
+          LocalDateTime dateTime = LocalDateTime.of(parseDate(text, 0), parseTime(text, 11, timeEnd));
+          ZoneOffset offset = parseOffset(text, timeEnd);
+          if (offsetEnd == length) {
+            return ZonedDateTime.of(dateTime, offset);
+          } else if ((text.charAt(offsetEnd) == '[') && (text.charAt(length - 1) == ']')
+              && (length - offsetEnd > 2)) {
+            ZoneId zone = ZoneId.of(text.subSequence(offsetEnd + 1, length - 1).toString());
+            return ZonedDateTime.ofInstant(dateTime, offset, zone);
+          }
+        } catch (DateTimeException e) {
+          // invalid value so let the JDK parser report the error
+        }
+      }
+    }
+    return ZonedDateTime.parse(text);
+  }
+
+  /**
+   * @param text the {@link CharSequence} to parse.
+   * @return the parsed {@link Instant}.
+   * @see Instant#parse(CharSequence)
+   */
+  public static Instant parseInstant(CharSequence text) {
+
+    int length = text.length();
+    if (isDateTime(text)) {
+      int timeEnd = timeEnd(text, 11, true);
+      if ((timeEnd > 0) && (offsetEnd(text, timeEnd) == length)) {
+        try {
+          LocalDate date = parseDate(text, 0);
+          int hour = parse2(text, 11);
+          int minute = parse2(text, 14);
+          int second = parse2(text, 17);
+          int secondOfDay = (hour * 3600) + (minute * 60) + second;
+          long epochSecond = (date.toEpochDay() * 86400) + secondOfDay - parseOffset(text, timeEnd).getTotalSeconds();
+          return Instant.ofEpochSecond(epochSecond, parseNano(text, 19, timeEnd));
+        } catch (DateTimeException e) {
+          // invalid value so let the JDK parser report the error
+        }
+      }
+    }
+    return Instant.parse(text);
+  }
+
+  private static boolean isDateTime(CharSequence text) {
+
+    return (text.length() >= 16) && isDate(text, 0) && (text.charAt(10) == 'T');
+  }
+
+  /**
+   * @param text the {@link CharSequence} to check.
+   * @param start the index where the date is expected.
+   * @return {@code true} if the {@code text} has a date in the form {@code yyyy-MM-dd} with plausible values at the
+   *         given position.
+   */
+  private static boolean isDate(CharSequence text, int start) {
+
+    if (!isDigits(text, start, 4) || (text.charAt(start + 4) != '-') || !isDigits(text, start + 5, 2)
+        || (text.charAt(start + 7) != '-') || !isDigits(text, start + 8, 2)) {
+      return false;
+    }
+    int month = parse2(text, start + 5);
+    int day = parse2(text, start + 8);
+    return (month >= 1) && (month <= 12) && (day >= 1) && (day <= 31);
+  }
+
+  /**
+   * @param text the {@link CharSequence} to check.
+   * @param start the index where the time is expected.
+   * @param requireSeconds {@code true} if seconds are mandatory, {@code false} otherwise.
+   * @return the index after the time in the form {@code HH:mm[:ss[.SSSSSSSSS]]} or {@code -1} if no such time with
+   *         plausible values was found at the given position.
+   */
+  private static int timeEnd(CharSequence text, int start, boolean requireSeconds) {
+
+    int length = text.length();
+    if ((start + 5 > length) || !isDigits(text, start, 2) || (text.charAt(start + 2) != ':')
+        || !isDigits(text, start + 3, 2) || (parse2(text, start) > 23) || (parse2(text, start + 3) > 59)) {
+      return -1;
+    }
+    int i = start + 5;
+    if ((i < length) && (text.charAt(i) == ':')) {
+      if ((i + 3 > length) || !isDigits(text, i + 1, 2) || (parse2(text, i + 1) > 59)) {
+        return -1;
+      }
+      i = i + 3;
+      if ((i < length) && (text.charAt(i) == '.')) {
+        i++;
+        int fractionStart = i;
+        while ((i < length) && isDigit(text.charAt(i))) {
+          i++;
+        }
+        int digits = i - fractionStart;
+        if ((digits == 0) || (digits > 9)) {
+          return -1;
+        }
+      }
+    } else if (requireSeconds) {
+      return -1;
+    }
+    return i;
+  }
+
+  /**
+   * @param text the {@link CharSequence} to check.
+   * @param start the index where the offset is expected.
+   * @return the index after the offset in the form {@code Z} or {@code +HH:mm} or {@code -1} if no such offset was
+   *         found at the given position.
+   */
+  private static int offsetEnd(CharSequence text, int start) {
+
+    int length = text.length();
+    if ((start < 0) || (start >= length)) {
+      return -1;
+    }
+    char c = text.charAt(start);
+    if (c == 'Z') {
+      return start + 1;
+    } else if ((c == '+') || (c == '-')) {
+      if ((start + 6 <= length) && isDigits(text, start + 1, 2) && (text.charAt(start + 3) == ':')
+          && isDigits(text, start + 4, 2) && (parse2(text, start + 1) <= 18) && (parse2(text, start + 4) <= 59)) {
+        return start + 6;
+      }
+    }
+    return -1;
+  }
+
+  private static LocalDate parseDate(CharSequence text, int start) {
+
+    int year = (parse2(text, start) * 100) + parse2(text, start + 2);
+    return LocalDate.of(year, parse2(text, start + 5), parse2(text, start + 8));
+  }
+
+  private static LocalTime parseTime(CharSequence text, int start, int end) {
+
+    int hour = parse2(text, start);
+    int minute = parse2(text, start + 3);
+    if (end == start + 5) {
+      return LocalTime.of(hour, minute);
+    }
+    return LocalTime.of(hour, minute, parse2(text, start + 6), parseNano(text, start + 8, end));
+  }
+
+  private static int parseNano(CharSequence text, int start, int end) {
+
+    if (start >= end) {
+      return 0;
+    }
+    // text.charAt(start) is the decimal point
+    int nano = 0;
+    int i = start + 1;
+    for (int digits = 0; digits < 9; digits++) {
+      nano = nano * 10;
+      if (i < end) {
+        nano = nano + (text.charAt(i++) - '0');
+      }
+    }
+    return nano;
+  }
+
+  private static ZoneOffset parseOffset(CharSequence text, int start) {
+
+    char c = text.charAt(start);
+    if (c == 'Z') {
+      return ZoneOffset.UTC;
+    }
+    int hours = parse2(text, start + 1);
+    int minutes = parse2(text, start + 4);
+    if (c == '-') {
+      return ZoneOffset.ofHoursMinutes(-hours, -minutes);
+    }
+    return ZoneOffset.ofHoursMinutes(hours, minutes);
+  }
+
+  private static int parse2(CharSequence text, int start) {
+
+    return ((text.charAt(start) - '0') * 10) + (text.charAt(start + 1) - '0');
+  }
+
+  private static boolean isDigits(CharSequence text, int start, int count) {
+
+    for (int i = start; i < start + count; i++) {
+      if (!isDigit(text.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+
+    return (c >= '0') && (c <= '9');
+  }
+
+}
@@ -2,13 +2,11 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.standard;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import io.github.mmm.marshall.Marshalling;
 import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.impl.MashallingDatatypes;
+import io.github.mmm.marshall.impl.ValueHandler;
 
 /**
  * Implementation of {@link Marshalling} for simple standard datatypes as specified by {@link io.github.mmm.marshall}.
@@ -20,10 +18,22 @@ import io.github.mmm.marshall.impl.MashallingDatatypes;
  */
 public class DatatypeMarshalling<T> implements Marshalling<T> {
 
-  private static final Map<Class<?>, DatatypeMarshalling<?>> MARSHALLING_MAP = new HashMap<>();
+  private static final ClassValue<DatatypeMarshalling<?>> MARSHALLINGS = new ClassValue<>() {
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Override
+    protected DatatypeMarshalling<?> computeValue(Class<?> type) {
+
+      if (!MashallingDatatypes.isSupported(type)) {
+        return null;
+      }
+      return new DatatypeMarshalling(type);
+    }
+  };
 
   private final Class<T> type;
 
+  private final ValueHandler handler;
+
   /**
    * The constructor.
    *
@@ -33,6 +43,7 @@ public class DatatypeMarshalling<T> implements Marshalling<T> {
 
     super();
     this.type = type;
+    this.handler = ValueHandler.ofType(type);
   }
 
   @Override
@@ -44,7 +55,10 @@ public class DatatypeMarshalling<T> implements Marshalling<T> {
   @Override
   public T readObject(StructuredReader reader) {
 
-    return reader.readValue(this.type);
+    if (this.handler == null) {
+      return reader.readValue(this.type);
+    }
+    return this.type.cast(this.handler.read(reader, this.type));
   }
 
   /**
@@ -55,13 +69,12 @@ public class DatatypeMarshalling<T> implements Marshalling<T> {
   @SuppressWarnings("unchecked")
   public static <T> DatatypeMarshalling<T> of(Class<T> type) {
 
-    DatatypeMarshalling<T> marshalling = (DatatypeMarshalling<T>) MARSHALLING_MAP.get(type);
+    DatatypeMarshalling<T> marshalling = null;
+    if (type != null) {
+      marshalling = (DatatypeMarshalling<T>) MARSHALLINGS.get(type);
+    }
     if (marshalling == null) {
-      if (!MashallingDatatypes.isSupported(type)) {
-        throw new IllegalArgumentException("" + type);
-      }
-      marshalling = new DatatypeMarshalling<>(type);
-      MARSHALLING_MAP.put(type, marshalling);
+      throw new IllegalArgumentException("" + type);
     }
     return marshalling;
   }
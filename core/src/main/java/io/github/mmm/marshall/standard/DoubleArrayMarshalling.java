@@ -0,0 +1,48 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.standard;
+
+import io.github.mmm.marshall.Marshalling;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
+
+/**
+ * Implementation of {@link Marshalling} for {@code double[]} without boxing the items.
+ *
+ * @since 1.0.0
+ * @see StructuredReader#readDoubleArray()
+ * @see StructuredWriter#writeArray(double[])
+ */
+public class DoubleArrayMarshalling implements Marshalling<double[]> {
+
+  private static final DoubleArrayMarshalling INSTANCE = new DoubleArrayMarshalling();
+
+  /**
+   * The constructor.
+   */
+  protected DoubleArrayMarshalling() {
+
+    super();
+  }
+
+  @Override
+  public void writeObject(StructuredWriter writer, double[] array) {
+
+    writer.writeArray(array);
+  }
+
+  @Override
+  public double[] readObject(StructuredReader reader) {
+
+    return reader.readDoubleArray();
+  }
+
+  /**
+   * @return the singleton instance of {@link DoubleArrayMarshalling}.
+   */
+  public static DoubleArrayMarshalling get() {
+
+    return INSTANCE;
+  }
+
+}
@@ -0,0 +1,48 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.standard;
+
+import io.github.mmm.marshall.Marshalling;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
+
+/**
+ * Implementation of {@link Marshalling} for {@code int[]} without boxing the items.
+ *
+ * @since 1.0.0
+ * @see StructuredReader#readIntArray()
+ * @see StructuredWriter#writeArray(int[])
+ */
+public class IntArrayMarshalling implements Marshalling<int[]> {
+
+  private static final IntArrayMarshalling INSTANCE = new IntArrayMarshalling();
+
+  /**
+   * The constructor.
+   */
+  protected IntArrayMarshalling() {
+
+    super();
+  }
+
+  @Override
+  public void writeObject(StructuredWriter writer, int[] array) {
+
+    writer.writeArray(array);
+  }
+
+  @Override
+  public int[] readObject(StructuredReader reader) {
+
+    return reader.readIntArray();
+  }
+
+  /**
+   * @return the singleton instance of {@link IntArrayMarshalling}.
+   */
+  public static IntArrayMarshalling get() {
+
+    return INSTANCE;
+  }
+
+}
@@ -68,4 +68,15 @@ public class ListMarshalling<T> implements Marshalling<Collection<T>> {
     return list;
   }
 
+  /**
+   * @param <T> type of the items.
+   * @param itemType the {@link Class} reflecting the items that have to be a standard datatype as specified by
+   *        {@link io.github.mmm.marshall}.
+   * @return the {@link ListMarshalling} using the {@link DatatypeMarshalling} for the given {@code itemType}.
+   */
+  public static <T> ListMarshalling<T> of(Class<T> itemType) {
+
+    return new ListMarshalling<>(DatatypeMarshalling.of(itemType));
+  }
+
 }
@@ -0,0 +1,48 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.standard;
+
+import io.github.mmm.marshall.Marshalling;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
+
+/**
+ * Implementation of {@link Marshalling} for {@code long[]} without boxing the items.
+ *
+ * @since 1.0.0
+ * @see StructuredReader#readLongArray()
+ * @see StructuredWriter#writeArray(long[])
+ */
+public class LongArrayMarshalling implements Marshalling<long[]> {
+
+  private static final LongArrayMarshalling INSTANCE = new LongArrayMarshalling();
+
+  /**
+   * The constructor.
+   */
+  protected LongArrayMarshalling() {
+
+    super();
+  }
+
+  @Override
+  public void writeObject(StructuredWriter writer, long[] array) {
+
+    writer.writeArray(array);
+  }
+
+  @Override
+  public long[] readObject(StructuredReader reader) {
+
+    return reader.readLongArray();
+  }
+
+  /**
+   * @return the singleton instance of {@link LongArrayMarshalling}.
+   */
+  public static LongArrayMarshalling get() {
+
+    return INSTANCE;
+  }
+
+}
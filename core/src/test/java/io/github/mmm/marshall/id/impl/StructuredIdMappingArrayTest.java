@@ -0,0 +1,80 @@
+package io.github.mmm.marshall.id.impl;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.base.exception.DuplicateObjectException;
+import io.github.mmm.marshall.StructuredProcessor;
+import io.github.mmm.marshall.id.StructuredIdMapping;
+
+/**
+ * Test of {@link StructuredIdMappingArray}.
+ */
+class StructuredIdMappingArrayTest extends Assertions {
+
+  /** Test of {@link StructuredIdMappingArray#of(String...)} (create mapping and read it). */
+  @Test
+  void testMapping() {
+
+    String[] names = new String[200];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = "name" + (i + 1);
+    }
+    StructuredIdMapping mapping = StructuredIdMappingArray.of(names);
+    assertThat(mapping).isInstanceOf(StructuredIdMappingArray.class);
+    for (int id = 1; id <= names.length; id++) {
+      String name = "name" + id;
+      assertThat(mapping.name(id)).isEqualTo(name);
+      assertThat(mapping.id(name)).isEqualTo(id);
+      assertThat(mapping.id(("x" + name).toCharArray(), 1, name.length())).isEqualTo(id);
+    }
+    assertThat(mapping.name(0)).isNull();
+    assertThat(mapping.name(names.length + 1)).isNull();
+    assertThat(mapping.id("undefined")).isZero();
+    assertThat(mapping.id(null)).isZero();
+    assertThat(mapping.id(StructuredProcessor.TYPE)).isEqualTo(StructuredIdMapping.TYPE);
+    assertThat(mapping.name(StructuredIdMapping.TYPE)).isEqualTo(StructuredProcessor.TYPE);
+    assertThat(mapping.id("undefined".toCharArray(), 0, 9)).isZero();
+    assertThat(mapping.id(StructuredProcessor.TYPE.toCharArray(), 0, StructuredProcessor.TYPE.length()))
+        .isEqualTo(StructuredIdMapping.TYPE);
+  }
+
+  /** Test of {@link StructuredIdMappingArray#of(String...)} with names having the same {@link String#hashCode()}. */
+  @Test
+  void testMappingFallback() {
+
+    // "Aa" and "BB" have the same hash code so no perfect hash exists
+    StructuredIdMapping mapping = StructuredIdMappingArray.of("Aa", "BB");
+    assertThat(mapping).isInstanceOf(StructuredIdMappingDefault.class);
+    assertThat(mapping.id("Aa")).isEqualTo(1);
+    assertThat(mapping.id("BB")).isEqualTo(2);
+    assertThat(mapping.id("BB".toCharArray(), 0, 2)).isEqualTo(2);
+    assertThat(mapping.id("CC".toCharArray(), 0, 2)).isZero();
+  }
+
+  /** Test of {@link StructuredIdMappingArray#of(String...)} with duplicate names. */
+  @Test
+  void testDuplicate() {
+
+    assertThatThrownBy(() -> StructuredIdMappingArray.of("foo", "bar", "foo"))
+        .isInstanceOf(DuplicateObjectException.class);
+  }
+
+  /** Test of {@link StructuredIdMappingDefault} delegating to {@link StructuredIdMappingArray} until modified. */
+  @Test
+  void testFrozenDefault() {
+
+    StructuredIdMappingDefault mapping = new StructuredIdMappingDefault(4);
+    mapping.put("foo");
+    mapping.put("bar");
+    assertThat(mapping.id("bar")).isEqualTo(2);
+    mapping.put("some");
+    assertThat(mapping.id("some")).isEqualTo(3);
+    assertThat(mapping.name(3)).isEqualTo("some");
+    mapping.put(10, "sparse");
+    assertThat(mapping.id("sparse")).isEqualTo(10);
+    assertThat(mapping.name(10)).isEqualTo("sparse");
+    assertThat(mapping.id("foo")).isEqualTo(1);
+  }
+
+}
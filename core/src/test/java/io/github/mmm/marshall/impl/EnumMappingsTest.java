@@ -39,9 +39,13 @@ class EnumMappingsTest extends Assertions {
         } else {
           String string = format.toString(value);
           assertThat(mapping.fromString(string)).isSameAs(value);
+          assertThat(mapping.fromString(new StringBuilder(string))).isSameAs(value);
         }
+        assertThat(mapping.toString(value, format)).isEqualTo(format.toString(value));
       }
     }
+    assertThat(mapping.fromOrdinal(EnumFormat.values().length)).isNull();
+    assertThat(mappings.getMapping(EnumFormat.NAME)).isSameAs(mapping);
   }
 
 }
@@ -0,0 +1,55 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.marshall.EnumFormat;
+
+/**
+ * Test of {@link ValueHandler}.
+ */
+class ValueHandlerTest extends Assertions {
+
+  /** Test of {@link ValueHandler#ofValue(Object)}. */
+  @Test
+  void testOfValue() {
+
+    assertThat(ValueHandler.ofValue("text")).isSameAs(ValueHandler.STRING);
+    assertThat(ValueHandler.ofValue(Boolean.TRUE)).isSameAs(ValueHandler.BOOLEAN);
+    assertThat(ValueHandler.ofValue(Integer.valueOf(42))).isSameAs(ValueHandler.INTEGER);
+    assertThat(ValueHandler.ofValue(Long.valueOf(42))).isSameAs(ValueHandler.LONG);
+    assertThat(ValueHandler.ofValue(BigDecimal.ONE)).isSameAs(ValueHandler.BIG_DECIMAL);
+    assertThat(ValueHandler.ofValue(BigInteger.ONE)).isSameAs(ValueHandler.BIG_INTEGER);
+    assertThat(ValueHandler.ofValue(new AtomicLong())).isSameAs(ValueHandler.NUMBER);
+    assertThat(ValueHandler.ofValue(EnumFormat.NAME)).isSameAs(ValueHandler.ENUM);
+    assertThat(ValueHandler.ofValue(Instant.EPOCH)).isSameAs(ValueHandler.INSTANT);
+    assertThat(ValueHandler.ofValue(LocalDate.EPOCH)).isSameAs(ValueHandler.LOCAL_DATE);
+    assertThat(ValueHandler.ofValue(OffsetTime.MIN)).isSameAs(ValueHandler.OFFSET_TIME);
+    assertThat(ValueHandler.ofValue(new StringBuilder())).isSameAs(ValueHandler.OBJECT);
+    assertThat(ValueHandler.ofValue(Integer.valueOf(42)).isNumber()).isTrue();
+    assertThat(ValueHandler.ofValue("text").isNumber()).isFalse();
+  }
+
+  /** Test of {@link ValueHandler#ofType(Class)}. */
+  @Test
+  void testOfType() {
+
+    assertThat(ValueHandler.ofType(String.class)).isSameAs(ValueHandler.STRING);
+    assertThat(ValueHandler.ofType(Short.class)).isSameAs(ValueHandler.SHORT);
+    assertThat(ValueHandler.ofType(EnumFormat.class)).isSameAs(ValueHandler.ENUM);
+    assertThat(ValueHandler.ofType(Object.class)).isSameAs(ValueHandler.OBJECT);
+    assertThat(ValueHandler.ofType(Number.class)).isNull();
+    assertThat(ValueHandler.ofType(Enum.class)).isNull();
+    assertThat(ValueHandler.ofType(AtomicLong.class)).isNull();
+  }
+
+}
@@ -0,0 +1,83 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.spi;
+
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link StructuredTextFormatter}.
+ */
+class StructuredTextFormatterTest extends Assertions {
+
+  /** Test of {@link StructuredTextFormatter#formatDouble(double, char[], int)}. */
+  @Test
+  void testFormatDouble() {
+
+    assertThat(formatDouble(0.0)).isEqualTo("0.0");
+    assertThat(formatDouble(-0.0)).isEqualTo("-0.0");
+    assertThat(formatDouble(42.0)).isEqualTo("42.0");
+    assertThat(formatDouble(-1.5)).isEqualTo("-1.5");
+    assertThat(formatDouble(123.456)).isEqualTo("123.456");
+    assertThat(formatDouble(0.001)).isEqualTo("0.001");
+    assertThat(formatDouble(1.0E-4)).isEqualTo("1.0E-4");
+    assertThat(formatDouble(9999999.0)).isEqualTo("9999999.0");
+    assertThat(formatDouble(1.0E7)).isEqualTo("1.0E7");
+    assertThat(formatDouble(1.23456789E7)).isEqualTo("1.23456789E7");
+    assertThat(formatDouble(Double.MAX_VALUE)).isEqualTo("1.7976931348623157E308");
+    assertThat(formatDouble(Double.MIN_VALUE)).isEqualTo("4.9E-324");
+    assertThat(formatDouble(Double.NaN)).isEqualTo("NaN");
+    assertThat(formatDouble(Double.NEGATIVE_INFINITY)).isEqualTo("-Infinity");
+    // shortest decimal where Double.toString of Java 17 and older has more digits
+    assertThat(formatDouble(1.0E23)).isEqualTo("1.0E23");
+    assertThat(formatDouble(2.82879384806159E17)).isEqualTo("2.82879384806159E17");
+    Random random = new Random(4711);
+    for (int i = 0; i < 100000; i++) {
+      double value = Double.longBitsToDouble(random.nextLong());
+      if (!Double.isNaN(value)) {
+        String string = formatDouble(value);
+        assertThat(Double.parseDouble(string)).as(string).isEqualTo(value);
+        assertThat(string.length()).as(string).isLessThanOrEqualTo(Double.toString(value).length());
+      }
+    }
+  }
+
+  /** Test of {@link StructuredTextFormatter#formatFloat(float, char[], int)}. */
+  @Test
+  void testFormatFloat() {
+
+    assertThat(formatFloat(0.1F)).isEqualTo("0.1");
+    assertThat(formatFloat(-0.0F)).isEqualTo("-0.0");
+    assertThat(formatFloat(1.0E10F)).isEqualTo("1.0E10");
+    assertThat(formatFloat(Float.MAX_VALUE)).isEqualTo("3.4028235E38");
+    assertThat(formatFloat(Float.MIN_VALUE)).isEqualTo("1.4E-45");
+    // shortest decimal where Float.toString of Java 17 and older has more digits
+    assertThat(formatFloat(6.8951533E8F)).isEqualTo("6.895153E8");
+    Random random = new Random(4711);
+    for (int i = 0; i < 100000; i++) {
+      float value = Float.intBitsToFloat(random.nextInt());
+      if (!Float.isNaN(value)) {
+        String string = formatFloat(value);
+        assertThat(Float.parseFloat(string)).as(string).isEqualTo(value);
+        assertThat(string.length()).as(string).isLessThanOrEqualTo(Float.toString(value).length());
+      }
+    }
+  }
+
+  private static String formatDouble(double value) {
+
+    char[] buffer = new char[StructuredTextFormatter.BUFFER_SIZE];
+    int end = StructuredTextFormatter.formatDouble(value, buffer, 2);
+    return new String(buffer, 2, end - 2);
+  }
+
+  private static String formatFloat(float value) {
+
+    char[] buffer = new char[StructuredTextFormatter.BUFFER_SIZE];
+    int end = StructuredTextFormatter.formatFloat(value, buffer, 2);
+    return new String(buffer, 2, end - 2);
+  }
+
+}
@@ -0,0 +1,55 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.spi;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link StructuredTextParser}.
+ */
+class StructuredTextParserTest extends Assertions {
+
+  /** Test of parsing valid ISO-8601 values via the fast path. */
+  @Test
+  void testParse() {
+
+    assertThat(StructuredTextParser.parseLocalDate("2024-02-29")).isEqualTo(LocalDate.parse("2024-02-29"));
+    assertThat(StructuredTextParser.parseLocalDateTime("2024-02-29T23:59:59.123"))
+        .isEqualTo(LocalDateTime.parse("2024-02-29T23:59:59.123"));
+    assertThat(StructuredTextParser.parseInstant("1969-12-31T23:59:59.000001Z"))
+        .isEqualTo(Instant.parse("1969-12-31T23:59:59.000001Z"));
+    assertThat(StructuredTextParser.parseOffsetDateTime("2024-02-29T23:00-03:30"))
+        .isEqualTo(OffsetDateTime.parse("2024-02-29T23:00-03:30"));
+    assertThat(StructuredTextParser.parseOffsetTime("12:30:15+02:00")).isEqualTo(OffsetTime.parse("12:30:15+02:00"));
+    assertThat(StructuredTextParser.parseZonedDateTime("2024-02-29T23:00+01:00[Europe/Berlin]"))
+        .isEqualTo(ZonedDateTime.parse("2024-02-29T23:00+01:00[Europe/Berlin]"));
+  }
+
+  /** Test that invalid values in the fixed layout fail with {@link DateTimeParseException} like the JDK. */
+  @Test
+  void testParseInvalid() {
+
+    assertThatThrownBy(() -> StructuredTextParser.parseLocalDate("2023-02-29"))
+        .isInstanceOf(DateTimeParseException.class).hasMessageContaining("2023-02-29");
+    assertThatThrownBy(() -> StructuredTextParser.parseLocalDateTime("2024-04-31T12:00"))
+        .isInstanceOf(DateTimeParseException.class).hasMessageContaining("2024-04-31T12:00");
+    assertThatThrownBy(() -> StructuredTextParser.parseInstant("2024-02-30T00:00:00Z"))
+        .isInstanceOf(DateTimeParseException.class);
+    assertThatThrownBy(() -> StructuredTextParser.parseOffsetDateTime("2024-02-29T23:00+18:30"))
+        .isInstanceOf(DateTimeParseException.class);
+    assertThatThrownBy(() -> StructuredTextParser.parseOffsetTime("12:30+18:30"))
+        .isInstanceOf(DateTimeParseException.class);
+    assertThatThrownBy(() -> StructuredTextParser.parseZonedDateTime("2024-02-29T23:00+01:00[Nowhere/Invalid]"))
+        .isInstanceOf(DateTimeParseException.class);
+  }
+
+}
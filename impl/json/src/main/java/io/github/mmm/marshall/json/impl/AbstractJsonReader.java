@@ -0,0 +1,378 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.json.impl;
+
+import io.github.mmm.marshall.MarshallingConfig;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredState;
+import io.github.mmm.marshall.id.StructuredIdMappingObject;
+import io.github.mmm.marshall.spi.AbstractStructuredTokenReader;
+import io.github.mmm.marshall.spi.StructuredNodeDefault;
+import io.github.mmm.marshall.spi.StructuredNodeType;
+
+/**
+ * Abstract base implementation of {@link StructuredReader} for JSON. It contains the JSON state machine while the
+ * access to the underlying source (characters or UTF-8 bytes) is abstracted by a few primitive methods like
+ * {@link #peek()} and {@link #consume()}.
+ *
+ * @see JsonReader
+ * @see JsonUtf8Reader
+ *
+ * @since 1.0.0
+ */
+public abstract class AbstractJsonReader extends AbstractStructuredTokenReader<StructuredNodeDefault> {
+
+  /** Result of {@link #peek()} and {@link #read()} if the end of the data has been reached. */
+  protected static final int EOS = -1;
+
+  private final boolean requireQuotedProperties;
+
+  private Object value;
+
+  private boolean stringValue;
+
+  /** 0 if no comma read, 1 if comma read, else illegal state. */
+  private int commaCount;
+
+  /**
+   * The constructor.
+   *
+   * @param format the {@link #getFormat() format}.
+   */
+  public AbstractJsonReader(JsonFormat format) {
+
+    super(format);
+    Boolean unquotedProperties = format.getConfig().get(MarshallingConfig.VAR_UNQUOTED_PROPERTIES);
+    this.requireQuotedProperties = Boolean.FALSE.equals(unquotedProperties);
+  }
+
+  @Override
+  protected void reset() {
+
+    super.reset();
+    this.value = null;
+    this.stringValue = false;
+    this.commaCount = 0;
+  }
+
+  /**
+   * @return the next character without consuming it or {@link #EOS} if the end of the data has been reached.
+   */
+  protected abstract int peek();
+
+  /**
+   * @return the next character that is consumed or {@link #EOS} if the end of the data has been reached.
+   */
+  protected abstract int read();
+
+  /**
+   * Consumes the next character that has been {@link #peek() peeked} before.
+   */
+  protected abstract void consume();
+
+  /**
+   * Skips all whitespaces.
+   */
+  protected abstract void skipSpaces();
+
+  /**
+   * @param c the first character of a code point as returned by {@link #peek()} or {@link #read()}. It has already
+   *        been consumed.
+   * @return the complete Unicode code point consuming further data if the source is encoded.
+   */
+  protected int readCodePoint(int c) {
+
+    return c;
+  }
+
+  /**
+   * Reads a quoted name or string into the token buffer. The opening quote has already been consumed and the closing
+   * quote will be consumed by this method.
+   */
+  protected void readQuotedToken() {
+
+    while (true) {
+      int c = read();
+      if (c == '"') {
+        return;
+      } else if (c == '\\') {
+        appendTokenChar(readEscape());
+      } else if (c == EOS) {
+        throw error("Missing closing quote (\")");
+      } else {
+        appendTokenChar(readCodePoint(c));
+      }
+    }
+  }
+
+  /**
+   * @return the decoded character of the escape sequence. The backslash has already been consumed.
+   */
+  protected int readEscape() {
+
+    int c = read();
+    switch (c) {
+      case 'n':
+        return '\n';
+      case 't':
+        return '\t';
+      case 'r':
+        return '\r';
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'u':
+        int u = 0;
+        for (int i = 0; i < 4; i++) {
+          int digit = Character.digit(read(), 16);
+          if (digit < 0) {
+            throw error("Invalid unicode escape sequence.");
+          }
+          u = (u << 4) | digit;
+        }
+        return u;
+      case EOS:
+        throw error("Missing closing quote (\")");
+      default:
+        return readCodePoint(c);
+    }
+  }
+
+  /**
+   * Skips the rest of the current object or array without creating any token. The opening bracket has already been
+   * consumed and the matching closing bracket is not consumed by this method.
+   */
+  protected abstract void skipStructure();
+
+  @Override
+  protected StructuredNodeDefault newNode(StructuredNodeType type, StructuredIdMappingObject object) {
+
+    StructuredNodeDefault result = reuseNode(type);
+    if (result == null) {
+      result = new StructuredNodeDefault(this.node, type);
+    }
+    return result;
+  }
+
+  @Override
+  protected StructuredState next(boolean skip) {
+
+    int skipCount = skip ? 1 : 0;
+    boolean todo;
+    do {
+      todo = false;
+      int skipAdd = 0;
+      this.stringValue = false;
+      clearTextValue();
+      skipSpaces();
+      int c = peek();
+      if (c == EOS) {
+        return setState(StructuredState.DONE);
+      }
+      if (c == '{') {
+        start(StructuredNodeType.OBJECT);
+        skipAdd = 1;
+      } else if (c == '}') {
+        end(StructuredNodeType.OBJECT);
+        skipAdd = -1;
+      } else if (c == '[') {
+        start(StructuredNodeType.ARRAY);
+        skipAdd = 1;
+      } else if (c == ']') {
+        end(StructuredNodeType.ARRAY);
+        skipAdd = -1;
+      } else if (c == ',') {
+        if (this.commaCount != 0) {
+          throw new IllegalStateException();
+        }
+        require(StructuredState.VALUE, StructuredState.END_OBJECT, StructuredState.END_ARRAY);
+        consume();
+        this.commaCount++;
+        todo = true;
+      } else if ((this.node.type == StructuredNodeType.OBJECT) && (getState() != StructuredState.NAME)) {
+        String propertyName;
+        if (c == '\"') {
+          consume();
+          readQuotedToken();
+          propertyName = resolveName(false);
+        } else {
+          if (this.requireQuotedProperties) {
+            error("Expected quoted property but found character " + c + " (0x" + Integer.toHexString(c) + ").");
+          }
+          readUnquotedName();
+          propertyName = resolveName(true);
+        }
+        setState(StructuredState.NAME);
+        this.name = propertyName;
+      } else if (c == '\"') {
+        nextString();
+      } else if (c == ':') {
+        require(StructuredState.NAME);
+        consume();
+        skipSpaces();
+        c = peek();
+        if (c == '\"') {
+          nextString();
+        } else if (c == '{') {
+          start(StructuredNodeType.OBJECT);
+          skipAdd = 1;
+        } else if (c == '[') {
+          start(StructuredNodeType.ARRAY);
+          skipAdd = 1;
+        } else {
+          nextValue(c);
+        }
+      } else {
+        nextValue(c);
+      }
+      if (skipCount > 0) {
+        skipCount += skipAdd;
+        if (skipCount == 0) {
+          todo = true;
+        }
+      }
+    } while ((skipCount > 0) || todo);
+    return getState();
+  }
+
+  @Override
+  public void skipValue() {
+
+    StructuredState state = getState();
+    if ((state == StructuredState.START_OBJECT) || (state == StructuredState.START_ARRAY)) {
+      // opening bracket has already been consumed by start
+      skipStructure();
+      end(this.node.type);
+      next();
+    } else {
+      super.skipValue();
+    }
+  }
+
+  private void readUnquotedName() {
+
+    while (true) {
+      int c = read();
+      if (c == ':') {
+        return;
+      } else if (c == EOS) {
+        throw new IllegalStateException();
+      }
+      appendTokenChar(readCodePoint(c));
+    }
+  }
+
+  private void nextValue(int c) {
+
+    if (((c >= '0') && (c <= '9')) || (c == '+') || (c == '-') || (c == '.')) {
+      nextNumber();
+    } else if (c == 'n') {
+      expect("null");
+      nextValue(null);
+    } else if (c == 't') {
+      expect("true");
+      nextValue(Boolean.TRUE);
+    } else if (c == 'f') {
+      expect("false");
+      nextValue(Boolean.FALSE);
+    } else if (c == EOS) {
+      throw error("Unexpected end of JSON data.");
+    } else {
+      consume();
+      StringBuilder sb = new StringBuilder("Unexpected JSON character '");
+      sb.appendCodePoint(readCodePoint(c));
+      sb.append('\'');
+      error(sb.toString());
+    }
+  }
+
+  private void expect(String literal) {
+
+    int length = literal.length();
+    for (int i = 0; i < length; i++) {
+      if (read() != literal.charAt(i)) {
+        error("Unexpected JSON value - expected '" + literal + "'.");
+      }
+    }
+  }
+
+  private void nextString() {
+
+    consume();
+    readQuotedToken();
+    this.stringValue = true;
+    nextValue(null);
+    setTextValue();
+  }
+
+  @Override
+  public boolean isStringValue() {
+
+    return this.stringValue;
+  }
+
+  private void nextNumber() {
+
+    nextValue(null);
+    while (true) {
+      int c = peek();
+      if (((c >= '0') && (c <= '9')) || (c == '+') || (c == '-') || (c == '.') || (c == 'e') || (c == 'E')) {
+        appendNumberChar(c);
+        consume();
+      } else {
+        return;
+      }
+    }
+  }
+
+  @Override
+  protected StructuredState start(StructuredNodeType type) {
+
+    StructuredState state = super.start(type);
+    consume();
+    this.commaCount = 0;
+    return state;
+  }
+
+  @Override
+  protected StructuredState end(StructuredNodeType type) {
+
+    StructuredState state = super.end(type);
+    consume();
+    this.commaCount = 0;
+    return state;
+  }
+
+  private void nextValue(Object v) {
+
+    clearNumberValue();
+    this.value = v;
+    setState(StructuredState.VALUE);
+    this.commaCount = 0;
+  }
+
+  @Override
+  public Object readValue() {
+
+    require(StructuredState.VALUE);
+    Object v = this.value;
+    if (isNumberValue()) {
+      v = getNumberValue();
+      clearNumberValue();
+    } else if (isTextValue()) {
+      v = getTextValue();
+    }
+    this.value = null;
+    next();
+    return v;
+  }
+
+  @Override
+  public boolean isNullValue() {
+
+    return (getState() == StructuredState.VALUE) && (this.value == null) && !isNumberValue()
+        && !isTextValue();
+  }
+
+}
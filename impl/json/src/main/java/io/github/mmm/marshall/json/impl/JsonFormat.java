@@ -2,13 +2,21 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.json.impl;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredTextReaderPool;
+import io.github.mmm.marshall.StructuredTextWriterPool;
 import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.spi.AbstractStructuredTextFormat;
+import io.github.mmm.marshall.spi.StructuredProcessorPool;
 import io.github.mmm.scanner.CharReaderScanner;
 import io.github.mmm.scanner.CharSequenceScanner;
 
@@ -21,6 +29,18 @@ public class JsonFormat extends AbstractStructuredTextFormat {
 
   private static final JsonFormat DEFAULT = of(MarshallingConfig.DEFAULTS);
 
+  private final StructuredProcessorPool<JsonUtf8Reader> utf8Readers;
+
+  private final StructuredProcessorPool<JsonWriter> writers;
+
+  private final StructuredProcessorPool<JsonWriter> utf8Writers;
+
+  private final StructuredTextReaderPool readerPool;
+
+  private final StructuredTextWriterPool writerPool;
+
+  private final Map<String, String> nameTokens;
+
   /**
    * The constructor.
    *
@@ -30,6 +50,12 @@ public class JsonFormat extends AbstractStructuredTextFormat {
   public JsonFormat(MarshallingConfig config) {
 
     super(config);
+    this.utf8Readers = new StructuredProcessorPool<>(this);
+    this.writers = new StructuredProcessorPool<>(this);
+    this.utf8Writers = new StructuredProcessorPool<>(this);
+    this.readerPool = new JsonReaderPool();
+    this.writerPool = new JsonWriterPool();
+    this.nameTokens = new ConcurrentHashMap<>();
   }
 
   @Override
@@ -50,12 +76,96 @@ public class JsonFormat extends AbstractStructuredTextFormat {
     return new JsonReader(new CharSequenceScanner(data), this);
   }
 
+  /**
+   * Reads the JSON directly from UTF-8 bytes without decoding the entire stream to characters.
+   */
+  @Override
+  public StructuredReader reader(InputStream in) {
+
+    return new JsonUtf8Reader(in, this);
+  }
+
+  /**
+   * @param data the JSON encoded in UTF-8.
+   * @return the {@link StructuredReader} to read the given {@code data}.
+   */
+  public StructuredReader reader(byte[] data) {
+
+    return new JsonUtf8Reader(data, this);
+  }
+
+  /**
+   * @param data the {@link ByteBuffer} with the JSON encoded in UTF-8.
+   * @return the {@link StructuredReader} to read the given {@code data}.
+   */
+  public StructuredReader reader(ByteBuffer data) {
+
+    return new JsonUtf8Reader(data, this);
+  }
+
   @Override
   public StructuredWriter writer(Appendable writer) {
 
     return new JsonWriter(writer, this);
   }
 
+  @Override
+  public StructuredWriter writer(OutputStream out) {
+
+    return new JsonWriter(out, this);
+  }
+
+  /**
+   * @return the {@link Map} with the quoted and escaped property names shared by all {@link JsonWriter}s of this
+   *         format.
+   */
+  Map<String, String> getNameTokens() {
+
+    return this.nameTokens;
+  }
+
+  @Override
+  public StructuredTextReaderPool readerPool() {
+
+    return this.readerPool;
+  }
+
+  @Override
+  public StructuredTextWriterPool writerPool() {
+
+    return this.writerPool;
+  }
+
+  private StructuredReader pooledReader(InputStream in) {
+
+    JsonUtf8Reader reader = this.utf8Readers.borrow();
+    if (reader == null) {
+      return this.utf8Readers.register(new JsonUtf8Reader(in, this));
+    }
+    reader.reset(in);
+    return reader;
+  }
+
+  private StructuredWriter pooledWriter(Appendable out) {
+
+    JsonWriter writer = this.writers.borrow();
+    if (writer == null) {
+      return this.writers.register(new JsonWriter(out, this));
+    }
+    writer.reset(out);
+    return writer;
+  }
+
+  private StructuredWriter pooledWriter(OutputStream out) {
+
+    JsonWriter writer = this.utf8Writers.borrow();
+    if (writer == null) {
+      return this.utf8Writers.register(new JsonWriter(out, this));
+    }
+    writer.reset(out);
+    return writer;
+  }
+
   /**
    * @return the default instance of {@link JsonFormat}.
    */
@@ -76,4 +186,42 @@ public class JsonFormat extends AbstractStructuredTextFormat {
     return new JsonFormat(config);
   }
 
+  private class JsonReaderPool implements StructuredTextReaderPool {
+
+    @Override
+    public StructuredReader reader(Reader reader) {
+
+      return JsonFormat.this.reader(reader);
+    }
+
+    @Override
+    public StructuredReader reader(String data) {
+
+      return JsonFormat.this.reader(data);
+    }
+
+    @Override
+    public StructuredReader reader(InputStream in) {
+
+      return pooledReader(in);
+    }
+
+  }
+
+  private class JsonWriterPool implements StructuredTextWriterPool {
+
+    @Override
+    public StructuredWriter writer(Appendable writer) {
+
+      return pooledWriter(writer);
+    }
+
+    @Override
+    public StructuredWriter writer(OutputStream out) {
+
+      return pooledWriter(out);
+    }
+
+  }
+
 }
@@ -0,0 +1,358 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.json.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import io.github.mmm.base.exception.RuntimeIoException;
+import io.github.mmm.marshall.StructuredReader;
+
+/**
+ * Implementation of {@link StructuredReader} for JSON reading UTF-8 bytes directly from an {@link InputStream},
+ * {@code byte[]}, or {@link ByteBuffer}. Unlike {@link JsonReader} it does not need an
+ * {@link java.io.InputStreamReader} as structural characters are scanned on bytes and names or strings are only decoded
+ * when they contain non-ASCII characters.
+ *
+ * @see JsonFormat
+ *
+ * @since 1.0.0
+ */
+public class JsonUtf8Reader extends AbstractJsonReader {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private InputStream in;
+
+  private ByteBuffer byteBuffer;
+
+  private byte[] streamBuffer;
+
+  private byte[] buffer;
+
+  private int offset;
+
+  private int limit;
+
+  /** Absolute position of index {@code 0} of {@link #buffer}. */
+  private long base;
+
+  private int line;
+
+  private long lineStart;
+
+  /**
+   * The constructor.
+   *
+   * @param in the {@link InputStream} with the JSON to parse encoded in UTF-8.
+   * @param format the {@link #getFormat() format}.
+   */
+  public JsonUtf8Reader(InputStream in, JsonFormat format) {
+
+    this(format);
+    setSource(in);
+    next();
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param data the JSON to parse encoded in UTF-8.
+   * @param format the {@link #getFormat() format}.
+   */
+  public JsonUtf8Reader(byte[] data, JsonFormat format) {
+
+    this(format);
+    setSource(data);
+    next();
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param data the {@link ByteBuffer} with the JSON to parse encoded in UTF-8 from its current position up to its
+   *        limit. The position of the given {@link ByteBuffer} is not modified.
+   * @param format the {@link #getFormat() format}.
+   */
+  public JsonUtf8Reader(ByteBuffer data, JsonFormat format) {
+
+    this(format);
+    setSource(data);
+    next();
+  }
+
+  private JsonUtf8Reader(JsonFormat format) {
+
+    super(format);
+  }
+
+  /**
+   * Resets this reader for reuse after it has been {@link #close() closed}.
+   *
+   * @param newIn the new {@link InputStream} with the JSON to parse encoded in UTF-8.
+   */
+  public void reset(InputStream newIn) {
+
+    reset();
+    setSource(newIn);
+    next();
+  }
+
+  /**
+   * Resets this reader for reuse after it has been {@link #close() closed}.
+   *
+   * @param data the new JSON to parse encoded in UTF-8.
+   */
+  public void reset(byte[] data) {
+
+    reset();
+    setSource(data);
+    next();
+  }
+
+  /**
+   * Resets this reader for reuse after it has been {@link #close() closed}.
+   *
+   * @param data the new {@link ByteBuffer} with the JSON to parse encoded in UTF-8.
+   */
+  public void reset(ByteBuffer data) {
+
+    reset();
+    setSource(data);
+    next();
+  }
+
+  private void setSource(InputStream newIn) {
+
+    if (this.streamBuffer == null) {
+      this.streamBuffer = new byte[BUFFER_SIZE];
+    }
+    setSource(newIn, null, this.streamBuffer, 0, 0);
+  }
+
+  private void setSource(byte[] data) {
+
+    setSource(null, null, data, 0, data.length);
+  }
+
+  private void setSource(ByteBuffer data) {
+
+    if (data.hasArray()) {
+      int start = data.arrayOffset() + data.position();
+      setSource(null, null, data.array(), start, data.arrayOffset() + data.limit());
+    } else {
+      if (this.streamBuffer == null) {
+        this.streamBuffer = new byte[BUFFER_SIZE];
+      }
+      setSource(null, data.duplicate(), this.streamBuffer, 0, 0);
+    }
+  }
+
+  private void setSource(InputStream newIn, ByteBuffer newByteBuffer, byte[] newBuffer, int start, int end) {
+
+    this.in = newIn;
+    this.byteBuffer = newByteBuffer;
+    this.buffer = newBuffer;
+    this.offset = start;
+    this.limit = end;
+    this.base = -start;
+    this.line = 1;
+    this.lineStart = 0;
+  }
+
+  /**
+   * @return {@code true} if more bytes have been read into the {@link #buffer}, {@code false} if the end of the data
+   *         has been reached.
+   */
+  private boolean fill() {
+
+    int count = 0;
+    if (this.in != null) {
+      try {
+        count = this.in.read(this.buffer, 0, this.buffer.length);
+      } catch (IOException e) {
+        throw new RuntimeIoException(e);
+      }
+    } else if (this.byteBuffer != null) {
+      count = Math.min(this.byteBuffer.remaining(), this.buffer.length);
+      this.byteBuffer.get(this.buffer, 0, count);
+    }
+    if (count <= 0) {
+      return false;
+    }
+    this.base += this.limit;
+    this.offset = 0;
+    this.limit = count;
+    return true;
+  }
+
+  @Override
+  protected int peek() {
+
+    if ((this.offset < this.limit) || fill()) {
+      return this.buffer[this.offset] & 0xFF;
+    }
+    return EOS;
+  }
+
+  @Override
+  protected int read() {
+
+    if ((this.offset < this.limit) || fill()) {
+      return this.buffer[this.offset++] & 0xFF;
+    }
+    return EOS;
+  }
+
+  @Override
+  protected void consume() {
+
+    this.offset++;
+  }
+
+  @Override
+  protected void skipSpaces() {
+
+    while (true) {
+      while (this.offset < this.limit) {
+        byte b = this.buffer[this.offset];
+        if (b == '\n') {
+          this.line++;
+          this.lineStart = this.base + this.offset + 1;
+        } else if ((b != ' ') && (b != '\t') && (b != '\r')) {
+          return;
+        }
+        this.offset++;
+      }
+      if (!fill()) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Skips the rest of the current object or array on byte level. As UTF-8 never encodes non-ASCII characters with
+   * ASCII bytes, only brackets, quotes and escapes need to be tracked. The matching closing bracket is not consumed.
+   */
+  @Override
+  protected void skipStructure() {
+
+    int depth = 1;
+    boolean quoted = false;
+    while (true) {
+      while (this.offset < this.limit) {
+        byte b = this.buffer[this.offset];
+        if (quoted) {
+          if (b == '"') {
+            quoted = false;
+          } else if (b == '\\') {
+            this.offset++;
+            if ((this.offset == this.limit) && !fill()) {
+              break;
+            }
+          }
+        } else if (b == '"') {
+          quoted = true;
+        } else if ((b == '{') || (b == '[')) {
+          depth++;
+        } else if ((b == '}') || (b == ']')) {
+          depth--;
+          if (depth == 0) {
+            return;
+          }
+        }
+        this.offset++;
+      }
+      if (!fill()) {
+        throw error("Unexpected end of data while skipping value.");
+      }
+    }
+  }
+
+  @Override
+  protected void readQuotedToken() {
+
+    while (true) {
+      // fast path for ASCII characters
+      int start = this.offset;
+      int i = start;
+      while (i < this.limit) {
+        byte b = this.buffer[i];
+        if ((b == '"') || (b == '\\') || (b < 0)) {
+          break;
+        }
+        i++;
+      }
+      appendTokenAscii(this.buffer, start, i - start);
+      this.offset = i;
+      int b = read();
+      if (b == '"') {
+        return;
+      } else if (b == '\\') {
+        appendTokenChar(readEscape());
+      } else if (b >= 0x80) {
+        appendTokenChar(readCodePoint(b));
+      } else if (b == EOS) {
+        throw error("Missing closing quote (\")");
+      } else {
+        // buffer was exhausted and has been refilled by read()
+        this.offset--;
+      }
+    }
+  }
+
+  /**
+   * @param lead the first byte of the UTF-8 sequence (already consumed).
+   * @return the decoded Unicode code point.
+   */
+  @Override
+  protected int readCodePoint(int lead) {
+
+    if (lead < 0x80) {
+      return lead;
+    }
+    int codePoint;
+    int count;
+    if (lead >= 0xF0) {
+      codePoint = lead & 0x07;
+      count = 3;
+    } else if (lead >= 0xE0) {
+      codePoint = lead & 0x0F;
+      count = 2;
+    } else if (lead >= 0xC0) {
+      codePoint = lead & 0x1F;
+      count = 1;
+    } else {
+      throw error("Invalid UTF-8 byte 0x" + Integer.toHexString(lead));
+    }
+    for (int i = 0; i < count; i++) {
+      int b = read();
+      if ((b & 0xC0) != 0x80) {
+        throw error("Invalid UTF-8 sequence.");
+      }
+      codePoint = (codePoint << 6) | (b & 0x3F);
+    }
+    return codePoint;
+  }
+
+  @Override
+  protected String appendContextDetails(String message) {
+
+    return appendContextDetails(message, this.line, this.base + this.offset - this.lineStart + 1);
+  }
+
+  @Override
+  protected void doClose() throws IOException {
+
+    if (this.in != null) {
+      this.in.close();
+    }
+    this.in = null;
+    this.byteBuffer = null;
+    this.buffer = null;
+    this.offset = 0;
+    this.limit = 0;
+  }
+
+}
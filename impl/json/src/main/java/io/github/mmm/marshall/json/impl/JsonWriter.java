@@ -2,8 +2,17 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.json.impl;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Map;
 
 import io.github.mmm.marshall.AbstractStructuredStringWriter;
 import io.github.mmm.marshall.MarshallingConfig;
@@ -12,6 +21,7 @@ import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
 import io.github.mmm.marshall.spi.StructuredNodeDefault;
 import io.github.mmm.marshall.spi.StructuredNodeType;
+import io.github.mmm.marshall.spi.StructuredTextFormatter;
 
 /**
  * Implementation of {@link StructuredWriter} for JSON from scratch.
@@ -26,8 +36,18 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
 
   private static final long JS_NUMBER_MIN = -JS_NUMBER_MAX;
 
+  private static final int MAX_NAME_TOKENS = 1024;
+
+  /** Fill level of the format buffer when writing primitive arrays that leaves room for one more item. */
+  private static final int ARRAY_BUFFER_LIMIT = StructuredTextFormatter.BUFFER_SIZE - 32;
+
+  /** Escape sequences by ASCII character or {@code null} if no escaping is required. */
+  private static final String[] ESCAPES = createEscapes();
+
   private final boolean quoteProperties;
 
+  private final Map<String, String> nameTokens;
+
   /**
    * The constructor.
    *
@@ -39,12 +59,43 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
     super(out, format);
     Boolean unquotedProperties = format.getConfig().get(MarshallingConfig.VAR_UNQUOTED_PROPERTIES);
     this.quoteProperties = !Boolean.TRUE.equals(unquotedProperties);
+    this.nameTokens = format.getNameTokens();
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param out the {@link OutputStream} to write the data to encoded as UTF-8.
+   * @param format the {@link #getFormat() format}.
+   */
+  public JsonWriter(OutputStream out, JsonFormat format) {
+
+    super(out, format);
+    Boolean unquotedProperties = format.getConfig().get(MarshallingConfig.VAR_UNQUOTED_PROPERTIES);
+    this.quoteProperties = !Boolean.TRUE.equals(unquotedProperties);
+    this.nameTokens = format.getNameTokens();
+  }
+
+  @Override
+  public void reset(Appendable newOut) {
+
+    super.reset(newOut);
+  }
+
+  @Override
+  public void reset(OutputStream newOut) {
+
+    super.reset(newOut);
   }
 
   @Override
   protected StructuredNodeDefault newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    return new StructuredNodeDefault(this.node, type);
+    StructuredNodeDefault result = reuseNode(type);
+    if (result == null) {
+      result = new StructuredNodeDefault(this.node, type);
+    }
+    return result;
   }
 
   @Override
@@ -65,18 +116,18 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
       return;
     }
     if (this.quoteProperties) {
-      write('"');
-    }
-    write(this.name);
-    if (this.indentation == null) {
-      if (this.quoteProperties) {
-        write("\":");
-      } else {
-        write(':');
+      String token = this.nameTokens.get(this.name);
+      if (token == null) {
+        token = createNameToken(this.name);
+        if (this.nameTokens.size() < MAX_NAME_TOKENS) {
+          this.nameTokens.put(this.name, token);
+        }
       }
+      write(token);
     } else {
-      if (this.quoteProperties) {
-        write("\": ");
+      write(this.name);
+      if (this.indentation == null) {
+        write(':');
       } else {
         write(": ");
       }
@@ -84,6 +135,80 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
     this.name = null;
   }
 
+  /**
+   * @param propertyName the name of the property.
+   * @return the quoted and escaped property name followed by the colon (and space if indented).
+   */
+  private String createNameToken(String propertyName) {
+
+    StringBuilder sb = new StringBuilder(propertyName.length() + 4);
+    sb.append('"');
+    int length = propertyName.length();
+    for (int i = 0; i < length; i++) {
+      char c = propertyName.charAt(i);
+      String escape = null;
+      if (c < ESCAPES.length) {
+        escape = ESCAPES[c];
+      }
+      if (escape == null) {
+        sb.append(c);
+      } else {
+        sb.append(escape);
+      }
+    }
+    if (this.indentation == null) {
+      sb.append("\":");
+    } else {
+      sb.append("\": ");
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Writes the given {@link String} escaped for JSON. Runs of characters that need no escaping are written in bulk.
+   *
+   * @param value the {@link String} to write escaped.
+   */
+  private void writeEscaped(String value) {
+
+    int length = value.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < ESCAPES.length) {
+        String escape = ESCAPES[c];
+        if (escape != null) {
+          if (i > start) {
+            write(value, start, i);
+          }
+          write(escape);
+          start = i + 1;
+        }
+      }
+    }
+    if (start == 0) {
+      write(value);
+    } else if (start < length) {
+      write(value, start, length);
+    }
+  }
+
+  private static String[] createEscapes() {
+
+    String[] escapes = new String[128];
+    for (int c = 0; c < 0x20; c++) {
+      escapes[c] = String.format("\\u%04x", Integer.valueOf(c));
+    }
+    escapes['"'] = "\\\"";
+    escapes['\\'] = "\\\\";
+    escapes['\n'] = "\\n";
+    escapes['\r'] = "\\r";
+    escapes['\t'] = "\\t";
+    escapes['\b'] = "\\b";
+    escapes['\f'] = "\\f";
+    return escapes;
+  }
+
   @Override
   protected void doWriteEnd(StructuredNodeType type) {
 
@@ -102,11 +227,15 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
   @Override
   public void writeValueAsString(String value) {
 
-    if (value != null) {
-      // escape string value
-      value = '"' + value.replace("\"", "\\\"") + '"';
+    if (value == null) {
+      writeValueInternal(null);
+      return;
     }
-    writeValueInternal(value);
+    writeValueStart();
+    write('"');
+    writeEscaped(value);
+    write('"');
+    setState(StructuredState.VALUE);
   }
 
   @Override
@@ -127,6 +256,13 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
     } else {
       s = value.toString();
     }
+    writeValueStart();
+    write(s);
+    setState(StructuredState.VALUE);
+  }
+
+  private void writeValueStart() {
+
     if (this.node.elementCount > 0) {
       write(',');
     }
@@ -134,8 +270,6 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
       writeIndent();
     }
     writeName();
-    write(s);
-    setState(StructuredState.VALUE);
   }
 
   @Override
@@ -143,10 +277,20 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
 
     if (value == null) {
       writeValueAsNull();
+    } else if (value instanceof Integer) {
+      writeValueAsInteger(value.intValue());
+    } else if (value instanceof Long) {
+      writeValueAsLong(value.longValue());
+    } else if (value instanceof Double) {
+      writeValueAsDouble(value.doubleValue());
+    } else if (value instanceof Float) {
+      writeValueAsFloat(value.floatValue());
+    } else if ((value instanceof Short) || (value instanceof Byte)) {
+      writeValueAsInteger(value.intValue());
     } else if (value instanceof BigDecimal) {
-      writeValueAsString(value.toString());
+      writeValueAsBigDecimal((BigDecimal) value);
     } else if (value instanceof BigInteger) {
-      writeValueAsString(value.toString());
+      writeValueAsBigInteger((BigInteger) value);
     } else {
       writeValueInternal(value);
     }
@@ -175,32 +319,294 @@ public class JsonWriter extends AbstractStructuredStringWriter<StructuredNodeDef
   @Override
   public void writeValueAsLong(long value) {
 
-    String string = Long.toString(value);
+    char[] buffer = getCharBuffer();
+    int end = StructuredTextFormatter.formatLong(value, buffer, 0);
     // TODO this should be a configurable feature, though default behavior due to JavaScript that sucks
     if ((value >= JS_NUMBER_MIN) && (value <= JS_NUMBER_MAX)) {
-      writeValueInternal(string);
+      writeValueChars(buffer, end);
     } else {
-      writeValueAsString(string);
+      writeValueQuoted(buffer, end, null);
     }
   }
 
   @Override
   public void writeValueAsInteger(int value) {
 
-    writeValueInternal(Integer.toString(value));
+    char[] buffer = getCharBuffer();
+    writeValueChars(buffer, StructuredTextFormatter.formatInt(value, buffer, 0));
   }
 
   @Override
   public void writeValueAsDouble(double value) {
 
-    writeValueInternal(Double.toString(value));
+    char[] buffer = getCharBuffer();
+    writeValueChars(buffer, StructuredTextFormatter.formatDouble(value, buffer, 0));
   }
 
   @Override
   public void writeValueAsFloat(float value) {
 
-    // TODO why do we do this???
-    writeValueAsDouble(Double.parseDouble(Float.toString(value)));
+    char[] buffer = getCharBuffer();
+    writeValueChars(buffer, StructuredTextFormatter.formatFloat(value, buffer, 0));
+  }
+
+  @Override
+  public void writeArray(int[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    char[] buffer = getCharBuffer();
+    int pos = 0;
+    for (int i = 0; i < array.length; i++) {
+      if (i > 0) {
+        buffer[pos++] = ',';
+      }
+      if (this.indentation != null) {
+        write(buffer, 0, pos);
+        pos = 0;
+        writeIndent();
+      } else if (pos > ARRAY_BUFFER_LIMIT) {
+        write(buffer, 0, pos);
+        pos = 0;
+      }
+      pos = StructuredTextFormatter.formatInt(array[i], buffer, pos);
+    }
+    writeArrayEnd(buffer, pos, array.length);
+  }
+
+  @Override
+  public void writeArray(long[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    char[] buffer = getCharBuffer();
+    int pos = 0;
+    for (int i = 0; i < array.length; i++) {
+      if (i > 0) {
+        buffer[pos++] = ',';
+      }
+      if (this.indentation != null) {
+        write(buffer, 0, pos);
+        pos = 0;
+        writeIndent();
+      } else if (pos > ARRAY_BUFFER_LIMIT) {
+        write(buffer, 0, pos);
+        pos = 0;
+      }
+      long value = array[i];
+      if ((value >= JS_NUMBER_MIN) && (value <= JS_NUMBER_MAX)) {
+        pos = StructuredTextFormatter.formatLong(value, buffer, pos);
+      } else {
+        buffer[pos++] = '"';
+        pos = StructuredTextFormatter.formatLong(value, buffer, pos);
+        buffer[pos++] = '"';
+      }
+    }
+    writeArrayEnd(buffer, pos, array.length);
+  }
+
+  @Override
+  public void writeArray(double[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    char[] buffer = getCharBuffer();
+    int pos = 0;
+    for (int i = 0; i < array.length; i++) {
+      if (i > 0) {
+        buffer[pos++] = ',';
+      }
+      if (this.indentation != null) {
+        write(buffer, 0, pos);
+        pos = 0;
+        writeIndent();
+      } else if (pos > ARRAY_BUFFER_LIMIT) {
+        write(buffer, 0, pos);
+        pos = 0;
+      }
+      pos = StructuredTextFormatter.formatDouble(array[i], buffer, pos);
+    }
+    writeArrayEnd(buffer, pos, array.length);
+  }
+
+  @Override
+  public void writeArray(float[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    char[] buffer = getCharBuffer();
+    int pos = 0;
+    for (int i = 0; i < array.length; i++) {
+      if (i > 0) {
+        buffer[pos++] = ',';
+      }
+      if (this.indentation != null) {
+        write(buffer, 0, pos);
+        pos = 0;
+        writeIndent();
+      } else if (pos > ARRAY_BUFFER_LIMIT) {
+        write(buffer, 0, pos);
+        pos = 0;
+      }
+      pos = StructuredTextFormatter.formatFloat(array[i], buffer, pos);
+    }
+    writeArrayEnd(buffer, pos, array.length);
+  }
+
+  @Override
+  public void writeArray(byte[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    char[] buffer = getCharBuffer();
+    int pos = 0;
+    for (int i = 0; i < array.length; i++) {
+      if (i > 0) {
+        buffer[pos++] = ',';
+      }
+      if (this.indentation != null) {
+        write(buffer, 0, pos);
+        pos = 0;
+        writeIndent();
+      } else if (pos > ARRAY_BUFFER_LIMIT) {
+        write(buffer, 0, pos);
+        pos = 0;
+      }
+      pos = StructuredTextFormatter.formatInt(array[i], buffer, pos);
+    }
+    writeArrayEnd(buffer, pos, array.length);
+  }
+
+  private void writeArrayEnd(char[] buffer, int end, int length) {
+
+    write(buffer, 0, end);
+    if (length > 0) {
+      this.node.elementCount = length;
+      setState(StructuredState.VALUE);
+    }
+    writeEnd();
+  }
+
+  @Override
+  public void writeValueAsInstant(Instant value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatInstant(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalDateTime(LocalDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatLocalDateTime(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalDate(LocalDate value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatLocalDate(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalTime(LocalTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatLocalTime(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsZonedDateTime(ZonedDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatZonedDateTime(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsOffsetDateTime(OffsetDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatOffsetDateTime(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsOffsetTime(OffsetTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatOffsetTime(value, buffer, 0), value);
+    }
+  }
+
+  /**
+   * @param buffer the {@code char[]} with the formatted value.
+   * @param end the index after the last character of the formatted value.
+   */
+  private void writeValueChars(char[] buffer, int end) {
+
+    writeValueStart();
+    write(buffer, 0, end);
+    setState(StructuredState.VALUE);
+  }
+
+  /**
+   * @param buffer the {@code char[]} with the formatted value that does not require escaping.
+   * @param end the index after the last character of the formatted value or {@code -1} if formatting was not
+   *        supported.
+   * @param value the original value to fall back to in case {@code end} is {@code -1}.
+   */
+  private void writeValueQuoted(char[] buffer, int end, Object value) {
+
+    if (end < 0) {
+      writeValueAsString(value.toString());
+      return;
+    }
+    writeValueStart();
+    write('"');
+    write(buffer, 0, end);
+    write('"');
+    setState(StructuredState.VALUE);
   }
 
 }
@@ -2,10 +2,23 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.json;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
 import org.junit.jupiter.api.Test;
 
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredState;
 import io.github.mmm.marshall.StructuredTextFormatProvider;
 import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.test.AbstractJsonFormatTest;
@@ -46,4 +59,182 @@ class JsonFormatTest extends AbstractJsonFormatTest {
     readTestData(reader);
   }
 
+  /**
+   * Test of reading numbers that are decoded on demand to the requested type.
+   */
+  @Test
+  void testReadNumbersLazy() {
+
+    StructuredReader reader = newReader(
+        "[0.12345678901234567890123456789, 1.10, -9223372036854775808, 4.2E1, 1-2, 42]");
+    assertThat(reader.readStartArray()).isTrue();
+    assertThat(reader.readValueAsBigDecimal()).isEqualTo(new BigDecimal("0.12345678901234567890123456789"));
+    assertThat(reader.readValueAsBigDecimal()).isEqualTo(new BigDecimal("1.10"));
+    assertThat(reader.readValueAsLong(0)).isEqualTo(Long.MIN_VALUE);
+    assertThat(reader.readValueAsDouble(0)).isEqualTo(42.0);
+    reader.skipValue(); // invalid number is never decoded
+    assertThat(reader.readValue()).isEqualTo(Integer.valueOf(42));
+    assertThat(reader.readEnd()).isTrue();
+  }
+
+  /**
+   * Test of {@link StructuredReader#skipValue()} for nested structures with brackets and quotes inside strings.
+   */
+  @Test
+  void testSkipStructure() {
+
+    StructuredReader reader = newReader(
+        "{\"skip\": {\"a\": [1, {\"b\": \"}]\\\"[{\"}], \"c\": []}, \"keep\": 42, \"list\": [[\"]\"], {}]}");
+    assertThat(reader.readStartObject(null)).isTrue();
+    assertThat(reader.readName()).isEqualTo("skip");
+    reader.skipValue();
+    assertThat(reader.readName()).isEqualTo("keep");
+    assertThat(reader.readValueAsInteger(0)).isEqualTo(42);
+    assertThat(reader.readName()).isEqualTo("list");
+    reader.skipValue();
+    assertThat(reader.readEnd()).isTrue();
+    assertThat(reader.isDone()).isTrue();
+  }
+
+  /**
+   * Test of writing and reading strings and property names that need to be escaped.
+   */
+  @Test
+  void testWriteEscaped() {
+
+    // arrange
+    String name = "a\"b";
+    String value = "x\\y\"z\n\t\u0001ä";
+    StructuredWriter writer = newWriter(MarshallingConfig.NO_INDENTATION);
+    // act
+    writer.writeStartObject(null);
+    writer.writeName(name);
+    writer.writeValueAsString(value);
+    writer.writeEnd();
+    writer.close();
+    // assert
+    String json = getActualData();
+    assertThat(json).isEqualTo("{\"a\\\"b\":\"x\\\\y\\\"z\\n\\t\\u0001ä\"}");
+    StructuredReader reader = newReader(json);
+    assertThat(reader.readStartObject(null)).isTrue();
+    assertThat(reader.readName()).isEqualTo(name);
+    assertThat(reader.readValueAsString()).isEqualTo(value);
+    assertThat(reader.readEndObject()).isTrue();
+  }
+
+  /**
+   * Test of writing numbers and {@link java.time} values that are formatted without intermediate {@link String}s.
+   */
+  @Test
+  void testWriteNumbersAndTemporals() {
+
+    // arrange
+    Instant instant = Instant.parse("1969-12-31T23:59:59.000001Z");
+    LocalTime time = LocalTime.of(7, 5, 0, 120000000);
+    LocalDate date = LocalDate.of(2024, 2, 29);
+    LocalDateTime dateTime = LocalDateTime.of(date, LocalTime.of(23, 0));
+    OffsetDateTime offsetDateTime = OffsetDateTime.of(dateTime, ZoneOffset.ofHoursMinutes(-3, -30));
+    ZonedDateTime zonedDateTime = ZonedDateTime.of(dateTime, ZoneId.of("Europe/Berlin"));
+    LocalDate farDate = LocalDate.of(12345, 1, 1);
+    StructuredWriter writer = newWriter(MarshallingConfig.NO_INDENTATION);
+    // act
+    writer.writeStartArray();
+    writer.writeValueAsInteger(Integer.MIN_VALUE);
+    writer.writeValueAsLong(Long.MIN_VALUE);
+    writer.writeValueAsDouble(-0.0);
+    writer.writeValueAsDouble(42.0);
+    writer.writeValueAsDouble(1.0E7);
+    writer.writeValueAsFloat(0.1F);
+    writer.writeValueAsInstant(instant);
+    writer.writeValueAsLocalTime(time);
+    writer.writeValueAsLocalDateTime(dateTime);
+    writer.writeValueAsOffsetDateTime(offsetDateTime);
+    writer.writeValueAsZonedDateTime(zonedDateTime);
+    writer.writeValueAsLocalDate(farDate);
+    writer.writeEnd();
+    writer.close();
+    // assert
+    assertThat(getActualData()).isEqualTo("[-2147483648,\"-9223372036854775808\",-0.0,42.0,1.0E7,0.1,\"" + instant
+        + "\",\"" + time + "\",\"" + dateTime + "\",\"" + offsetDateTime + "\",\"" + zonedDateTime + "\",\""
+        + farDate + "\"]");
+  }
+
+  /**
+   * Test of {@link StructuredWriter#writeArray(long[])} and {@link StructuredReader#readLongArray()} with according
+   * {@code int[]} and {@code double[]} variants.
+   */
+  @Test
+  void testWriteArray() {
+
+    // arrange
+    int[] ints = { 1, -2, 300 };
+    long[] longs = { Long.MIN_VALUE, 42 };
+    double[] doubles = { 0.5, -1.0 };
+    StructuredWriter writer = newWriter(MarshallingConfig.NO_INDENTATION);
+    // act
+    writer.writeStartArray();
+    writer.writeArray(ints);
+    writer.writeArray(longs);
+    writer.writeArray(doubles);
+    writer.writeArray(new int[0]);
+    writer.writeArray((int[]) null);
+    writer.writeEnd();
+    writer.close();
+    String json = getActualData();
+    // assert
+    assertThat(json).isEqualTo("[[1,-2,300],[\"-9223372036854775808\",42],[0.5,-1.0],[],null]");
+    StructuredReader reader = newReader(json);
+    assertThat(reader.readStartArray()).isTrue();
+    assertThat(reader.readIntArray()).containsExactly(ints);
+    assertThat(reader.readLongArray()).containsExactly(longs);
+    assertThat(reader.readDoubleArray()).containsExactly(doubles);
+    assertThat(reader.readIntArray()).isEmpty();
+    assertThat(reader.readIntArray()).isNull();
+    assertThat(reader.readEndArray()).isTrue();
+    assertThat(reader.isDone()).isTrue();
+  }
+
+  /**
+   * Test of {@link StructuredWriter#toString()} flushing the internal buffer before the writer is closed.
+   */
+  @Test
+  void testToStringUnclosed() {
+
+    // arrange
+    MarshallingConfig config = MarshallingConfig.NO_INDENTATION.with(MarshallingConfig.VAR_BUFFER_SIZE,
+        Integer.valueOf(64));
+    StringWriter out = new StringWriter();
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    StructuredWriter writer = getProvider().create(config).writer(out);
+    StructuredWriter streamWriter = getProvider().create(config).writer(stream);
+    // act
+    writer.writeStartArray();
+    writer.writeValueAsString("foo");
+    streamWriter.writeStartArray();
+    streamWriter.writeValueAsString("foo");
+    // assert
+    assertThat(writer.toString()).startsWith("[\"foo\"").isEqualTo(out.toString());
+    assertThat(streamWriter.toString()).startsWith("[\"foo\"").isEqualTo(stream.toString());
+  }
+
+  /**
+   * Test of {@link MarshallingConfig#VAR_TRUSTED} skipping the validation of state transitions.
+   */
+  @Test
+  void testTrusted() {
+
+    // arrange
+    StructuredWriter writer = newWriter(MarshallingConfig.NO_INDENTATION);
+    StructuredWriter trustedWriter = newWriter(
+        MarshallingConfig.NO_INDENTATION.with(MarshallingConfig.VAR_TRUSTED, Boolean.TRUE));
+    // act
+    writer.writeStartArray();
+    trustedWriter.writeStartArray();
+    trustedWriter.writeName("name");
+    // assert
+    assertThatThrownBy(() -> writer.writeName("name")).isInstanceOf(IllegalStateException.class)
+        .hasMessageStartingWith("Invalid transition from state START_ARRAY to NAME in parent ARRAY");
+    assertThat(trustedWriter.getState()).isSameAs(StructuredState.NAME);
+  }
+
 }
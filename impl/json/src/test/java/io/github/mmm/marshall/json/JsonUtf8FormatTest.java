@@ -0,0 +1,81 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.marshall.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.marshall.MarshallingConfig;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredTextFormat;
+import io.github.mmm.marshall.StructuredTextFormatProvider;
+import io.github.mmm.marshall.StructuredWriter;
+import io.github.mmm.marshall.json.impl.JsonFormat;
+import io.github.mmm.marshall.test.AbstractJsonFormatTest;
+
+/**
+ * Test of {@link io.github.mmm.marshall.json.impl.JsonUtf8Reader} reading JSON from UTF-8 bytes and
+ * {@link io.github.mmm.marshall.json.impl.JsonWriter} writing UTF-8 bytes to an {@link java.io.OutputStream}.
+ */
+class JsonUtf8FormatTest extends AbstractJsonFormatTest {
+
+  private ByteArrayOutputStream baos;
+
+  @Override
+  protected StructuredTextFormatProvider getProvider() {
+
+    return new JsonFormatProvider();
+  }
+
+  @Override
+  protected StructuredReader newReader(String data) {
+
+    byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+    return getProvider().create().reader(new ByteArrayInputStream(bytes));
+  }
+
+  @Override
+  protected StructuredWriter newWriter(MarshallingConfig config) {
+
+    StructuredTextFormat format;
+    if (config == null) {
+      format = getProvider().create();
+    } else {
+      format = getProvider().create(config);
+    }
+    this.baos = new ByteArrayOutputStream();
+    return format.writer(this.baos);
+  }
+
+  @Override
+  protected String getActualData() {
+
+    return new String(this.baos.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Test of reading non-ASCII characters and escape sequences from bytes.
+   */
+  @Test
+  void testReadUtf8() {
+
+    // arrange
+    String json = "{\"näme\": \"ä€😀\", \"esc\": \"a\\\"b\\\\c\\n\\u00e4\"}";
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    // act
+    StructuredReader reader = JsonFormat.of().reader(ByteBuffer.wrap(bytes));
+    // assert
+    assertThat(reader.readStartObject(null)).isTrue();
+    assertThat(reader.readName()).isEqualTo("näme");
+    assertThat(reader.readValueAsString()).isEqualTo("ä€😀");
+    assertThat(reader.readName()).isEqualTo("esc");
+    assertThat(reader.readValueAsString()).isEqualTo("a\"b\\c\nä");
+    assertThat(reader.readEndObject()).isTrue();
+    assertThat(reader.isDone()).isTrue();
+  }
+
+}
@@ -45,7 +45,11 @@ public class JsonpReader extends AbstractStructuredReader<StructuredNodeDefault>
   @Override
   protected StructuredNodeDefault newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    return null;
+    StructuredNodeDefault result = reuseNode(type);
+    if (result == null) {
+      result = new StructuredNodeDefault(this.node, type);
+    }
+    return result;
   }
 
   @Override
@@ -72,6 +76,7 @@ public class JsonpReader extends AbstractStructuredReader<StructuredNodeDefault>
         state = StructuredState.DONE;
         skipAdd = -1;
       }
+      setStateAndNode(state);
       if (skipCount > 0) {
         skipCount += skipAdd;
         if (skipCount == 0) {
@@ -79,7 +84,6 @@ public class JsonpReader extends AbstractStructuredReader<StructuredNodeDefault>
         }
       }
     } while ((skipCount > 0) || todo);
-    setState(state);
     return state;
   }
 
@@ -112,6 +116,12 @@ public class JsonpReader extends AbstractStructuredReader<StructuredNodeDefault>
     return this.event == Event.VALUE_STRING;
   }
 
+  @Override
+  public boolean isNullValue() {
+
+    return this.event == Event.VALUE_NULL;
+  }
+
   @Override
   public Object readValue() {
 
@@ -154,6 +164,77 @@ public class JsonpReader extends AbstractStructuredReader<StructuredNodeDefault>
     return result;
   }
 
+  @Override
+  public boolean readValueAsBoolean(boolean defaultIfNull) {
+
+    require(StructuredState.VALUE);
+    boolean result;
+    if (this.event == Event.VALUE_NULL) {
+      result = defaultIfNull;
+    } else if (this.event == Event.VALUE_TRUE) {
+      result = true;
+    } else if (this.event == Event.VALUE_FALSE) {
+      result = false;
+    } else {
+      return super.readValueAsBoolean(defaultIfNull);
+    }
+    next();
+    return result;
+  }
+
+  @Override
+  public int readValueAsInteger(int defaultIfNull) {
+
+    require(StructuredState.VALUE);
+    int result;
+    if (this.event == Event.VALUE_NULL) {
+      result = defaultIfNull;
+    } else if (this.event == Event.VALUE_NUMBER) {
+      result = this.json.getInt();
+    } else if (this.event == Event.VALUE_STRING) {
+      result = parseInt(this.json.getString());
+    } else {
+      throw error("Expecting number but found boolean.");
+    }
+    next();
+    return result;
+  }
+
+  @Override
+  public long readValueAsLong(long defaultIfNull) {
+
+    require(StructuredState.VALUE);
+    long result;
+    if (this.event == Event.VALUE_NULL) {
+      result = defaultIfNull;
+    } else if (this.event == Event.VALUE_NUMBER) {
+      result = this.json.getLong();
+    } else if (this.event == Event.VALUE_STRING) {
+      result = parseLong(this.json.getString());
+    } else {
+      throw error("Expecting number but found boolean.");
+    }
+    next();
+    return result;
+  }
+
+  @Override
+  public double readValueAsDouble(double defaultIfNull) {
+
+    require(StructuredState.VALUE);
+    double result;
+    if (this.event == Event.VALUE_NULL) {
+      result = defaultIfNull;
+    } else if ((this.event == Event.VALUE_NUMBER) || (this.event == Event.VALUE_STRING)) {
+      // JSON-P has no primitive getter for double
+      result = parseDouble(this.json.getString());
+    } else {
+      throw error("Expecting number but found boolean.");
+    }
+    next();
+    return result;
+  }
+
   @Override
   protected void doClose() throws IOException {
 
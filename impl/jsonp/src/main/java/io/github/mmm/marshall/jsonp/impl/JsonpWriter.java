@@ -48,7 +48,11 @@ public class JsonpWriter extends AbstractStructuredWriter<StructuredNodeDefault>
   @Override
   protected StructuredNodeDefault newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    return new StructuredNodeDefault(this.node, type);
+    StructuredNodeDefault result = reuseNode(type);
+    if (result == null) {
+      result = new StructuredNodeDefault(this.node, type);
+    }
+    return result;
   }
 
   @Override
@@ -189,6 +193,12 @@ public class JsonpWriter extends AbstractStructuredWriter<StructuredNodeDefault>
     writeValueAsDouble(Double.parseDouble(Float.toString(value)));
   }
 
+  @Override
+  protected void doFlush() {
+
+    this.json.flush();
+  }
+
   @Override
   protected void doClose() throws IOException {
 
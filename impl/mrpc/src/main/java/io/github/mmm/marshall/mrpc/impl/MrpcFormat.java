@@ -4,6 +4,7 @@ package io.github.mmm.marshall.mrpc.impl;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.WireFormat;
@@ -12,7 +13,9 @@ import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredWriter;
+import io.github.mmm.marshall.StructuredWriterPool;
 import io.github.mmm.marshall.spi.AbstractStructuredBinaryIdBasedFormat;
+import io.github.mmm.marshall.spi.StructuredProcessorPool;
 
 /**
  * Implementation of {@link StructuredFormat} for mRPC.
@@ -27,8 +30,19 @@ public class MrpcFormat extends AbstractStructuredBinaryIdBasedFormat {
 
   static final int TYPE_END = WireFormat.WIRETYPE_END_GROUP;
 
+  /**
+   * Wire type for {@link java.math.BigDecimal} or {@link java.math.BigInteger} values that do not fit into a varint.
+   * The value is length delimited and contains the scale as zig-zag varint followed by the unscaled value as
+   * big-endian two's-complement bytes.
+   */
+  static final int TYPE_BIG_NUMBER = 7;
+
   private static final MrpcFormat DEFAULT = of(MarshallingConfig.DEFAULTS);
 
+  private final StructuredProcessorPool<MrpcWriter> writers;
+
+  private final StructuredWriterPool writerPool;
+
   /**
    * The constructor.
    *
@@ -38,6 +52,8 @@ public class MrpcFormat extends AbstractStructuredBinaryIdBasedFormat {
   public MrpcFormat(MarshallingConfig config) {
 
     super(config);
+    this.writers = new StructuredProcessorPool<>(this);
+    this.writerPool = this::pooledWriter;
   }
 
   @Override
@@ -58,6 +74,40 @@ public class MrpcFormat extends AbstractStructuredBinaryIdBasedFormat {
     return new MrpcWriter(CodedOutputStream.newInstance(out), this);
   }
 
+  @Override
+  public StructuredReader reader(byte[] data, int offset, int length) {
+
+    return new MrpcReader(data, offset, length, this);
+  }
+
+  @Override
+  public StructuredReader reader(ByteBuffer buffer) {
+
+    return new MrpcReader(buffer, this);
+  }
+
+  @Override
+  public StructuredWriter writer(ByteBuffer buffer) {
+
+    return new MrpcWriter(CodedOutputStream.newInstance(buffer), this);
+  }
+
+  @Override
+  public StructuredWriterPool writerPool() {
+
+    return this.writerPool;
+  }
+
+  private StructuredWriter pooledWriter(OutputStream out) {
+
+    MrpcWriter writer = this.writers.borrow();
+    if (writer == null) {
+      return this.writers.register(new MrpcWriter(out, this));
+    }
+    writer.reset(out);
+    return writer;
+  }
+
   /**
    * @return the default instance of {@link MrpcFormat}.
    */
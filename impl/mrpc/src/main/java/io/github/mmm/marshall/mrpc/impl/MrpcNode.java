@@ -11,8 +11,6 @@ import io.github.mmm.marshall.spi.StructuredNodeType;
  */
 public class MrpcNode extends StructuredNode<MrpcNode> {
 
-  StructuredIdMapping idMapping;
-
   MrpcNode(MrpcNode parent, StructuredNodeType type, StructuredIdMapping idMapping) {
 
     super(parent, type);
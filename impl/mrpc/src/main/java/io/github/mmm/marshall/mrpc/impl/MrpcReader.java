@@ -4,6 +4,9 @@ package io.github.mmm.marshall.mrpc.impl;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.WireFormat;
@@ -35,6 +38,8 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
 
   private int tag;
 
+  private int id;
+
   private int wireType;
 
   private int arrayItemCount;
@@ -47,17 +52,57 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
    */
   public MrpcReader(InputStream is, MrpcFormat format) {
 
+    this(CodedInputStream.newInstance(is), is, format);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param data the {@code byte[]} with the ProtoBuf content to parse.
+   * @param offset the index of the first byte to parse.
+   * @param length the number of bytes to parse.
+   * @param format the {@link #getFormat() format}.
+   */
+  public MrpcReader(byte[] data, int offset, int length, MrpcFormat format) {
+
+    this(CodedInputStream.newInstance(data, offset, length), null, format);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param buffer the {@link ByteBuffer} with the ProtoBuf content to parse from its {@link ByteBuffer#position()
+   *        position} to its {@link ByteBuffer#limit() limit}.
+   * @param format the {@link #getFormat() format}.
+   */
+  public MrpcReader(ByteBuffer buffer, MrpcFormat format) {
+
+    this(CodedInputStream.newInstance(buffer), null, format);
+  }
+
+  private MrpcReader(CodedInputStream in, InputStream is, MrpcFormat format) {
+
     super(format);
     this.is = is;
     // CodedInputStream does not let us peek a single lookahead byte without consuming it
-    this.in = CodedInputStream.newInstance(is);
+    this.in = in;
     this.wireType = TYPE_NONE;
   }
 
+  @Override
+  public int getId() {
+
+    return this.id;
+  }
+
   @Override
   protected MrpcNode newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    return new MrpcNode(this.node, type, null);
+    MrpcNode result = reuseNode(type);
+    if (result == null) {
+      result = new MrpcNode(this.node, type, null);
+    }
+    return result;
   }
 
   @Override
@@ -132,9 +177,11 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
       } else {
         this.wireType = WireFormat.getTagWireType(this.tag);
         int fieldNumber = WireFormat.getTagFieldNumber(this.tag);
+        this.id = 0;
         if (this.node.type == StructuredNodeType.ARRAY) {
           this.arrayItemCount = fieldNumber;
         } else if (fieldNumber > 0) {
+          this.id = fieldNumber;
           if (skipCount == 0) {
             this.name = this.node.idMapping.name(fieldNumber);
             assert (this.name != null);
@@ -213,6 +260,12 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
 
   private <V> V valueCompleted(V value) {
 
+    completeValue();
+    return value;
+  }
+
+  private void completeValue() {
+
     boolean hasArrayValue = false;
     if (this.arrayItemCount > 0) {
       this.arrayItemCount--;
@@ -226,7 +279,6 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
       setState(StructuredState.NULL);
       next();
     }
-    return value;
   }
 
   @Override
@@ -235,6 +287,12 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
     return this.wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED;
   }
 
+  @Override
+  public boolean isNullValue() {
+
+    return (getState() == StructuredState.VALUE) && (this.wireType == TYPE_NULL);
+  }
+
   @Override
   public Object readValue() {
 
@@ -248,6 +306,8 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
         return readValueAsDouble();
       case WireFormat.WIRETYPE_VARINT:
         return readValueAsLong();
+      case MrpcFormat.TYPE_BIG_NUMBER:
+        return readBigNumber();
       case TYPE_NULL:
         assert (this.arrayItemCount == 1);
         this.arrayItemCount--;
@@ -355,18 +415,139 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
     }
   }
 
+  @Override
+  public boolean readValueAsBoolean(boolean defaultIfNull) {
+
+    if (this.wireType == TYPE_NULL) {
+      this.arrayItemCount--;
+      completeValue();
+      return defaultIfNull;
+    }
+    if (this.wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+      return super.readValueAsBoolean(defaultIfNull);
+    }
+    expectType(WireFormat.WIRETYPE_VARINT);
+    try {
+      boolean value = this.in.readBool();
+      completeValue();
+      return value;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
+  @Override
+  public int readValueAsInteger(int defaultIfNull) {
+
+    if (this.wireType == TYPE_NULL) {
+      this.arrayItemCount--;
+      completeValue();
+      return defaultIfNull;
+    }
+    expectType(WireFormat.WIRETYPE_VARINT);
+    try {
+      int value = this.in.readSInt32();
+      completeValue();
+      return value;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
+  @Override
+  public long readValueAsLong(long defaultIfNull) {
+
+    if (this.wireType == TYPE_NULL) {
+      this.arrayItemCount--;
+      completeValue();
+      return defaultIfNull;
+    }
+    expectType(WireFormat.WIRETYPE_VARINT);
+    try {
+      long value = this.in.readSInt64();
+      completeValue();
+      return value;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
+  @Override
+  public double readValueAsDouble(double defaultIfNull) {
+
+    if (this.wireType == TYPE_NULL) {
+      this.arrayItemCount--;
+      completeValue();
+      return defaultIfNull;
+    }
+    expectType(WireFormat.WIRETYPE_FIXED64);
+    try {
+      double value = this.in.readDouble();
+      completeValue();
+      return value;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
   @Override
   protected <N extends Number> N readValueAsNumber(NumberType<N> numberType) {
 
     // for BigInteger or BigDecimal
-    String value = readValueAsString();
-    if (value == null) {
+    Number value;
+    if (this.wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+      // legacy encoding as decimal string
+      String string = readValueAsString();
+      try {
+        return numberType.valueOf(string);
+      } catch (RuntimeException e) {
+        throw error(string, numberType.getType(), e);
+      }
+    } else if (this.wireType == TYPE_NULL) {
+      this.arrayItemCount--;
+      completeValue();
       return null;
+    } else if (this.wireType == MrpcFormat.TYPE_BIG_NUMBER) {
+      value = readBigNumber();
+    } else {
+      value = readValueAsLong();
+    }
+    N result = numberType.valueOf(value, true);
+    if (result == null) {
+      throw error(value, numberType.getType());
     }
+    return result;
+  }
+
+  private Number readBigNumber() {
+
     try {
-      return numberType.valueOf(value);
-    } catch (RuntimeException e) {
-      throw error(value, numberType.getType(), e);
+      int length = this.in.readRawVarint32();
+      int start = this.in.getTotalBytesRead();
+      int scale = this.in.readSInt32();
+      int byteCount = length - (this.in.getTotalBytesRead() - start);
+      Number value;
+      if (byteCount <= 8) {
+        long unscaled = this.in.readRawByte(); // sign extension
+        for (int i = 1; i < byteCount; i++) {
+          unscaled = (unscaled << 8) | (this.in.readRawByte() & 0xFF);
+        }
+        if (scale == 0) {
+          value = BigInteger.valueOf(unscaled);
+        } else {
+          value = BigDecimal.valueOf(unscaled, scale);
+        }
+      } else {
+        BigInteger unscaled = new BigInteger(this.in.readRawBytes(byteCount));
+        if (scale == 0) {
+          value = unscaled;
+        } else {
+          value = new BigDecimal(unscaled, scale);
+        }
+      }
+      return valueCompleted(value);
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
     }
   }
 
@@ -383,8 +564,10 @@ public class MrpcReader extends AbstractStructuredBinaryReader<MrpcNode> {
   @Override
   protected void doClose() throws IOException {
 
-    this.is.close();
-    this.is = null;
+    if (this.is != null) {
+      this.is.close();
+      this.is = null;
+    }
     this.in = null;
   }
 
@@ -3,10 +3,10 @@
 package io.github.mmm.marshall.mrpc.impl;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
 
 import com.google.protobuf.CodedOutputStream;
@@ -18,6 +18,7 @@ import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.id.StructuredIdMapping;
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
 import io.github.mmm.marshall.spi.AbstractStructuredBinaryWriter;
+import io.github.mmm.marshall.spi.ResettableOutputStream;
 import io.github.mmm.marshall.spi.StructuredNodeType;
 
 /**
@@ -31,12 +32,35 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
 
   private final CodedOutputStream out;
 
-  private final List<Object> array;
+  /** The {@link ResettableOutputStream} below {@link #out} or {@code null} if this writer can not be reset. */
+  private final ResettableOutputStream target;
+
+  /** The buffered numeric or boolean array items as raw varint or fixed bits. */
+  private long[] arrayValues;
+
+  /** The buffered {@link String} array items. */
+  private String[] arrayStrings;
+
+  private int arraySize;
 
   private int arrayItemType;
 
   private int id;
 
+  /**
+   * The constructor.
+   *
+   * @param out the {@link OutputStream} to write the data to.
+   * @param format the {@link #getFormat()}.
+   */
+  public MrpcWriter(OutputStream out, MrpcFormat format) {
+
+    super(format);
+    this.target = new ResettableOutputStream(out);
+    this.out = CodedOutputStream.newInstance(this.target);
+    this.arrayItemType = -1;
+  }
+
   /**
    * The constructor.
    *
@@ -47,8 +71,29 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
 
     super(format);
     this.out = out;
-    this.array = new ArrayList<>();
+    this.target = null;
+    this.arrayItemType = -1;
+  }
+
+  /**
+   * Resets this writer for reuse after it has been {@link #close() closed}. The internal {@link CodedOutputStream} and
+   * its buffer are kept and only pointed to the new target.
+   *
+   * @param newOut the new {@link OutputStream} to write the data to.
+   */
+  public void reset(OutputStream newOut) {
+
+    if (this.target == null) {
+      throw new IllegalStateException("Writer not created for an OutputStream cannot be reset.");
+    }
+    reset();
+    this.target.reset(newOut);
+    if (this.arrayStrings != null) {
+      Arrays.fill(this.arrayStrings, 0, this.arraySize, null);
+    }
+    this.arraySize = 0;
     this.arrayItemType = -1;
+    this.id = 0;
   }
 
   @Override
@@ -59,7 +104,13 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
       idMapping = this.idMappingProvider.getMapping(object);
       Objects.requireNonNull(idMapping);
     }
-    return new MrpcNode(this.node, type, idMapping);
+    MrpcNode result = reuseNode(type);
+    if (result == null) {
+      result = new MrpcNode(this.node, type, idMapping);
+    } else {
+      result.idMapping = idMapping;
+    }
+    return result;
   }
 
   @Override
@@ -113,46 +164,91 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
 
     // in mRPC null values are omitted except in arrays...
     if (this.node.type == StructuredNodeType.ARRAY) {
+      try {
+        writeArrayBuffer();
+      } catch (IOException e) {
+        throw new RuntimeIoException(e);
+      }
       writeRawNull();
     }
     clearProperty();
   }
 
-  private void writeArrayItem(Object item, int type) {
+  private void writeArrayItem(long value, int type) {
+
+    try {
+      startArrayItem(type);
+      if (this.arrayValues == null) {
+        this.arrayValues = new long[16];
+      } else if (this.arraySize == this.arrayValues.length) {
+        this.arrayValues = Arrays.copyOf(this.arrayValues, this.arraySize * 2);
+      }
+      this.arrayValues[this.arraySize++] = value;
+      setState(StructuredState.VALUE);
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
+  private void writeArrayItem(String value) {
 
     try {
-      if (item == null) {
+      if (value == null) {
+        writeArrayBuffer();
         writeRawNull();
         return;
-      } else if (this.arrayItemType == -1) {
-        assert (this.array.isEmpty());
-        this.arrayItemType = type;
-        this.array.add(item);
-      } else if (this.arrayItemType == type) {
-        assert (!this.array.isEmpty());
-        this.array.add(item);
-      } else {
-        writeArrayBuffer();
-        this.arrayItemType = type;
-        this.array.add(item);
       }
+      startArrayItem(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+      if (this.arrayStrings == null) {
+        this.arrayStrings = new String[16];
+      } else if (this.arraySize == this.arrayStrings.length) {
+        this.arrayStrings = Arrays.copyOf(this.arrayStrings, this.arraySize * 2);
+      }
+      this.arrayStrings[this.arraySize++] = value;
       setState(StructuredState.VALUE);
     } catch (IOException e) {
       throw new RuntimeIoException(e);
     }
   }
 
+  private void startArrayItem(int type) throws IOException {
+
+    if ((this.arrayItemType != type) && (this.arraySize > 0)) {
+      writeArrayBuffer();
+    }
+    this.arrayItemType = type;
+  }
+
   private void writeArrayBuffer() throws IOException {
 
-    int size = this.array.size();
+    int size = this.arraySize;
     if (size == 0) {
       return;
     }
     this.out.writeTag(size, this.arrayItemType);
-    for (Object arrayItem : this.array) {
-      writeRawObject(arrayItem);
+    switch (this.arrayItemType) {
+      case WireFormat.WIRETYPE_LENGTH_DELIMITED:
+        for (int i = 0; i < size; i++) {
+          this.out.writeStringNoTag(this.arrayStrings[i]);
+          this.arrayStrings[i] = null;
+        }
+        break;
+      case WireFormat.WIRETYPE_FIXED32:
+        for (int i = 0; i < size; i++) {
+          this.out.writeFixed32NoTag((int) this.arrayValues[i]);
+        }
+        break;
+      case WireFormat.WIRETYPE_FIXED64:
+        for (int i = 0; i < size; i++) {
+          this.out.writeFixed64NoTag(this.arrayValues[i]);
+        }
+        break;
+      default: // varint already zig-zag encoded for numbers
+        for (int i = 0; i < size; i++) {
+          this.out.writeUInt64NoTag(this.arrayValues[i]);
+        }
     }
-    this.array.clear();
+    this.arraySize = 0;
     this.arrayItemType = -1;
   }
 
@@ -166,41 +262,11 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
     }
   }
 
-  private void writeRawObject(Object value) {
-
-    if (value instanceof String) {
-      writeRawString((String) value);
-    } else if (value instanceof Number) {
-      writeRawNumber((Number) value);
-    } else if (value instanceof Boolean b) {
-      writeRawBoolean(b.booleanValue());
-    } else if (value instanceof Enum e) {
-      writeRawInteger(e.ordinal());
-    }
-  }
-
-  private void writeRawNumber(Number value) {
-
-    if (value instanceof Integer) {
-      writeRawInteger(value.intValue());
-    } else if (value instanceof Long) {
-      writeRawLong(value.longValue());
-    } else if (value instanceof Double) {
-      writeRawDouble(value.doubleValue());
-    } else if (value instanceof Float) {
-      writeRawFloat(value.floatValue());
-    } else if (value instanceof Byte) {
-      writeRawInteger(value.intValue());
-    } else if (value instanceof Short) {
-      writeRawInteger(value.intValue());
-    }
-  }
-
   @Override
   public void writeValueAsString(String value) {
 
     if (this.node.type == StructuredNodeType.ARRAY) {
-      writeArrayItem(value, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+      writeArrayItem(value);
     } else if (value == null) {
       writeValueAsNull();
     } else {
@@ -227,7 +293,7 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
   public void writeValueAsBoolean(boolean value) {
 
     if (this.node.type == StructuredNodeType.ARRAY) {
-      writeArrayItem(Boolean.valueOf(value), WireFormat.WIRETYPE_VARINT);
+      writeArrayItem(value ? 1 : 0, WireFormat.WIRETYPE_VARINT);
     } else {
       writeRawBoolean(value);
       clearProperty();
@@ -254,8 +320,7 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
     if (value == null) {
       writeValueAsNull();
     } else {
-      // TODO represent more efficiently
-      writeValueAsString(value.toString());
+      writeBigNumber(value.unscaledValue(), value.scale());
     }
   }
 
@@ -265,8 +330,41 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
     if (value == null) {
       writeValueAsNull();
     } else {
-      // TODO represent more efficiently
-      writeValueAsString(value.toString());
+      writeBigNumber(value, 0);
+    }
+  }
+
+  private void writeBigNumber(BigInteger unscaled, int scale) {
+
+    int bitLength = unscaled.bitLength();
+    if ((scale == 0) && (bitLength < 64)) {
+      writeValueAsLong(unscaled.longValue());
+      return;
+    }
+    try {
+      int scaleSize = CodedOutputStream.computeSInt32SizeNoTag(scale);
+      // same length as BigInteger.toByteArray()
+      int byteCount = (bitLength / 8) + 1;
+      if (this.node.type == StructuredNodeType.ARRAY) {
+        writeArrayBuffer();
+        this.out.writeTag(1, MrpcFormat.TYPE_BIG_NUMBER);
+      } else if (this.id != 0) {
+        this.out.writeTag(this.id, MrpcFormat.TYPE_BIG_NUMBER);
+      }
+      this.out.writeUInt32NoTag(scaleSize + byteCount);
+      this.out.writeSInt32NoTag(scale);
+      if (bitLength < 64) {
+        long value = unscaled.longValue();
+        for (int shift = (byteCount - 1) * 8; shift >= 0; shift -= 8) {
+          this.out.write((byte) (value >> shift));
+        }
+      } else {
+        this.out.writeRawBytes(unscaled.toByteArray());
+      }
+      setState(StructuredState.VALUE);
+      clearProperty();
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
     }
   }
 
@@ -274,7 +372,7 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
   public void writeValueAsLong(long value) {
 
     if (this.node.type == StructuredNodeType.ARRAY) {
-      writeArrayItem(Long.valueOf(value), WireFormat.WIRETYPE_VARINT);
+      writeArrayItem(CodedOutputStream.encodeZigZag64(value), WireFormat.WIRETYPE_VARINT);
     } else {
       writeRawLong(value);
       clearProperty();
@@ -299,7 +397,7 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
   public void writeValueAsInteger(int value) {
 
     if (this.node.type == StructuredNodeType.ARRAY) {
-      writeArrayItem(Integer.valueOf(value), WireFormat.WIRETYPE_VARINT);
+      writeArrayItem(CodedOutputStream.encodeZigZag64(value), WireFormat.WIRETYPE_VARINT);
     } else {
       writeRawInteger(value);
       clearProperty();
@@ -324,7 +422,7 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
   public void writeValueAsDouble(double value) {
 
     if (this.node.type == StructuredNodeType.ARRAY) {
-      writeArrayItem(Double.valueOf(value), WireFormat.WIRETYPE_FIXED64);
+      writeArrayItem(Double.doubleToRawLongBits(value), WireFormat.WIRETYPE_FIXED64);
     } else {
       writeRawDouble(value);
       clearProperty();
@@ -349,7 +447,7 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
   public void writeValueAsFloat(float value) {
 
     if (this.node.type == StructuredNodeType.ARRAY) {
-      writeArrayItem(Float.valueOf(value), WireFormat.WIRETYPE_FIXED32);
+      writeArrayItem(Float.floatToRawIntBits(value), WireFormat.WIRETYPE_FIXED32);
     } else {
       writeRawFloat(value);
       clearProperty();
@@ -370,6 +468,121 @@ public class MrpcWriter extends AbstractStructuredBinaryWriter<MrpcNode> {
     }
   }
 
+  @Override
+  public void writeArray(int[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    if (array.length > 0) {
+      try {
+        // a single run prefixed with the number of items
+        this.out.writeTag(array.length, WireFormat.WIRETYPE_VARINT);
+        for (int item : array) {
+          this.out.writeSInt32NoTag(item);
+        }
+      } catch (IOException e) {
+        throw new RuntimeIoException(e);
+      }
+      setState(StructuredState.VALUE);
+    }
+    writeEnd();
+  }
+
+  @Override
+  public void writeArray(long[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    if (array.length > 0) {
+      try {
+        // a single run prefixed with the number of items
+        this.out.writeTag(array.length, WireFormat.WIRETYPE_VARINT);
+        for (long item : array) {
+          this.out.writeSInt64NoTag(item);
+        }
+      } catch (IOException e) {
+        throw new RuntimeIoException(e);
+      }
+      setState(StructuredState.VALUE);
+    }
+    writeEnd();
+  }
+
+  @Override
+  public void writeArray(double[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    if (array.length > 0) {
+      try {
+        // a single run prefixed with the number of items
+        this.out.writeTag(array.length, WireFormat.WIRETYPE_FIXED64);
+        for (double item : array) {
+          this.out.writeDoubleNoTag(item);
+        }
+      } catch (IOException e) {
+        throw new RuntimeIoException(e);
+      }
+      setState(StructuredState.VALUE);
+    }
+    writeEnd();
+  }
+
+  @Override
+  public void writeArray(float[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    if (array.length > 0) {
+      try {
+        // a single run prefixed with the number of items
+        this.out.writeTag(array.length, WireFormat.WIRETYPE_FIXED32);
+        for (float item : array) {
+          this.out.writeFloatNoTag(item);
+        }
+      } catch (IOException e) {
+        throw new RuntimeIoException(e);
+      }
+      setState(StructuredState.VALUE);
+    }
+    writeEnd();
+  }
+
+  @Override
+  public void writeArray(byte[] array) {
+
+    if (array == null) {
+      writeValueAsNull();
+      return;
+    }
+    writeStartArray();
+    if (array.length > 0) {
+      try {
+        // a single run prefixed with the number of items
+        this.out.writeTag(array.length, WireFormat.WIRETYPE_VARINT);
+        for (byte item : array) {
+          this.out.writeSInt32NoTag(item);
+        }
+      } catch (IOException e) {
+        throw new RuntimeIoException(e);
+      }
+      setState(StructuredState.VALUE);
+    }
+    writeEnd();
+  }
+
   @Override
   protected void doClose() throws IOException {
 
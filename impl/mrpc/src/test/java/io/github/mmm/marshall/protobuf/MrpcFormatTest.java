@@ -39,7 +39,7 @@ class MrpcFormatTest extends StructuredBinaryFormatTest {
   @Override
   protected String getExpectedData() {
 
-    return "0a03626172121b313939392d31322d33315432333a35393a35392e3939393939395a1e20010101e9f0e0fd5b0d6666864009f6285c8fc23545401a1f302e3132333435363738393031323334353637383930313233343536373839283132333435363738393031323334353637383930313233343536373839303132333435363738393004312e313006030a0576616c75650404042604";
+    return "0a03626172121b313939392d31322d33315432333a35393a35392e3939393939395a1e20010101e9f0e0fd5b0d6666864009f6285c8fc23545400f0d3a27e41b3246bec9b16e3981150f120003a0c92075c0dbf3b8acbc5f96ce3f0ad20f02046e06030a0576616c75650404042604";
   }
 
   @Override
@@ -27,6 +27,26 @@ public class ProtoBufFormatProvider extends AbstractStructuredFormatProvider
    */
   public static final VariableDefinition<Boolean> VAR_USE_GROUPS = new VariableDefinition<>("use-groups", Boolean.TRUE);
 
+  /**
+   * {@link VariableDefinition} to configure if arrays with only numeric values of the same wire type should be written
+   * as packed repeated field (one length delimited field with all values) as in proto3. A packed field can not be
+   * distinguished from a string on the wire so it can only be read if the element type is known when reading (e.g.
+   * {@link io.github.mmm.marshall.StructuredReader#readValueAsInteger()} or
+   * {@link io.github.mmm.marshall.StructuredReader#readIntArray()}) but not via generic
+   * {@link io.github.mmm.marshall.StructuredReader#readValue()}. Therefore it is disabled by default.
+   */
+  public static final VariableDefinition<Boolean> VAR_PACKED = new VariableDefinition<>("packed", Boolean.FALSE);
+
+  /**
+   * {@link VariableDefinition} to configure if {@link java.math.BigDecimal} and {@link java.math.BigInteger} values
+   * should be written in a compact binary form instead of decimal strings. Values with a scale of zero that fit into a
+   * {@code long} are written as varint, all others as length delimited field with the scale as zig-zag varint followed
+   * by the unscaled value as big-endian two's-complement bytes. As other ProtoBuf implementations do not know this
+   * encoding it is disabled by default and has to be configured equally for reading and writing.
+   */
+  public static final VariableDefinition<Boolean> VAR_COMPACT_BIG_NUMBERS = new VariableDefinition<>(
+      "compact-big-numbers", Boolean.FALSE);
+
   @Override
   public String getId() {
 
@@ -4,14 +4,18 @@ package io.github.mmm.marshall.protobuf.impl;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 
 import com.google.protobuf.WireFormat;
 
+import io.github.mmm.marshall.MarshallableObject;
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredWriter;
+import io.github.mmm.marshall.StructuredWriterPool;
 import io.github.mmm.marshall.spi.AbstractStructuredBinaryIdBasedFormat;
+import io.github.mmm.marshall.spi.StructuredProcessorPool;
 
 /**
  * Implementation of {@link StructuredFormat} for ProtoBuf/gRPC.
@@ -31,6 +35,10 @@ public class ProtoBufFormat extends AbstractStructuredBinaryIdBasedFormat {
 
   private static final ProtoBufFormat DEFAULT = of(MarshallingConfig.DEFAULTS);
 
+  private final StructuredProcessorPool<ProtoBufWriter> writers;
+
+  private final StructuredWriterPool writerPool;
+
   /**
    * The constructor.
    *
@@ -40,6 +48,8 @@ public class ProtoBufFormat extends AbstractStructuredBinaryIdBasedFormat {
   public ProtoBufFormat(MarshallingConfig config) {
 
     super(config);
+    this.writers = new StructuredProcessorPool<>(this);
+    this.writerPool = this::pooledWriter;
   }
 
   @Override
@@ -60,6 +70,46 @@ public class ProtoBufFormat extends AbstractStructuredBinaryIdBasedFormat {
     return new ProtoBufWriter(out, this);
   }
 
+  @Override
+  public StructuredReader reader(byte[] data, int offset, int length) {
+
+    return new ProtoBufReader(data, offset, length, this);
+  }
+
+  @Override
+  public StructuredReader reader(ByteBuffer buffer) {
+
+    return new ProtoBufReader(buffer, this);
+  }
+
+  @Override
+  public StructuredWriter writer(ByteBuffer buffer) {
+
+    return new ProtoBufWriter(buffer, this);
+  }
+
+  @Override
+  public long computeSize(MarshallableObject object) {
+
+    return new ProtoBufWriter(this).computeSize(object);
+  }
+
+  @Override
+  public StructuredWriterPool writerPool() {
+
+    return this.writerPool;
+  }
+
+  private StructuredWriter pooledWriter(OutputStream out) {
+
+    ProtoBufWriter writer = this.writers.borrow();
+    if (writer == null) {
+      return this.writers.register(new ProtoBufWriter(out, this));
+    }
+    writer.reset(out);
+    return writer;
+  }
+
   /**
    * @return the default instance of {@link ProtoBufFormat}.
    */
@@ -6,7 +6,11 @@ import io.github.mmm.marshall.spi.StructuredNodeType;
 
 final class ProtoBufNode extends StructuredNode<ProtoBufNode> {
 
-  StructuredIdMapping idMapping;
+  /** {@link #packedWireType} if no item has been written to the array so far. */
+  static final int PACKED_EMPTY = -1;
+
+  /** {@link #packedWireType} if the array has items that can not be packed together. */
+  static final int PACKED_MIXED = -2;
 
   int id;
 
@@ -14,7 +18,11 @@ final class ProtoBufNode extends StructuredNode<ProtoBufNode> {
 
   int end;
 
-  int sizeOverhead;
+  /** The index of the pre-computed size of a length-delimited object or {@code -1} if its payload is buffered. */
+  int sizeIndex;
+
+  /** The wire type of the numeric items of an array written so far or {@link #PACKED_EMPTY}/{@link #PACKED_MIXED}. */
+  int packedWireType;
 
   /** {@code true} if this is an explicitly encoded object or array that needs to be terminated with END_GROUP. */
   boolean explicit;
@@ -29,6 +37,19 @@ final class ProtoBufNode extends StructuredNode<ProtoBufNode> {
     super(parent, type);
     this.idMapping = idMapping;
     this.end = end;
+    this.packedWireType = PACKED_EMPTY;
+  }
+
+  @Override
+  protected void reset(StructuredNodeType newType) {
+
+    super.reset(newType);
+    this.id = 0;
+    this.start = 0;
+    this.end = Integer.MAX_VALUE;
+    this.sizeIndex = 0;
+    this.packedWireType = PACKED_EMPTY;
+    this.explicit = false;
   }
 
   /**
@@ -4,6 +4,9 @@ package io.github.mmm.marshall.protobuf.impl;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 import com.google.protobuf.CodedInputStream;
@@ -30,6 +33,9 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
 
   private final boolean useGroups;
 
+  /** @see ProtoBufFormatProvider#VAR_COMPACT_BIG_NUMBERS */
+  private final boolean compactBigNumbers;
+
   private CodedInputStream in;
 
   private InputStream is;
@@ -40,6 +46,12 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
 
   private int wireType;
 
+  /** The position after the packed repeated field currently read or {@code -1} if not reading a packed field. */
+  private int packedEnd;
+
+  /** The tag of the items of the packed repeated field currently read. */
+  private int packedTag;
+
   /**
    * The constructor.
    *
@@ -48,11 +60,43 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
    */
   public ProtoBufReader(InputStream is, ProtoBufFormat format) {
 
+    this(CodedInputStream.newInstance(is), is, format);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param data the {@code byte[]} with the ProtoBuf content to parse.
+   * @param offset the index of the first byte to parse.
+   * @param length the number of bytes to parse.
+   * @param format the {@link #getFormat() format}.
+   */
+  public ProtoBufReader(byte[] data, int offset, int length, ProtoBufFormat format) {
+
+    this(CodedInputStream.newInstance(data, offset, length), null, format);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param buffer the {@link ByteBuffer} with the ProtoBuf content to parse from its {@link ByteBuffer#position()
+   *        position} to its {@link ByteBuffer#limit() limit}.
+   * @param format the {@link #getFormat() format}.
+   */
+  public ProtoBufReader(ByteBuffer buffer, ProtoBufFormat format) {
+
+    this(CodedInputStream.newInstance(buffer), null, format);
+  }
+
+  private ProtoBufReader(CodedInputStream in, InputStream is, ProtoBufFormat format) {
+
     super(format);
-    this.useGroups = format.getConfig().getBoolean(ProtoBufFormatProvider.VAR_USE_GROUPS);
     this.is = is;
-    this.in = CodedInputStream.newInstance(is);
+    this.in = in;
+    this.useGroups = format.getConfig().getBoolean(ProtoBufFormatProvider.VAR_USE_GROUPS);
+    this.compactBigNumbers = format.getConfig().getBoolean(ProtoBufFormatProvider.VAR_COMPACT_BIG_NUMBERS);
     this.wireType = -1;
+    this.packedEnd = -1;
   }
 
   @Override
@@ -64,8 +108,10 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
   @Override
   protected ProtoBufNode newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    ProtoBufNode newNode = new ProtoBufNode(this.node, type, null);
-    newNode.end = Integer.MAX_VALUE;
+    ProtoBufNode newNode = reuseNode(type);
+    if (newNode == null) {
+      newNode = new ProtoBufNode(this.node, type, null);
+    }
     return newNode;
   }
 
@@ -124,6 +170,19 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
   private StructuredState readTag(boolean skip) throws IOException {
 
     StructuredState state = getState();
+    if (this.packedEnd >= 0) {
+      if (this.in.getTotalBytesRead() < this.packedEnd) {
+        // next item of packed repeated field
+        this.tag = this.packedTag;
+        this.id = WireFormat.getTagFieldNumber(this.tag);
+        this.wireType = WireFormat.getTagWireType(this.tag);
+        if (!skip) {
+          this.name = this.node.getIdMapping().name(this.id);
+        }
+        return setState(StructuredState.VALUE);
+      }
+      this.packedEnd = -1;
+    }
     if (!this.useGroups && (this.node.type == StructuredNodeType.OBJECT)
         && (this.encodeRootObject || (this.node.parent != null))) {
       int position = this.in.getTotalBytesRead();
@@ -177,6 +236,11 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
     return state;
   }
 
+  private static int makeTag(int fieldNumber, int type) {
+
+    return (fieldNumber << 3) | type;
+  }
+
   private void clearTag() {
 
     this.tag = 0;
@@ -232,7 +296,7 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
       if (this.node.type == StructuredNodeType.ARRAY) {
         throw new IllegalStateException("TODO nested arrays currently not supported!");
       }
-      this.node = new ProtoBufNode(this.node, StructuredNodeType.ARRAY, null);
+      this.node = newNode(StructuredNodeType.ARRAY, null);
       assert (this.id > 0);
       this.node.id = this.id; // we read arrays as repeatable fields - mixed order of IDs is not supported
       return true;
@@ -263,12 +327,17 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
 
   private <V> V valueCompleted(V value) {
 
+    completeValue();
+    return value;
+  }
+
+  private void completeValue() {
+
     clearTag();
     if (getState() != StructuredState.VALUE) {
       setState(StructuredState.VALUE);
     }
     next();
-    return value;
   }
 
   @Override
@@ -277,6 +346,13 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
     return (getState() == StructuredState.VALUE) && (this.wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED);
   }
 
+  @Override
+  public boolean isNullValue() {
+
+    // ProtoBuf has no null values, they are simply omitted
+    return false;
+  }
+
   @Override
   public Object readValue() {
 
@@ -297,6 +373,19 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
 
   private void expectType(int type) {
 
+    if ((this.wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) && (type != WireFormat.WIRETYPE_LENGTH_DELIMITED)
+        && (this.packedEnd < 0) && (this.node.type == StructuredNodeType.ARRAY)) {
+      // numeric array items encoded as packed repeated field
+      try {
+        int length = this.in.readRawVarint32();
+        this.packedEnd = this.in.getTotalBytesRead() + length;
+      } catch (IOException e) {
+        throw new RuntimeIoException(e);
+      }
+      this.wireType = type;
+      this.tag = makeTag(this.id, type);
+      this.packedTag = this.tag;
+    }
     if ((this.wireType != type) && (this.wireType != -1)) {
       error("Expected wire type " + type + " but actual type was " + this.wireType);
     }
@@ -393,10 +482,73 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
     }
   }
 
+  @Override
+  public boolean readValueAsBoolean(boolean defaultIfNull) {
+
+    if (this.wireType == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+      return super.readValueAsBoolean(defaultIfNull);
+    }
+    expectType(WireFormat.WIRETYPE_VARINT);
+    try {
+      boolean value = this.in.readBool();
+      completeValue();
+      return value;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
+  @Override
+  public int readValueAsInteger(int defaultIfNull) {
+
+    expectType(WireFormat.WIRETYPE_VARINT);
+    try {
+      int value = this.in.readSInt32();
+      completeValue();
+      return value;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
+  @Override
+  public long readValueAsLong(long defaultIfNull) {
+
+    expectType(WireFormat.WIRETYPE_VARINT);
+    try {
+      long value = this.in.readSInt64();
+      completeValue();
+      return value;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
+  @Override
+  public double readValueAsDouble(double defaultIfNull) {
+
+    expectType(WireFormat.WIRETYPE_FIXED64);
+    try {
+      double value = this.in.readDouble();
+      completeValue();
+      return value;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
   @Override
   protected <N extends Number> N readValueAsNumber(NumberType<N> numberType) {
 
     // for BigInteger or BigDecimal
+    if (this.compactBigNumbers) {
+      Number value = readBigNumber();
+      N result = numberType.valueOf(value, true);
+      if (result == null) {
+        throw error(value, numberType.getType());
+      }
+      return result;
+    }
     String value = readValueAsString();
     if (value == null) {
       return null;
@@ -408,6 +560,42 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
     }
   }
 
+  private Number readBigNumber() {
+
+    try {
+      if (this.wireType == WireFormat.WIRETYPE_VARINT) {
+        return valueCompleted(BigInteger.valueOf(this.in.readSInt64()));
+      }
+      expectType(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+      int length = this.in.readRawVarint32();
+      int start = this.in.getTotalBytesRead();
+      int scale = this.in.readSInt32();
+      int byteCount = length - (this.in.getTotalBytesRead() - start);
+      Number value;
+      if (byteCount <= 8) {
+        long unscaled = this.in.readRawByte(); // sign extension
+        for (int i = 1; i < byteCount; i++) {
+          unscaled = (unscaled << 8) | (this.in.readRawByte() & 0xFF);
+        }
+        if (scale == 0) {
+          value = BigInteger.valueOf(unscaled);
+        } else {
+          value = BigDecimal.valueOf(unscaled, scale);
+        }
+      } else {
+        BigInteger unscaled = new BigInteger(this.in.readRawBytes(byteCount));
+        if (scale == 0) {
+          value = unscaled;
+        } else {
+          value = new BigDecimal(unscaled, scale);
+        }
+      }
+      return valueCompleted(value);
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
   @Override
   public void skipValue() {
 
@@ -430,8 +618,10 @@ public class ProtoBufReader extends AbstractStructuredBinaryReader<ProtoBufNode>
   @Override
   protected void doClose() throws IOException {
 
-    this.is.close();
-    this.is = null;
+    if (this.is != null) {
+      this.is.close();
+      this.is = null;
+    }
     this.in = null;
   }
 
@@ -7,22 +7,30 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Objects;
 
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.WireFormat;
 
 import io.github.mmm.base.exception.RuntimeIoException;
+import io.github.mmm.marshall.MarshallableObject;
 import io.github.mmm.marshall.StructuredState;
 import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.id.StructuredIdMapping;
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
 import io.github.mmm.marshall.protobuf.ProtoBufFormatProvider;
 import io.github.mmm.marshall.spi.AbstractStructuredBinaryWriter;
+import io.github.mmm.marshall.spi.ResettableOutputStream;
 import io.github.mmm.marshall.spi.StructuredNodeType;
 
 /**
- * Implementation of {@link StructuredWriter} for ProtoBuf/gRPC.
+ * Implementation of {@link StructuredWriter} for ProtoBuf/gRPC.<br>
+ * Without {@link ProtoBufFormatProvider#VAR_USE_GROUPS groups} objects are length-delimited. When a
+ * {@link MarshallableObject} is written via {@link #writeValue(Object)} a sizing pre-pass computes the sizes of all its
+ * objects upfront so they are written directly to the target without buffering. Otherwise the payload of each object
+ * is buffered until its end.
  *
  * @see ProtoBufFormat
  *
@@ -30,21 +38,44 @@ import io.github.mmm.marshall.spi.StructuredNodeType;
  */
 public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode> {
 
-  private static final byte ZERO = 0;
-
   private final boolean useGroups;
 
-  private /* final */ OutputStream os;
+  /** @see ProtoBufFormatProvider#VAR_PACKED */
+  private final boolean packed;
 
-  private /* final */ CodedOutputStream finalOut;
+  /** @see ProtoBufFormatProvider#VAR_COMPACT_BIG_NUMBERS */
+  private final boolean compactBigNumbers;
 
-  private CodedOutputStream out;
+  /** {@code true} if this writer only counts the bytes to compute the {@link #sizes} of length-delimited objects. */
+  private final boolean sizing;
 
-  private /* final */ ByteArrayOutputStream baos;
+  /** The {@link ResettableOutputStream} below {@link #finalOut} or {@code null} if this writer can not be reset. */
+  private final ResettableOutputStream os;
+
+  private final CodedOutputStream finalOut;
+
+  private CodedOutputStream out;
 
   private int id;
 
-  private final SizeFix firstFix;
+  /** The sizes of the length-delimited objects in the order they are started. */
+  private int[] sizes;
+
+  private int sizeCount;
+
+  private int sizeIndex;
+
+  private ProtoBufWriter sizeWriter;
+
+  /** The stack of buffers for length-delimited objects with unknown size. */
+  private ObjectBuffer[] buffers;
+
+  private int bufferCount;
+
+  /** The numeric array items buffered for packed encoding (floating point values as raw bits). */
+  private long[] packedValues;
+
+  private int packedCount;
 
   /**
    * The constructor.
@@ -54,12 +85,93 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
    */
   public ProtoBufWriter(OutputStream os, ProtoBufFormat format) {
 
+    this(new ResettableOutputStream(os), format);
+  }
+
+  private ProtoBufWriter(ResettableOutputStream os, ProtoBufFormat format) {
+
+    this(CodedOutputStream.newInstance(os), os, format, false);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param buffer the {@link ByteBuffer} to write the data to directly starting at its {@link ByteBuffer#position()
+   *        position}.
+   * @param format the {@link #getFormat()}.
+   */
+  public ProtoBufWriter(ByteBuffer buffer, ProtoBufFormat format) {
+
+    this(CodedOutputStream.newInstance(buffer), null, format, false);
+  }
+
+  /**
+   * The constructor for a writer that does not write any data but only {@link #computeSize(MarshallableObject)
+   * computes the size}.
+   *
+   * @param format the {@link #getFormat()}.
+   */
+  ProtoBufWriter(ProtoBufFormat format) {
+
+    this(newSizingOut(), null, format, true);
+    this.sizes = new int[16];
+  }
+
+  private ProtoBufWriter(CodedOutputStream out, ResettableOutputStream os, ProtoBufFormat format, boolean sizing) {
+
     super(format);
     this.useGroups = format.getConfig().getBoolean(ProtoBufFormatProvider.VAR_USE_GROUPS);
+    this.packed = format.getConfig().getBoolean(ProtoBufFormatProvider.VAR_PACKED);
+    this.compactBigNumbers = format.getConfig().getBoolean(ProtoBufFormatProvider.VAR_COMPACT_BIG_NUMBERS);
+    this.sizing = sizing;
     this.os = os;
-    this.finalOut = CodedOutputStream.newInstance(os);
+    this.finalOut = out;
+    this.out = this.finalOut;
+  }
+
+  private static CodedOutputStream newSizingOut() {
+
+    return CodedOutputStream.newInstance(OutputStream.nullOutputStream(), 256);
+  }
+
+  /**
+   * Resets this writer for reuse after it has been {@link #close() closed}. The internal {@link CodedOutputStream} and
+   * its buffer are kept and only pointed to the new target.
+   *
+   * @param newOs the new {@link OutputStream} to write the data to.
+   */
+  public void reset(OutputStream newOs) {
+
+    if (this.os == null) {
+      throw new IllegalStateException("Writer not created for an OutputStream cannot be reset.");
+    }
+    this.os.reset(newOs);
+    resetState();
+  }
+
+  private void resetState() {
+
+    reset();
     this.out = this.finalOut;
-    this.firstFix = new SizeFix(0, -1); // dummy for the first size
+    this.id = 0;
+    this.bufferCount = 0;
+    this.packedCount = 0;
+    if (!this.sizing) {
+      this.sizes = null;
+    }
+  }
+
+  /**
+   * @param object the {@link MarshallableObject} to measure. This writer has to be created for sizing.
+   * @return the number of bytes for writing the given {@link MarshallableObject}.
+   */
+  int computeSize(MarshallableObject object) {
+
+    resetState();
+    this.sizeCount = 0;
+    int start = this.finalOut.getTotalBytesWritten();
+    object.write(this);
+    return this.out.getTotalBytesWritten() - start;
   }
 
   @Override
@@ -70,32 +182,32 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
       idMapping = this.idMappingProvider.getMapping(object);
       Objects.requireNonNull(idMapping);
     }
-    ProtoBufNode newState = new ProtoBufNode(this.node, type, idMapping);
+    ProtoBufNode newState = reuseNode(type);
+    if (newState == null) {
+      newState = new ProtoBufNode(this.node, type, idMapping);
+    } else {
+      newState.idMapping = idMapping;
+    }
     newState.id = getTagId();
     try {
+      writeUnpacked();
       if (type == StructuredNodeType.ARRAY) {
         if ((this.node != null) && (this.node.type == StructuredNodeType.ARRAY)) {
           // nested array must be encoded explicitly
           this.out.writeTag(newState.id, ProtoBufFormat.TYPE_START_ARRAY);
         }
-      } else if ((type == StructuredNodeType.OBJECT) && (this.encodeRootObject || (this.node.parent != null))) {
+      } else if (type == StructuredNodeType.OBJECT) {
+        boolean encoded = this.encodeRootObject || (this.node.parent != null);
         if (this.useGroups) {
-          this.out.writeTag(newState.id, ProtoBufFormat.TYPE_START_OBJECT);
-        } else {
-          this.out.writeTag(newState.id, WireFormat.WIRETYPE_LENGTH_DELIMITED);
-          this.out.flush();
-          if (this.baos == null) {
-            this.baos = new ByteArrayOutputStream(512);
-            this.out = CodedOutputStream.newInstance(this.baos);
+          if (encoded) {
+            this.out.writeTag(newState.id, ProtoBufFormat.TYPE_START_OBJECT);
           }
-          newState.start = this.out.getTotalBytesWritten();
-          if (this.node.parent != null) {
-            // This is the size that we do not know upfront, we write a zero byte as placeholder into our buffer.
-            // If we are lucky the actual size will fit into a single byte and we can later just replace it.
-            // Otherwise, we create an instance of SizeFix to record the position together with the correct size.
-            // At the end we have to stop array copy at these recorded byte positions and instead of these zero bytes
-            // insert the correctly encoded size.
-            this.out.write(ZERO);
+        } else {
+          // every object takes a size slot (even an unencoded root object) so both passes stay in sync
+          int index = nextSizeIndex();
+          if (encoded) {
+            this.out.writeTag(newState.id, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            startLengthDelimited(newState, index);
           }
         }
       }
@@ -125,43 +237,14 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
         if (this.useGroups) {
           this.out.writeTag(this.node.id, ProtoBufFormat.TYPE_END);
         } else {
-          this.out.flush();
-          this.node.end = this.out.getTotalBytesWritten();
-          int size = this.node.end - this.node.start + this.node.sizeOverhead;
-          if (rootObject || (this.node.parent.parent.parent == null)) {
-            // payload was only written to buffer, we need to write it to finalOut now
-            // write size of object
-            this.finalOut.writeUInt32NoTag(size);
-            byte[] payload = this.baos.toByteArray();
-            int startIndex = 0;
-            SizeFix fix = this.firstFix.next;
-            while (fix != null) {
-              if (fix.size < 128) {
-                // size fits into a single byte so we can just update that byte directly
-                payload[fix.offset] = (byte) fix.size;
-              } else {
-                int endIndex = fix.offset;
-                this.finalOut.write(payload, startIndex, endIndex - startIndex);
-                this.finalOut.writeUInt32NoTag(fix.size);
-                startIndex = endIndex + 1;
-              }
-              fix = fix.next;
-            }
-            // write till the end
-            this.finalOut.write(payload, startIndex, payload.length - startIndex);
-            if (!rootObject) {
-              this.baos.reset();
-              this.firstFix.next = null;
-            }
-          } else {
-            int bytes = CodedOutputStream.computeUInt32SizeNoTag(size);
-            if (bytes > 1) { // size > 127 ?
-              this.node.parent.sizeOverhead += (bytes - 1) + this.node.sizeOverhead;
-            }
-            this.firstFix.append(this.node.start, size);
-          }
+          endLengthDelimited();
         }
       } else if (type == StructuredNodeType.ARRAY) {
+        int packedType = this.node.packedWireType;
+        if (packedType >= 0) {
+          // homogeneous numeric array - only worth packing for more than one item
+          writeBufferedValues(packedType, this.packedCount > 1);
+        }
         if ((this.node.parent != null) && (this.node.parent.type == StructuredNodeType.ARRAY)) { // nested array?
           this.out.writeTag(this.node.id, ProtoBufFormat.TYPE_END);
         }
@@ -218,41 +301,293 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
     this.id = newId;
   }
 
-  private int flushIfEos() throws IOException {
-
-    if (this.baos != null) {
-    }
-    this.out.flush();
-    this.node.end = this.out.getTotalBytesWritten();
-    int size = this.node.end - this.node.start + this.node.sizeOverhead;
-    if (this.node.parent == null) {
-      if (this.baos != null) {
-        // payload was only written to buffer, we need to write it to finalOut now
-        // write size of root array/object
-        this.finalOut.writeUInt32NoTag(size);
-        byte[] payload = this.baos.toByteArray();
-        int startIndex = 0;
-        SizeFix fix = this.firstFix.next;
-        while (fix != null) {
-          if (fix.size < 128) {
-            // size fits into a single byte so we can just update that byte directly
-            payload[fix.offset] = (byte) fix.size;
-          } else {
-            int endIndex = fix.offset;
-            this.finalOut.write(payload, startIndex, endIndex - startIndex);
-            this.finalOut.writeUInt32NoTag(fix.size);
-            startIndex = endIndex + 1;
-          }
-          fix = fix.next;
+  private int nextSizeIndex() {
+
+    if (this.sizing) {
+      if (this.sizeCount == this.sizes.length) {
+        this.sizes = Arrays.copyOf(this.sizes, this.sizeCount * 2);
+      }
+      return this.sizeCount++;
+    } else if (this.sizes != null) {
+      if (this.sizeIndex >= this.sizeCount) {
+        throw new IllegalStateException("More objects written than counted by the sizing pre-pass!");
+      }
+      return this.sizeIndex++;
+    }
+    return -1;
+  }
+
+  private void startLengthDelimited(ProtoBufNode newState, int index) throws IOException {
+
+    newState.sizeIndex = index;
+    if (index < 0) {
+      // size is unknown so we have to buffer the payload until the end of the object
+      if (this.buffers == null) {
+        this.buffers = new ObjectBuffer[4];
+      } else if (this.bufferCount == this.buffers.length) {
+        this.buffers = Arrays.copyOf(this.buffers, this.bufferCount * 2);
+      }
+      ObjectBuffer buffer = this.buffers[this.bufferCount];
+      if (buffer == null) {
+        buffer = new ObjectBuffer();
+        this.buffers[this.bufferCount] = buffer;
+      }
+      this.bufferCount++;
+      buffer.parentOut = this.out;
+      this.out = buffer.out;
+    } else {
+      if (!this.sizing) {
+        this.out.writeUInt32NoTag(this.sizes[index]);
+      }
+      newState.start = this.out.getTotalBytesWritten();
+    }
+  }
+
+  private void endLengthDelimited() throws IOException {
+
+    int index = this.node.sizeIndex;
+    if (index < 0) {
+      ObjectBuffer buffer = this.buffers[--this.bufferCount];
+      this.out = buffer.parentOut;
+      buffer.writeTo(this.out);
+    } else {
+      int size = this.out.getTotalBytesWritten() - this.node.start;
+      if (this.sizing) {
+        this.sizes[index] = size;
+        // only counted so it does not matter that the size is written after the payload
+        this.out.writeUInt32NoTag(size);
+      } else if (size != this.sizes[index]) {
+        throw new IllegalStateException(
+            "Object has " + size + " bytes but sizing pre-pass computed " + this.sizes[index] + " bytes!");
+      }
+    }
+  }
+
+  /**
+   * Buffers the given numeric array item so a homogeneous numeric array can be written packed as a single
+   * length-delimited field.
+   *
+   * @param wireType the {@link WireFormat wire type} of the value.
+   * @param value the value to buffer (floating point values as raw bits).
+   * @return {@code true} if the value has been buffered, {@code false} if it has to be written directly.
+   * @throws IOException on error.
+   */
+  private boolean pack(int wireType, long value) throws IOException {
+
+    if (!this.packed || (this.node.type != StructuredNodeType.ARRAY)) {
+      return false;
+    }
+    int packedType = this.node.packedWireType;
+    if (packedType == ProtoBufNode.PACKED_EMPTY) {
+      this.node.packedWireType = wireType;
+    } else if (packedType != wireType) {
+      writeUnpacked();
+      return false;
+    }
+    if (this.packedValues == null) {
+      this.packedValues = new long[64];
+    } else if (this.packedCount == this.packedValues.length) {
+      this.packedValues = Arrays.copyOf(this.packedValues, this.packedCount * 2);
+    }
+    this.packedValues[this.packedCount++] = value;
+    return true;
+  }
+
+  /**
+   * Called before an item is written that can not be packed to write the buffered items as regular repeated fields.
+   *
+   * @throws IOException on error.
+   */
+  private void writeUnpacked() throws IOException {
+
+    if ((this.node != null) && (this.node.type == StructuredNodeType.ARRAY)) {
+      int packedType = this.node.packedWireType;
+      this.node.packedWireType = ProtoBufNode.PACKED_MIXED;
+      if (packedType >= 0) {
+        writeBufferedValues(packedType, false);
+      }
+    }
+  }
+
+  private void writeBufferedValues(int wireType, boolean packedValues) throws IOException {
+
+    int tagId = getTagId();
+    if (packedValues) {
+      int size;
+      if (wireType == WireFormat.WIRETYPE_VARINT) {
+        size = 0;
+        for (int i = 0; i < this.packedCount; i++) {
+          size += CodedOutputStream.computeSInt64SizeNoTag(this.packedValues[i]);
         }
-        // write till the end
-        this.finalOut.write(payload, startIndex, payload.length - startIndex);
+      } else if (wireType == WireFormat.WIRETYPE_FIXED32) {
+        size = this.packedCount * 4;
+      } else {
+        size = this.packedCount * 8;
+      }
+      this.out.writeTag(tagId, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+      this.out.writeUInt32NoTag(size);
+    }
+    for (int i = 0; i < this.packedCount; i++) {
+      if (!packedValues) {
+        this.out.writeTag(tagId, wireType);
+      }
+      long value = this.packedValues[i];
+      if (wireType == WireFormat.WIRETYPE_VARINT) {
+        this.out.writeSInt64NoTag(value);
+      } else if (wireType == WireFormat.WIRETYPE_FIXED32) {
+        this.out.writeFloatNoTag(Float.intBitsToFloat((int) value));
+      } else {
+        this.out.writeDoubleNoTag(Double.longBitsToDouble(value));
       }
-      this.finalOut.flush();
-      this.node = null;
-      setState(StructuredState.DONE);
     }
-    return size;
+    this.packedCount = 0;
+  }
+
+  /**
+   * @param length the length of the primitive array to write.
+   * @return {@code true} if the array shall be written packed, {@code false} otherwise.
+   */
+  private boolean isPackedArray(int length) {
+
+    return this.packed && (length > 1) && ((this.node.type == StructuredNodeType.ARRAY) || (this.id > 0));
+  }
+
+  private void writePackedStart(int size) throws IOException {
+
+    writeStartArray();
+    this.node.packedWireType = ProtoBufNode.PACKED_MIXED;
+    this.out.writeTag(getTagId(), WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    this.out.writeUInt32NoTag(size);
+  }
+
+  private void writePackedEnd() {
+
+    setState(StructuredState.VALUE);
+    writeEnd();
+  }
+
+  @Override
+  public void writeArray(int[] array) {
+
+    if ((array == null) || !isPackedArray(array.length)) {
+      super.writeArray(array);
+      return;
+    }
+    try {
+      int size = 0;
+      for (int item : array) {
+        size += CodedOutputStream.computeSInt32SizeNoTag(item);
+      }
+      writePackedStart(size);
+      for (int item : array) {
+        this.out.writeSInt32NoTag(item);
+      }
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+    writePackedEnd();
+  }
+
+  @Override
+  public void writeArray(long[] array) {
+
+    if ((array == null) || !isPackedArray(array.length)) {
+      super.writeArray(array);
+      return;
+    }
+    try {
+      int size = 0;
+      for (long item : array) {
+        size += CodedOutputStream.computeSInt64SizeNoTag(item);
+      }
+      writePackedStart(size);
+      for (long item : array) {
+        this.out.writeSInt64NoTag(item);
+      }
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+    writePackedEnd();
+  }
+
+  @Override
+  public void writeArray(double[] array) {
+
+    if ((array == null) || !isPackedArray(array.length)) {
+      super.writeArray(array);
+      return;
+    }
+    try {
+      writePackedStart(array.length * 8);
+      for (double item : array) {
+        this.out.writeDoubleNoTag(item);
+      }
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+    writePackedEnd();
+  }
+
+  @Override
+  public void writeArray(float[] array) {
+
+    if ((array == null) || !isPackedArray(array.length)) {
+      super.writeArray(array);
+      return;
+    }
+    try {
+      writePackedStart(array.length * 4);
+      for (float item : array) {
+        this.out.writeFloatNoTag(item);
+      }
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+    writePackedEnd();
+  }
+
+  @Override
+  public void writeArray(byte[] array) {
+
+    if ((array == null) || !isPackedArray(array.length)) {
+      super.writeArray(array);
+      return;
+    }
+    try {
+      int size = 0;
+      for (byte item : array) {
+        size += CodedOutputStream.computeSInt32SizeNoTag(item);
+      }
+      writePackedStart(size);
+      for (byte item : array) {
+        this.out.writeSInt32NoTag(item);
+      }
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+    writePackedEnd();
+  }
+
+  @Override
+  public void writeValue(Object value) {
+
+    if (!this.useGroups && !this.sizing && (this.sizes == null) && (this.node.parent == null)
+        && (value instanceof MarshallableObject object)) {
+      if (this.sizeWriter == null) {
+        this.sizeWriter = new ProtoBufWriter((ProtoBufFormat) getFormat());
+      }
+      this.sizeWriter.computeSize(object);
+      this.sizes = this.sizeWriter.sizes;
+      this.sizeCount = this.sizeWriter.sizeCount;
+      this.sizeIndex = 0;
+      try {
+        object.write(this);
+      } finally {
+        this.sizes = null;
+      }
+    } else {
+      super.writeValue(value);
+    }
   }
 
   private void clearProperty() {
@@ -277,6 +612,7 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
       if (value == null) {
         writeValueAsNull();
       } else {
+        writeUnpacked();
         int tagId = getTagId();
         if (tagId == 0) {
           this.out.writeStringNoTag(value);
@@ -295,6 +631,7 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
   public void writeValueAsBoolean(boolean value) {
 
     try {
+      writeUnpacked();
       int tagId = getTagId();
       if (tagId == 0) {
         this.out.writeBoolNoTag(value);
@@ -313,8 +650,10 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
 
     if (value == null) {
       writeValueAsNull();
+    } else if (this.compactBigNumbers) {
+      writeBigNumber(value.unscaledValue(), value.scale());
     } else {
-      // could be written more efficiently, but interoperability is also important
+      // decimal string by default for interoperability
       writeValueAsString(value.toString());
     }
   }
@@ -324,12 +663,52 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
 
     if (value == null) {
       writeValueAsNull();
+    } else if (this.compactBigNumbers) {
+      writeBigNumber(value, 0);
     } else {
-      // could be written more efficiently, but interoperability is also important
+      // decimal string by default for interoperability
       writeValueAsString(value.toString());
     }
   }
 
+  private void writeBigNumber(BigInteger unscaled, int scale) {
+
+    try {
+      // never packed as the reader could not distinguish a packed field from a length delimited big number
+      writeUnpacked();
+      int tagId = getTagId();
+      int bitLength = unscaled.bitLength();
+      if ((scale == 0) && (bitLength < 64)) {
+        if (tagId == 0) {
+          this.out.writeSInt64NoTag(unscaled.longValue());
+        } else {
+          this.out.writeSInt64(tagId, unscaled.longValue());
+        }
+      } else {
+        int scaleSize = CodedOutputStream.computeSInt32SizeNoTag(scale);
+        // same length as BigInteger.toByteArray()
+        int byteCount = (bitLength / 8) + 1;
+        if (tagId != 0) {
+          this.out.writeTag(tagId, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        }
+        this.out.writeUInt32NoTag(scaleSize + byteCount);
+        this.out.writeSInt32NoTag(scale);
+        if (bitLength < 64) {
+          long value = unscaled.longValue();
+          for (int shift = (byteCount - 1) * 8; shift >= 0; shift -= 8) {
+            this.out.write((byte) (value >> shift));
+          }
+        } else {
+          this.out.writeRawBytes(unscaled.toByteArray());
+        }
+      }
+      setState(StructuredState.VALUE);
+      clearProperty();
+    } catch (IOException e) {
+      throw new RuntimeIoException(e);
+    }
+  }
+
   @Override
   public void writeValueAsLong(long value) {
 
@@ -337,7 +716,7 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
       int tagId = getTagId();
       if (tagId == 0) {
         this.out.writeSInt64NoTag(value);
-      } else {
+      } else if (!pack(WireFormat.WIRETYPE_VARINT, value)) {
         this.out.writeSInt64(tagId, value);
       }
       setState(StructuredState.VALUE);
@@ -354,7 +733,7 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
       int tagId = getTagId();
       if (tagId == 0) {
         this.out.writeSInt32NoTag(value);
-      } else {
+      } else if (!pack(WireFormat.WIRETYPE_VARINT, value)) {
         this.out.writeSInt32(tagId, value);
       }
       setState(StructuredState.VALUE);
@@ -371,7 +750,7 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
       int tagId = getTagId();
       if (tagId == 0) {
         this.out.writeDoubleNoTag(value);
-      } else {
+      } else if (!pack(WireFormat.WIRETYPE_FIXED64, Double.doubleToRawLongBits(value))) {
         this.out.writeDouble(tagId, value);
       }
       setState(StructuredState.VALUE);
@@ -388,7 +767,7 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
       int tagId = getTagId();
       if (tagId == 0) {
         this.out.writeFloatNoTag(value);
-      } else {
+      } else if (!pack(WireFormat.WIRETYPE_FIXED32, Float.floatToRawIntBits(value))) {
         this.out.writeFloat(tagId, value);
       }
       setState(StructuredState.VALUE);
@@ -402,52 +781,41 @@ public class ProtoBufWriter extends AbstractStructuredBinaryWriter<ProtoBufNode>
   protected void doClose() throws IOException {
 
     try {
-      flushIfEos();
-      this.os.close();
+      if (this.finalOut != null) {
+        this.finalOut.flush();
+      }
+      if (this.os != null) {
+        this.os.close();
+      }
     } catch (IOException e) {
       throw new RuntimeIoException(e);
     }
     this.out = null;
-    this.baos = null;
-    this.finalOut = null;
     this.node = null;
-    this.firstFix.next = null;
+    this.bufferCount = 0;
   }
 
-  private static class SizeFix {
-
-    private final int offset;
+  /**
+   * Buffer for the payload of a length-delimited object until its size is known.
+   */
+  private static final class ObjectBuffer extends ByteArrayOutputStream {
 
-    private final int size;
+    private final CodedOutputStream out;
 
-    private SizeFix next;
+    private CodedOutputStream parentOut;
 
-    private SizeFix(int offset, int size) {
+    private ObjectBuffer() {
 
-      super();
-      this.offset = offset;
-      this.size = size;
+      super(256);
+      this.out = CodedOutputStream.newInstance(this, 256);
     }
 
-    public void append(int newOffset, int newSize) {
+    private void writeTo(CodedOutputStream target) throws IOException {
 
-      SizeFix current = this;
-      SizeFix newFix = new SizeFix(newOffset, newSize);
-      while (true) {
-        if (current.next == null) {
-          // append to end of chain
-          current.next = newFix;
-          return;
-        } else if (newOffset > current.next.offset) {
-          // proceeding to next as larger
-          current = current.next;
-        } else {
-          // insert into chain
-          newFix.next = current.next;
-          current.next = newFix;
-          return;
-        }
-      }
+      this.out.flush();
+      target.writeUInt32NoTag(this.count);
+      target.write(this.buf, 0, this.count);
+      reset();
     }
 
   }
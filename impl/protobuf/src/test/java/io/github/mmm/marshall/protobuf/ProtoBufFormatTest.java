@@ -2,8 +2,11 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.protobuf;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -11,15 +14,19 @@ import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.WireFormat;
 
 import io.github.mmm.binary.BinaryType;
+import io.github.mmm.marshall.MarshallableObject;
 import io.github.mmm.marshall.MarshallingConfig;
+import io.github.mmm.marshall.StructuredBinaryFormat;
 import io.github.mmm.marshall.StructuredBinaryFormatProvider;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredFormatFactory;
 import io.github.mmm.marshall.StructuredFormatProvider;
 import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredState;
+import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.id.StructuredIdMapping;
 import io.github.mmm.marshall.protobuf.impl.ProtoBufFormat;
+import io.github.mmm.marshall.test.RootTestBean;
 import io.github.mmm.marshall.test.StructuredBinaryFormatTest;
 
 /**
@@ -114,4 +121,196 @@ class ProtoBufFormatTest extends StructuredBinaryFormatTest {
     assertThat(payload.length).isEqualTo(2);
   }
 
+  /**
+   * Test of length-delimited objects ({@link ProtoBufFormatProvider#VAR_USE_GROUPS use-groups=false}) written with the
+   * sizing pre-pass and with buffering.
+   */
+  @Test
+  void testLengthDelimited() {
+
+    StructuredBinaryFormat format = (StructuredBinaryFormat) newFormat(
+        MarshallingConfig.DEFAULTS.with(ProtoBufFormatProvider.VAR_USE_GROUPS, Boolean.FALSE));
+    for (String key : new String[] { "value", "v".repeat(200), "v".repeat(20000) }) {
+      MarshallableObject object = createTestObject(key);
+      // with sizing pre-pass
+      byte[] data = write(format, object);
+      // with buffering
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      StructuredWriter writer = format.writer(baos);
+      object.write(writer);
+      writer.close();
+      assertThat(BinaryType.formatHex(data)).isEqualTo(BinaryType.formatHex(baos.toByteArray()));
+      assertThat(format.computeSize(object)).isEqualTo(data.length);
+    }
+  }
+
+  /**
+   * Test of numeric arrays written as packed repeated fields and reading packed as well as unpacked arrays.
+   *
+   * @throws IOException on error.
+   */
+  @Test
+  void testPackedArray() throws IOException {
+
+    // arrange
+    int[] ints = { 1, 2, 300, -5 };
+    double[] doubles = { 0.5, -1.25 };
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CodedOutputStream out = CodedOutputStream.newInstance(baos);
+    int size = 0;
+    for (int i : ints) {
+      size += CodedOutputStream.computeSInt32SizeNoTag(i);
+    }
+    out.writeTag(3, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    out.writeUInt32NoTag(size);
+    for (int i : ints) {
+      out.writeSInt32NoTag(i);
+    }
+    out.writeTag(4, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    out.writeUInt32NoTag(doubles.length * 8);
+    for (double d : doubles) {
+      out.writeDoubleNoTag(d);
+    }
+    out.flush();
+    String expectedPacked = BinaryType.formatHex(baos.toByteArray());
+    // act
+    writeArrays(newWriter(MarshallingConfig.DEFAULTS.with(ProtoBufFormatProvider.VAR_PACKED, Boolean.TRUE)), ints,
+        doubles);
+    String packed = getActualData();
+    writeArrays(newWriter(), ints, doubles);
+    String unpacked = getActualData();
+    // assert
+    assertThat(packed).isEqualTo(expectedPacked);
+    assertThat(unpacked.length()).isGreaterThan(packed.length());
+    for (String data : new String[] { packed, unpacked }) {
+      StructuredReader reader = newFormat().reader(new ByteArrayInputStream(BinaryType.parseHex(data)));
+      assertThat(reader.readStartObject(new RootTestBean())).isTrue();
+      assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_LIST);
+      assertThat(reader.readStartArray()).isTrue();
+      for (int i : ints) {
+        assertThat(reader.readValueAsInteger()).isEqualTo(i);
+      }
+      assertThat(reader.readEndArray()).isTrue();
+      assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_EMPTY);
+      assertThat(reader.readStartArray()).isTrue();
+      for (double d : doubles) {
+        assertThat(reader.readValueAsDouble()).isEqualTo(d);
+      }
+      assertThat(reader.readEndArray()).isTrue();
+      assertThat(reader.readEndObject()).isTrue();
+      assertThat(reader.isDone()).isTrue();
+    }
+  }
+
+  /**
+   * Test of {@link StructuredWriter#writeArray(int[])} and {@link StructuredReader#readIntArray()} with according
+   * {@code double[]} variants.
+   */
+  @Test
+  void testWriteArray() {
+
+    int[] ints = { 1, 2, 300, -5 };
+    double[] doubles = { 0.5, -1.25 };
+    checkWriteArray(MarshallingConfig.DEFAULTS, ints, doubles);
+    checkWriteArray(MarshallingConfig.DEFAULTS.with(ProtoBufFormatProvider.VAR_PACKED, Boolean.TRUE), ints, doubles);
+  }
+
+  private void checkWriteArray(MarshallingConfig config, int[] ints, double[] doubles) {
+
+    // arrange
+    writeArrays(newWriter(config), ints, doubles);
+    String expected = getActualData();
+    // act
+    StructuredWriter writer = newWriter(config);
+    writer.writeStartObject(new RootTestBean());
+    writer.writeName(RootTestBean.PROPERTY_LIST);
+    writer.writeArray(ints);
+    writer.writeName(RootTestBean.PROPERTY_EMPTY);
+    writer.writeArray(doubles);
+    writer.writeEnd();
+    writer.close();
+    String data = getActualData();
+    // assert
+    assertThat(data).isEqualTo(expected);
+    StructuredReader reader = newFormat().reader(new ByteArrayInputStream(BinaryType.parseHex(data)));
+    assertThat(reader.readStartObject(new RootTestBean())).isTrue();
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_LIST);
+    assertThat(reader.readIntArray()).containsExactly(ints);
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_EMPTY);
+    assertThat(reader.readDoubleArray()).containsExactly(doubles);
+    assertThat(reader.readEndObject()).isTrue();
+    assertThat(reader.isDone()).isTrue();
+  }
+
+  /**
+   * Test of {@link ProtoBufFormatProvider#VAR_COMPACT_BIG_NUMBERS}.
+   */
+  @Test
+  void testCompactBigNumbers() {
+
+    // arrange
+    BigDecimal amount = new BigDecimal("-1234.50");
+    BigInteger huge = new BigInteger("-123456789012345678901234567890");
+    BigDecimal precise = new BigDecimal("0.1234567890123456789012345");
+    BigInteger small = BigInteger.valueOf(42);
+    MarshallingConfig config = MarshallingConfig.DEFAULTS.with(ProtoBufFormatProvider.VAR_COMPACT_BIG_NUMBERS,
+        Boolean.TRUE);
+    // act
+    writeBigNumbers(newWriter(), amount, huge, precise, small);
+    String strings = getActualData();
+    writeBigNumbers(newWriter(config), amount, huge, precise, small);
+    String compact = getActualData();
+    // assert
+    assertThat(compact.length()).isLessThan(strings.length());
+    StructuredReader reader = newFormat(config).reader(new ByteArrayInputStream(BinaryType.parseHex(compact)));
+    assertThat(reader.readStartObject(new RootTestBean())).isTrue();
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_FOO);
+    assertThat(reader.readValueAsBigDecimal()).isEqualTo(amount);
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_INSTANT);
+    assertThat(reader.readValueAsBigInteger()).isEqualTo(huge);
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_LIST);
+    assertThat(reader.readStartArray()).isTrue();
+    assertThat(reader.readValueAsBigDecimal()).isEqualTo(precise);
+    assertThat(reader.readValueAsBigInteger()).isEqualTo(small);
+    assertThat(reader.readEndArray()).isTrue();
+    assertThat(reader.readEndObject()).isTrue();
+    assertThat(reader.isDone()).isTrue();
+  }
+
+  private void writeBigNumbers(StructuredWriter writer, BigDecimal amount, BigInteger huge, BigDecimal precise,
+      BigInteger small) {
+
+    writer.writeStartObject(new RootTestBean());
+    writer.writeName(RootTestBean.PROPERTY_FOO);
+    writer.writeValueAsBigDecimal(amount);
+    writer.writeName(RootTestBean.PROPERTY_INSTANT);
+    writer.writeValueAsBigInteger(huge);
+    writer.writeName(RootTestBean.PROPERTY_LIST);
+    writer.writeStartArray();
+    writer.writeValueAsBigDecimal(precise);
+    writer.writeValueAsBigInteger(small);
+    writer.writeEnd();
+    writer.writeEnd();
+    writer.close();
+  }
+
+  private void writeArrays(StructuredWriter writer, int[] ints, double[] doubles) {
+
+    writer.writeStartObject(new RootTestBean());
+    writer.writeName(RootTestBean.PROPERTY_LIST);
+    writer.writeStartArray();
+    for (int i : ints) {
+      writer.writeValueAsInteger(i);
+    }
+    writer.writeEnd();
+    writer.writeName(RootTestBean.PROPERTY_EMPTY);
+    writer.writeStartArray();
+    for (double d : doubles) {
+      writer.writeValueAsDouble(d);
+    }
+    writer.writeEnd();
+    writer.writeEnd();
+    writer.close();
+  }
+
 }
@@ -41,6 +41,15 @@ public class SnakeYamlReader extends AbstractStructuredValueReader<SnakeYamlNode
     return new SnakeYamlRootNode();
   }
 
+  @Override
+  protected SnakeYamlNode getObjectNode() {
+
+    if ((this.node != null) && (this.node.state == StructuredState.NAME)) {
+      return this.node.parent; // NAME is already in the new child node
+    }
+    return this.node;
+  }
+
   @Override
   protected StructuredState next(boolean skip) {
 
@@ -83,6 +92,12 @@ public class SnakeYamlReader extends AbstractStructuredValueReader<SnakeYamlNode
     return false;
   }
 
+  @Override
+  public boolean isNullValue() {
+
+    return (getState() == StructuredState.VALUE) && (this.node.getValue() == null);
+  }
+
   @Override
   public Object readValue() {
 
@@ -52,7 +52,11 @@ public class StaxReader extends AbstractStructuredStringReader<StructuredNodeDef
   @Override
   protected StructuredNodeDefault newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    return null;
+    StructuredNodeDefault result = reuseNode(type);
+    if (result == null) {
+      result = new StructuredNodeDefault(this.node, type);
+    }
+    return result;
   }
 
   @Override
@@ -91,7 +95,7 @@ public class StaxReader extends AbstractStructuredStringReader<StructuredNodeDef
             }
           }
         }
-        setState(state);
+        setStateAndNode(state);
       } while ((skipCount > 0) || todo);
     } catch (XMLStreamException e) {
       throw new IllegalStateException(e);
@@ -203,6 +207,12 @@ public class StaxReader extends AbstractStructuredStringReader<StructuredNodeDef
     return false;
   }
 
+  @Override
+  public boolean isNullValue() {
+
+    return (getState() == StructuredState.VALUE) && (this.xml.getAttributeCount() == 0);
+  }
+
   @Override
   protected String appendContextDetails(String message) {
 
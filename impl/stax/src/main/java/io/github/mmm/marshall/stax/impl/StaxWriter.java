@@ -51,7 +51,11 @@ public class StaxWriter extends AbstractStructuredWriter<StructuredNodeDefault>
   @Override
   protected StructuredNodeDefault newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    return new StructuredNodeDefault(this.node, type);
+    StructuredNodeDefault result = reuseNode(type);
+    if (result == null) {
+      result = new StructuredNodeDefault(this.node, type);
+    }
+    return result;
   }
 
   @Override
@@ -124,6 +128,30 @@ public class StaxWriter extends AbstractStructuredWriter<StructuredNodeDefault>
     }
   }
 
+  @Override
+  public void writeValueAsLong(long value) {
+
+    writeValue(Long.toString(value), StructuredFormat.ATR_NUMBER_VALUE);
+  }
+
+  @Override
+  public void writeValueAsInteger(int value) {
+
+    writeValue(Integer.toString(value), StructuredFormat.ATR_NUMBER_VALUE);
+  }
+
+  @Override
+  public void writeValueAsDouble(double value) {
+
+    writeValue(Double.toString(value), StructuredFormat.ATR_NUMBER_VALUE);
+  }
+
+  @Override
+  public void writeValueAsFloat(float value) {
+
+    writeValue(Float.toString(value), StructuredFormat.ATR_NUMBER_VALUE);
+  }
+
   private void writeValue(String value, String attribute) {
 
     if ((value == null) && !this.writeNullValues) {
@@ -158,6 +186,16 @@ public class StaxWriter extends AbstractStructuredWriter<StructuredNodeDefault>
     }
   }
 
+  @Override
+  protected void doFlush() {
+
+    try {
+      this.xml.flush();
+    } catch (XMLStreamException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   @Override
   protected void doClose() throws IOException {
 
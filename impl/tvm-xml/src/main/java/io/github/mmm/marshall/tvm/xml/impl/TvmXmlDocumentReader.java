@@ -41,7 +41,11 @@ public class TvmXmlDocumentReader extends AbstractStructuredStringReader<Structu
   @Override
   protected StructuredNodeDefault newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    return null;
+    StructuredNodeDefault result = reuseNode(type);
+    if (result == null) {
+      result = new StructuredNodeDefault(this.node, type);
+    }
+    return result;
   }
 
   @Override
@@ -96,7 +100,7 @@ public class TvmXmlDocumentReader extends AbstractStructuredStringReader<Structu
           todo = true;
         }
       }
-      setState(state);
+      setStateAndNode(state);
     } while ((skipCount > 0) || todo);
     return state;
   }
@@ -201,6 +205,12 @@ public class TvmXmlDocumentReader extends AbstractStructuredStringReader<Structu
     return false;
   }
 
+  @Override
+  public boolean isNullValue() {
+
+    return (getState() == StructuredState.VALUE) && (this.xmlNode.getAttributes().getLength() == 0);
+  }
+
   @Override
   protected void doClose() throws IOException {
 
@@ -12,7 +12,7 @@ import io.github.mmm.marshall.spi.StructuredNode;
  */
 class TvmXmlState extends StructuredNode<TvmXmlState> {
 
-  final String tag;
+  String tag;
 
   /**
    * The constructor.
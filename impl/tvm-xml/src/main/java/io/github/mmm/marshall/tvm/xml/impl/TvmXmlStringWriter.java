@@ -2,12 +2,22 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.tvm.xml.impl;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
 import io.github.mmm.marshall.AbstractStructuredStringWriter;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredState;
 import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
 import io.github.mmm.marshall.spi.StructuredNodeType;
+import io.github.mmm.marshall.spi.StructuredTextFormatter;
 
 /**
  * Implementation of {@link StructuredWriter} for XML using TeaVM.
@@ -33,7 +43,13 @@ public class TvmXmlStringWriter extends AbstractStructuredStringWriter<TvmXmlSta
   @Override
   protected TvmXmlState newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    TvmXmlState result = new TvmXmlState(this.node, type, this.closingTag);
+    TvmXmlState result = reuseNode(type);
+    if (result == null) {
+      result = new TvmXmlState(this.node, type, this.closingTag);
+    } else {
+      Objects.requireNonNull(this.closingTag);
+      result.tag = this.closingTag;
+    }
     this.closingTag = null;
     return result;
   }
@@ -100,21 +116,170 @@ public class TvmXmlStringWriter extends AbstractStructuredStringWriter<TvmXmlSta
     }
   }
 
+  @Override
+  public void writeValueAsLong(long value) {
+
+    char[] buffer = getCharBuffer();
+    writeValue(buffer, StructuredTextFormatter.formatLong(value, buffer, 0), null, StructuredFormat.ATR_NUMBER_VALUE);
+  }
+
+  @Override
+  public void writeValueAsInteger(int value) {
+
+    char[] buffer = getCharBuffer();
+    writeValue(buffer, StructuredTextFormatter.formatInt(value, buffer, 0), null, StructuredFormat.ATR_NUMBER_VALUE);
+  }
+
+  @Override
+  public void writeValueAsDouble(double value) {
+
+    char[] buffer = getCharBuffer();
+    writeValue(buffer, StructuredTextFormatter.formatDouble(value, buffer, 0), null,
+        StructuredFormat.ATR_NUMBER_VALUE);
+  }
+
+  @Override
+  public void writeValueAsFloat(float value) {
+
+    char[] buffer = getCharBuffer();
+    writeValue(buffer, StructuredTextFormatter.formatFloat(value, buffer, 0), null,
+        StructuredFormat.ATR_NUMBER_VALUE);
+  }
+
+  @Override
+  public void writeValueAsInstant(Instant value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValue(buffer, StructuredTextFormatter.formatInstant(value, buffer, 0), value,
+          StructuredFormat.ATR_STRING_VALUE);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalDateTime(LocalDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValue(buffer, StructuredTextFormatter.formatLocalDateTime(value, buffer, 0), value,
+          StructuredFormat.ATR_STRING_VALUE);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalDate(LocalDate value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValue(buffer, StructuredTextFormatter.formatLocalDate(value, buffer, 0), value,
+          StructuredFormat.ATR_STRING_VALUE);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalTime(LocalTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValue(buffer, StructuredTextFormatter.formatLocalTime(value, buffer, 0), value,
+          StructuredFormat.ATR_STRING_VALUE);
+    }
+  }
+
+  @Override
+  public void writeValueAsZonedDateTime(ZonedDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValue(buffer, StructuredTextFormatter.formatZonedDateTime(value, buffer, 0), value,
+          StructuredFormat.ATR_STRING_VALUE);
+    }
+  }
+
+  @Override
+  public void writeValueAsOffsetDateTime(OffsetDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValue(buffer, StructuredTextFormatter.formatOffsetDateTime(value, buffer, 0), value,
+          StructuredFormat.ATR_STRING_VALUE);
+    }
+  }
+
+  @Override
+  public void writeValueAsOffsetTime(OffsetTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValue(buffer, StructuredTextFormatter.formatOffsetTime(value, buffer, 0), value,
+          StructuredFormat.ATR_STRING_VALUE);
+    }
+  }
+
   private void writeValue(String value, String attribute) {
 
     if ((value == null) && !this.writeNullValues) {
       return;
     }
-    writeIndent();
-    write("<");
-    write(this.name);
+    writeValueStart();
     if (value != null) {
-      write(" ");
-      write(attribute);
-      write("=\"");
+      writeAttributeStart(attribute);
       write(escapeAttributeValue(value));
       write("\"");
     }
+    writeValueEnd();
+  }
+
+  /**
+   * @param buffer the {@code char[]} with the formatted value that does not require escaping.
+   * @param end the index after the last character of the formatted value or {@code -1} if formatting was not
+   *        supported.
+   * @param value the original value to fall back to in case {@code end} is {@code -1}.
+   * @param attribute the name of the attribute for the value.
+   */
+  private void writeValue(char[] buffer, int end, Object value, String attribute) {
+
+    if (end < 0) {
+      writeValue(value.toString(), attribute);
+      return;
+    }
+    writeValueStart();
+    writeAttributeStart(attribute);
+    write(buffer, 0, end);
+    write("\"");
+    writeValueEnd();
+  }
+
+  private void writeValueStart() {
+
+    writeIndent();
+    write("<");
+    write(this.name);
+  }
+
+  private void writeAttributeStart(String attribute) {
+
+    write(" ");
+    write(attribute);
+    write("=\"");
+  }
+
+  private void writeValueEnd() {
+
     write("/>");
     if (this.name != StructuredFormat.TAG_ITEM) {
       this.name = null;
@@ -2,13 +2,16 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.yaml.impl;
 
+import java.io.OutputStream;
 import java.io.Reader;
 
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredTextWriterPool;
 import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.spi.AbstractStructuredTextFormat;
+import io.github.mmm.marshall.spi.StructuredProcessorPool;
 import io.github.mmm.scanner.CharReaderScanner;
 import io.github.mmm.scanner.CharSequenceScanner;
 
@@ -22,6 +25,12 @@ public class YamlFormat extends AbstractStructuredTextFormat {
 
   private static final YamlFormat DEFAULT = of(MarshallingConfig.DEFAULTS);
 
+  private final StructuredProcessorPool<YamlWriter> writers;
+
+  private final StructuredProcessorPool<YamlWriter> utf8Writers;
+
+  private final StructuredTextWriterPool writerPool;
+
   /**
    * The constructor.
    *
@@ -31,6 +40,9 @@ public class YamlFormat extends AbstractStructuredTextFormat {
   public YamlFormat(MarshallingConfig config) {
 
     super(config);
+    this.writers = new StructuredProcessorPool<>(this);
+    this.utf8Writers = new StructuredProcessorPool<>(this);
+    this.writerPool = new YamlWriterPool();
   }
 
   @Override
@@ -57,12 +69,44 @@ public class YamlFormat extends AbstractStructuredTextFormat {
     return new YamlWriter(writer, this);
   }
 
+  @Override
+  public StructuredWriter writer(OutputStream out) {
+
+    return new YamlWriter(out, this);
+  }
+
   @Override
   public boolean isSupportingComments() {
 
     return true;
   }
 
+  @Override
+  public StructuredTextWriterPool writerPool() {
+
+    return this.writerPool;
+  }
+
+  private StructuredWriter pooledWriter(Appendable out) {
+
+    YamlWriter writer = this.writers.borrow();
+    if (writer == null) {
+      return this.writers.register(new YamlWriter(out, this));
+    }
+    writer.reset(out);
+    return writer;
+  }
+
+  private StructuredWriter pooledWriter(OutputStream out) {
+
+    YamlWriter writer = this.utf8Writers.borrow();
+    if (writer == null) {
+      return this.utf8Writers.register(new YamlWriter(out, this));
+    }
+    writer.reset(out);
+    return writer;
+  }
+
   /**
    * @return the default instance of {@link YamlFormat}.
    */
@@ -83,4 +127,20 @@ public class YamlFormat extends AbstractStructuredTextFormat {
     return new YamlFormat(config);
   }
 
+  private class YamlWriterPool implements StructuredTextWriterPool {
+
+    @Override
+    public StructuredWriter writer(Appendable writer) {
+
+      return pooledWriter(writer);
+    }
+
+    @Override
+    public StructuredWriter writer(OutputStream out) {
+
+      return pooledWriter(out);
+    }
+
+  }
+
 }
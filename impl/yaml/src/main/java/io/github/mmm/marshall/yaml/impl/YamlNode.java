@@ -12,10 +12,10 @@ import io.github.mmm.marshall.spi.StructuredNode;
  */
 public class YamlNode extends StructuredNode<YamlNode> {
 
-  final boolean json;
+  boolean json;
 
   /** the number of spaces the line is indented with. */
-  final int column;
+  int column;
 
   YamlNode(YamlNode parent, StructuredNodeType type) {
 
@@ -64,7 +64,14 @@ public class YamlReader extends AbstractStructuredScannerReader<YamlNode> {
   @Override
   protected YamlNode newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
-    return new YamlNode(this.node, type, this.json, this.column);
+    YamlNode result = reuseNode(type);
+    if (result == null) {
+      result = new YamlNode(this.node, type, this.json, this.column);
+    } else {
+      result.json = this.json;
+      result.column = this.column;
+    }
+    return result;
   }
 
   @Override
@@ -231,17 +238,20 @@ public class YamlReader extends AbstractStructuredScannerReader<YamlNode> {
     if (cp == '"') {
       this.stringValue = true;
       this.reader.next();
-      string = this.reader.readUntil('"', false, '\\');
+      readQuotedToken('"', '\\');
     } else if (cp == '\'') {
       requireYaml(cp);
       this.stringValue = true;
       this.reader.next();
-      string = this.reader.readUntil('\'', false, '\'');
+      readQuotedToken('\'', '\'');
     } else {
-      string = this.reader.readUntil(VALUE_FILTER, true);
+      while (this.reader.hasNext() && !VALUE_FILTER.accept(this.reader.peek())) {
+        appendTokenChar(this.reader.next());
+      }
     }
     int next = this.reader.peek();
     if (next == ':') {
+      string = resolveName(false);
       this.reader.next();
       if (this.node.type == null) {
         start(StructuredNodeType.OBJECT, false, col);
@@ -260,12 +270,25 @@ public class YamlReader extends AbstractStructuredScannerReader<YamlNode> {
         this.name = string;
         setState(StructuredState.NAME);
       }
+    } else if (this.stringValue) {
+      nextValue(resolveText());
     } else {
-      if (this.stringValue) {
-        nextValue(string);
-      } else {
-        nextValueFromString(string);
-      }
+      nextValueFromToken();
+    }
+  }
+
+  @Override
+  public void skipValue() {
+
+    StructuredState state = getState();
+    if (((state == StructuredState.START_OBJECT) || (state == StructuredState.START_ARRAY)) && this.node.json) {
+      // flow style (JSON) - opening bracket has already been consumed
+      skipStructure(true);
+      end(this.node.type);
+      this.reader.next();
+      next();
+    } else {
+      super.skipValue();
     }
   }
 
@@ -299,33 +322,6 @@ public class YamlReader extends AbstractStructuredScannerReader<YamlNode> {
     return this.stringValue;
   }
 
-  private void nextNumber(String numberString) {
-
-    try {
-      Number number;
-      if ((numberString.indexOf('.') >= 0) || (numberString.indexOf('e') >= 0)) {
-        double d = Double.parseDouble(numberString);
-        float f = (float) d;
-        if (f == d) {
-          number = Float.valueOf(f);
-        } else {
-          number = Double.valueOf(numberString);
-        }
-      } else {
-        long l = Long.parseLong(numberString);
-        int i = (int) l;
-        if (i == l) {
-          number = Integer.valueOf(i);
-        } else {
-          number = Long.valueOf(numberString);
-        }
-      }
-      nextValue(number);
-    } catch (NumberFormatException e) {
-      throw error("Invalid number: " + numberString, e);
-    }
-  }
-
   @Override
   protected StructuredState start(StructuredNodeType type) {
 
@@ -374,22 +370,43 @@ public class YamlReader extends AbstractStructuredScannerReader<YamlNode> {
     return super.error(message, cause);
   }
 
-  private void nextValueFromString(String v) {
+  private void nextValueFromToken() {
 
-    if (v.equals("null")) {
+    CharSequence token = getToken();
+    if (isLiteral(token, "null", false)) {
+      clearToken();
       nextValue(null);
-    } else if (v.equalsIgnoreCase("true")) {
+    } else if (isLiteral(token, "true", true)) {
+      clearToken();
       nextValue(Boolean.TRUE);
-    } else if (v.equalsIgnoreCase("false")) {
+    } else if (isLiteral(token, "false", true)) {
+      clearToken();
       nextValue(Boolean.FALSE);
-    } else if (isNumber(v)) {
-      nextNumber(v);
+    } else if (isNumber(token)) {
+      nextValue(null);
+      setNumberValueFromToken();
     } else {
-      nextValue(v);
+      nextValue(resolveText());
     }
   }
 
-  private boolean isNumber(String number) {
+  private static boolean isLiteral(CharSequence token, String literal, boolean ignoreCase) {
+
+    int len = literal.length();
+    if (token.length() != len) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      char c = token.charAt(i);
+      char l = literal.charAt(i);
+      if ((c != l) && (!ignoreCase || (Character.toLowerCase(c) != l))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isNumber(CharSequence number) {
 
     int len = number.length();
     if (len == 0) {
@@ -427,6 +444,7 @@ public class YamlReader extends AbstractStructuredScannerReader<YamlNode> {
 
   private void nextValue(Object v) {
 
+    clearNumberValue();
     this.value = v;
     setState(StructuredState.VALUE);
     this.yamlArrayValue = false;
@@ -437,9 +455,19 @@ public class YamlReader extends AbstractStructuredScannerReader<YamlNode> {
 
     require(StructuredState.VALUE);
     Object v = this.value;
+    if (isNumberValue()) {
+      v = getNumberValue();
+      clearNumberValue();
+    }
     this.value = null;
     next();
     return v;
   }
 
+  @Override
+  public boolean isNullValue() {
+
+    return (getState() == StructuredState.VALUE) && (this.value == null) && !isNumberValue();
+  }
+
 }
@@ -2,8 +2,16 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.yaml.impl;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
 
 import io.github.mmm.marshall.AbstractStructuredStringWriter;
 import io.github.mmm.marshall.MarshallingConfig;
@@ -12,6 +20,7 @@ import io.github.mmm.marshall.StructuredState;
 import io.github.mmm.marshall.StructuredWriter;
 import io.github.mmm.marshall.id.StructuredIdMappingObject;
 import io.github.mmm.marshall.spi.StructuredNodeType;
+import io.github.mmm.marshall.spi.StructuredTextFormatter;
 
 /**
  * Implementation of {@link StructuredWriter} for JSON from scratch.
@@ -37,6 +46,29 @@ public class YamlWriter extends AbstractStructuredStringWriter<YamlNode> {
     super(out, format);
   }
 
+  /**
+   * The constructor.
+   *
+   * @param out the {@link OutputStream} to write the data to encoded as UTF-8.
+   * @param format the {@link #getFormat() format}.
+   */
+  public YamlWriter(OutputStream out, StructuredFormat format) {
+
+    super(out, format);
+  }
+
+  @Override
+  public void reset(Appendable newOut) {
+
+    super.reset(newOut);
+  }
+
+  @Override
+  public void reset(OutputStream newOut) {
+
+    super.reset(newOut);
+  }
+
   @Override
   protected YamlNode newNode(StructuredNodeType type, StructuredIdMappingObject object) {
 
@@ -52,7 +84,14 @@ public class YamlWriter extends AbstractStructuredStringWriter<YamlNode> {
     if (json) {
       write(type.getOpen());
     }
-    return new YamlNode(this.node, type, json);
+    YamlNode result = reuseNode(type);
+    if (result == null) {
+      result = new YamlNode(this.node, type, json);
+    } else {
+      result.json = json;
+      result.column = 0;
+    }
+    return result;
   }
 
   @Override
@@ -158,10 +197,20 @@ public class YamlWriter extends AbstractStructuredStringWriter<YamlNode> {
 
     if (value == null) {
       writeValueAsNull();
+    } else if (value instanceof Integer) {
+      writeValueAsInteger(value.intValue());
+    } else if (value instanceof Long) {
+      writeValueAsLong(value.longValue());
+    } else if (value instanceof Double) {
+      writeValueAsDouble(value.doubleValue());
+    } else if (value instanceof Float) {
+      writeValueAsFloat(value.floatValue());
+    } else if ((value instanceof Short) || (value instanceof Byte)) {
+      writeValueAsInteger(value.intValue());
     } else if (value instanceof BigDecimal) {
-      writeValueAsString(value.toString());
+      writeValueAsBigDecimal((BigDecimal) value);
     } else if (value instanceof BigInteger) {
-      writeValueAsString(value.toString());
+      writeValueAsBigInteger((BigInteger) value);
     } else {
       writeValueInternal(value);
     }
@@ -190,31 +239,145 @@ public class YamlWriter extends AbstractStructuredStringWriter<YamlNode> {
   @Override
   public void writeValueAsLong(long value) {
 
-    String string = Long.toString(value);
+    char[] buffer = getCharBuffer();
+    int end = StructuredTextFormatter.formatLong(value, buffer, 0);
     if ((value >= JS_NUMBER_MIN) && (value <= JS_NUMBER_MAX)) {
-      writeValueInternal(string);
+      writeValueChars(buffer, end);
     } else {
-      writeValueAsString(string);
+      writeValueQuoted(buffer, end, null);
     }
   }
 
   @Override
   public void writeValueAsInteger(int value) {
 
-    writeValueInternal(Integer.toString(value));
+    char[] buffer = getCharBuffer();
+    writeValueChars(buffer, StructuredTextFormatter.formatInt(value, buffer, 0));
   }
 
   @Override
   public void writeValueAsDouble(double value) {
 
-    writeValueInternal(Double.toString(value));
+    char[] buffer = getCharBuffer();
+    writeValueChars(buffer, StructuredTextFormatter.formatDouble(value, buffer, 0));
   }
 
   @Override
   public void writeValueAsFloat(float value) {
 
-    // TODO why do we do this???
-    writeValueAsDouble(Double.parseDouble(Float.toString(value)));
+    char[] buffer = getCharBuffer();
+    writeValueChars(buffer, StructuredTextFormatter.formatFloat(value, buffer, 0));
+  }
+
+  @Override
+  public void writeValueAsInstant(Instant value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatInstant(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalDateTime(LocalDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatLocalDateTime(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalDate(LocalDate value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatLocalDate(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsLocalTime(LocalTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatLocalTime(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsZonedDateTime(ZonedDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatZonedDateTime(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsOffsetDateTime(OffsetDateTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatOffsetDateTime(value, buffer, 0), value);
+    }
+  }
+
+  @Override
+  public void writeValueAsOffsetTime(OffsetTime value) {
+
+    if (value == null) {
+      writeValueAsNull();
+    } else {
+      char[] buffer = getCharBuffer();
+      writeValueQuoted(buffer, StructuredTextFormatter.formatOffsetTime(value, buffer, 0), value);
+    }
+  }
+
+  /**
+   * @param buffer the {@code char[]} with the formatted value.
+   * @param end the index after the last character of the formatted value.
+   */
+  private void writeValueChars(char[] buffer, int end) {
+
+    writeName(true);
+    write(buffer, 0, end);
+    setState(StructuredState.VALUE);
+  }
+
+  /**
+   * @param buffer the {@code char[]} with the formatted value that does not contain any quotes.
+   * @param end the index after the last character of the formatted value or {@code -1} if formatting was not
+   *        supported.
+   * @param value the original value to fall back to in case {@code end} is {@code -1}.
+   */
+  private void writeValueQuoted(char[] buffer, int end, Object value) {
+
+    if (end < 0) {
+      writeValueAsString(value.toString());
+      return;
+    }
+    char quote = '\'';
+    if (this.node.json) {
+      quote = '"';
+    }
+    writeName(true);
+    write(quote);
+    write(buffer, 0, end);
+    write(quote);
+    setState(StructuredState.VALUE);
   }
 
   @Override
@@ -2,8 +2,10 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.marshall.yaml;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.Test;
@@ -42,6 +44,20 @@ class YamlFormatTest extends AbstractYamlFormatTest {
     return getExpectedYamlData(getIndentation(), getNewline(), "'");
   }
 
+  /**
+   * Test of {@link io.github.mmm.marshall.StructuredFormat#writer(java.io.OutputStream)} writing UTF-8 bytes directly.
+   */
+  @Test
+  void testWriteUtf8() {
+
+    // arrange
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    // act
+    writeTestData(getProvider().create().writer(baos));
+    // assert
+    assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(getExpectedData());
+  }
+
   @Override
   protected boolean isSmartJsonIndent() {
 
@@ -2,6 +2,15 @@ package io.github.mmm.marshall.test;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 
 import org.junit.jupiter.api.Test;
 
@@ -9,6 +18,7 @@ import io.github.mmm.marshall.StandardFormat;
 import io.github.mmm.marshall.StructuredFormat;
 import io.github.mmm.marshall.StructuredFormatFactory;
 import io.github.mmm.marshall.StructuredFormatProvider;
+import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredTextFormat;
 
 /**
@@ -98,4 +108,33 @@ public abstract class AbstractJsonFormatTest extends AbstractJsonBasedFormatTest
     assertThat(format.isSupportingComments()).isFalse();
   }
 
+  /**
+   * Test of reading {@link java.time} values in common ISO-8601 layouts as well as unusual ones.
+   */
+  @Test
+  void testReadTemporals() {
+
+    // arrange
+    String json = "[\"2024-02-29T23:59:59.5+01:00\",\"2024-02-29\",\"07:05\",\"2024-02-29T07:05:00.000000001\","
+        + "\"2024-02-29T07:05+05:30[Asia/Kolkata]\",\"2024-02-29T07:05:00-03:30\",\"07:05:00Z\","
+        + "\"2024-02-29T07:05:30+01:00:30\",\"2024-02-30\"]";
+    // act
+    StructuredReader reader = newReader(json);
+    // assert
+    assertThat(reader.readStartArray()).isTrue();
+    assertThat(reader.readValueAsInstant()).isEqualTo(Instant.parse("2024-02-29T22:59:59.500Z"));
+    assertThat(reader.readValueAsLocalDate()).isEqualTo(LocalDate.of(2024, 2, 29));
+    assertThat(reader.readValueAsLocalTime()).isEqualTo(LocalTime.of(7, 5));
+    assertThat(reader.readValueAsLocalDateTime()).isEqualTo(LocalDateTime.of(2024, 2, 29, 7, 5, 0, 1));
+    assertThat(reader.readValueAsZonedDateTime())
+        .isEqualTo(ZonedDateTime.of(2024, 2, 29, 7, 5, 0, 0, ZoneId.of("Asia/Kolkata")));
+    assertThat(reader.readValueAsOffsetDateTime())
+        .isEqualTo(OffsetDateTime.of(2024, 2, 29, 7, 5, 0, 0, ZoneOffset.ofHoursMinutes(-3, -30)));
+    assertThat(reader.readValueAsOffsetTime()).isEqualTo(OffsetTime.of(7, 5, 0, 0, ZoneOffset.UTC));
+    assertThat(reader.readValueAsOffsetDateTime())
+        .isEqualTo(OffsetDateTime.of(2024, 2, 29, 7, 5, 30, 0, ZoneOffset.ofHoursMinutesSeconds(1, 0, 30)));
+    assertThatThrownBy(() -> reader.readValueAsLocalDate()).isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("2024-02-30");
+  }
+
 }
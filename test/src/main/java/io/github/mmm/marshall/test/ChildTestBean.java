@@ -7,9 +7,9 @@ import io.github.mmm.marshall.id.StructuredIdMappingObject;
 /**
  * Dummy bean for testing.
  */
-class ChildTestBean implements StructuredIdMappingObject {
+public class ChildTestBean implements StructuredIdMappingObject {
 
-  static final String PROPERTY_KEY = "key";
+  public static final String PROPERTY_KEY = "key";
 
   private String key;
 
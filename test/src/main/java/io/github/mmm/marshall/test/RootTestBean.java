@@ -10,15 +10,15 @@ import io.github.mmm.marshall.id.StructuredIdMappingObject;
 /**
  * Dummy bean for testing.
  */
-class RootTestBean implements StructuredIdMappingObject {
+public class RootTestBean implements StructuredIdMappingObject {
 
-  static final String PROPERTY_FOO = "foo";
+  public static final String PROPERTY_FOO = "foo";
 
-  static final String PROPERTY_INSTANT = "instant";
+  public static final String PROPERTY_INSTANT = "instant";
 
-  static final String PROPERTY_LIST = "list";
+  public static final String PROPERTY_LIST = "list";
 
-  static final String PROPERTY_EMPTY = "empty";
+  public static final String PROPERTY_EMPTY = "empty";
 
   private String foo;
 
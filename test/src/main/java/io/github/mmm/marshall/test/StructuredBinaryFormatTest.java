@@ -2,10 +2,25 @@ package io.github.mmm.marshall.test;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 
 import io.github.mmm.binary.BinaryType;
+import io.github.mmm.marshall.MarshallableObject;
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StructuredBinaryFormat;
 import io.github.mmm.marshall.StructuredBinaryFormatProvider;
@@ -101,4 +116,255 @@ public abstract class StructuredBinaryFormatTest extends StructuredFormatTest {
     assertThat(format.isText()).isFalse();
   }
 
+  /**
+   * Test of {@link StructuredBinaryFormat#writer(ByteBuffer)}, {@link StructuredBinaryFormat#reader(ByteBuffer)}, and
+   * {@link StructuredBinaryFormat#reader(byte[], int, int)} with heap and direct buffers.
+   */
+  @Test
+  void testByteBuffer() {
+
+    StructuredBinaryFormat format = (StructuredBinaryFormat) newFormat();
+    String expectedData = getExpectedData();
+    int length = expectedData.length() / 2;
+    for (ByteBuffer buffer : List.of(ByteBuffer.allocate(length + 8), ByteBuffer.allocateDirect(length + 8))) {
+      buffer.position(3);
+      writeTestData(format.writer(buffer));
+      assertThat(buffer.position()).isEqualTo(3 + length);
+      buffer.flip().position(3);
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.duplicate().get(bytes);
+      assertThat(BinaryType.formatHex(bytes)).isEqualTo(expectedData);
+      readTestData(format.reader(buffer));
+    }
+    byte[] data = new byte[length + 4];
+    System.arraycopy(BinaryType.parseHex(expectedData), 0, data, 2, length);
+    readTestData(format.reader(data, 2, length));
+  }
+
+  /**
+   * Test of {@link StructuredBinaryFormat#computeSize(MarshallableObject)}.
+   */
+  @Test
+  void testComputeSize() {
+
+    StructuredBinaryFormat format = (StructuredBinaryFormat) newFormat();
+    MarshallableObject object = createTestObject("value");
+    byte[] data = write(format, object);
+    assertThat(format.computeSize(object)).isEqualTo(data.length);
+  }
+
+  /**
+   * Test of writing and reading {@link java.time} values with and without
+   * {@link MarshallingConfig#VAR_BINARY_TEMPORALS} including reading strings with binary temporals enabled.
+   */
+  @Test
+  void testTemporals() {
+
+    MarshallingConfig binary = MarshallingConfig.DEFAULTS.with(MarshallingConfig.VAR_BINARY_TEMPORALS, Boolean.TRUE);
+    MarshallingConfig strings = MarshallingConfig.DEFAULTS.with(MarshallingConfig.VAR_BINARY_TEMPORALS, Boolean.FALSE);
+    checkTemporals(MarshallingConfig.DEFAULTS, MarshallingConfig.DEFAULTS);
+    checkTemporals(binary, binary);
+    checkTemporals(strings, strings);
+    checkTemporals(strings, binary);
+  }
+
+  private void checkTemporals(MarshallingConfig writeConfig, MarshallingConfig readConfig) {
+
+    // arrange
+    Instant instant = Instant.parse("2024-02-29T23:59:59.123456789Z");
+    Instant seconds = Instant.ofEpochSecond(-1);
+    LocalDate date = LocalDate.of(1969, 12, 31);
+    LocalTime time = LocalTime.of(7, 5);
+    LocalDateTime dateTime = LocalDateTime.of(date, LocalTime.of(23, 0, 0, 120000000));
+    OffsetDateTime offsetDateTime = OffsetDateTime.of(dateTime, ZoneOffset.ofHoursMinutes(-3, -30));
+    ZonedDateTime zonedDateTime = ZonedDateTime.of(dateTime, ZoneId.of("Europe/Berlin"));
+    ZonedDateTime utcDateTime = ZonedDateTime.of(dateTime, ZoneOffset.UTC);
+    OffsetTime offsetTime = OffsetTime.of(LocalTime.of(12, 30, 15, 1000), ZoneOffset.ofHours(2));
+    StructuredBinaryFormat format = (StructuredBinaryFormat) newFormat(writeConfig);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StructuredWriter writer = format.writer(out);
+    // act
+    writer.writeStartObject(new RootTestBean());
+    writer.writeName(RootTestBean.PROPERTY_INSTANT);
+    writer.writeValueAsInstant(instant);
+    writer.writeName(RootTestBean.PROPERTY_LIST);
+    writer.writeStartArray();
+    writer.writeValueAsInstant(seconds);
+    writer.writeValueAsLocalDate(date);
+    writer.writeValueAsLocalTime(time);
+    writer.writeValueAsLocalDateTime(dateTime);
+    writer.writeValueAsOffsetDateTime(offsetDateTime);
+    writer.writeValueAsZonedDateTime(zonedDateTime);
+    writer.writeValueAsZonedDateTime(utcDateTime);
+    writer.writeValueAsOffsetTime(offsetTime);
+    writer.writeEnd();
+    writer.writeEnd();
+    writer.close();
+    // assert
+    format = (StructuredBinaryFormat) newFormat(readConfig);
+    StructuredReader reader = format.reader(out.toByteArray());
+    assertThat(reader.readStartObject(new RootTestBean())).isTrue();
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_INSTANT);
+    assertThat(reader.readValueAsInstant()).isEqualTo(instant);
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_LIST);
+    assertThat(reader.readStartArray()).isTrue();
+    assertThat(reader.readValueAsInstant()).isEqualTo(seconds);
+    assertThat(reader.readValueAsLocalDate()).isEqualTo(date);
+    assertThat(reader.readValueAsLocalTime()).isEqualTo(time);
+    assertThat(reader.readValueAsLocalDateTime()).isEqualTo(dateTime);
+    assertThat(reader.readValueAsOffsetDateTime()).isEqualTo(offsetDateTime);
+    assertThat(reader.readValueAsZonedDateTime()).isEqualTo(zonedDateTime);
+    assertThat(reader.readValueAsZonedDateTime()).isEqualTo(utcDateTime);
+    assertThat(reader.readValueAsOffsetTime()).isEqualTo(offsetTime);
+    assertThat(reader.readEndArray()).isTrue();
+    assertThat(reader.readEndObject()).isTrue();
+    assertThat(reader.isDone()).isTrue();
+  }
+
+  /**
+   * Test of {@link MarshallingConfig#VAR_BINARY_TEMPORALS} for each {@link java.time} type: the value has to be written
+   * shorter than its ISO-8601 string and has to be read back unchanged.
+   */
+  @Test
+  void testTemporalsCompact() {
+
+    LocalDateTime dateTime = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123000000);
+    checkTemporalCompact(Instant.parse("2024-02-29T23:59:59.123456789Z"), StructuredWriter::writeValueAsInstant,
+        StructuredReader::readValueAsInstant);
+    checkTemporalCompact(dateTime, StructuredWriter::writeValueAsLocalDateTime,
+        StructuredReader::readValueAsLocalDateTime);
+    checkTemporalCompact(LocalDate.of(1969, 12, 31), StructuredWriter::writeValueAsLocalDate,
+        StructuredReader::readValueAsLocalDate);
+    checkTemporalCompact(LocalTime.of(7, 5, 30, 1000), StructuredWriter::writeValueAsLocalTime,
+        StructuredReader::readValueAsLocalTime);
+    checkTemporalCompact(OffsetDateTime.of(dateTime, ZoneOffset.ofHoursMinutes(-3, -30)),
+        StructuredWriter::writeValueAsOffsetDateTime, StructuredReader::readValueAsOffsetDateTime);
+    checkTemporalCompact(OffsetDateTime.of(dateTime, ZoneOffset.MAX), StructuredWriter::writeValueAsOffsetDateTime,
+        StructuredReader::readValueAsOffsetDateTime);
+    checkTemporalCompact(OffsetTime.of(LocalTime.of(12, 30, 15, 1000), ZoneOffset.MIN),
+        StructuredWriter::writeValueAsOffsetTime, StructuredReader::readValueAsOffsetTime);
+    checkTemporalCompact(ZonedDateTime.of(dateTime, ZoneOffset.ofHours(2)), StructuredWriter::writeValueAsZonedDateTime,
+        StructuredReader::readValueAsZonedDateTime);
+  }
+
+  private <T> void checkTemporalCompact(T value, BiConsumer<StructuredWriter, T> write,
+      Function<StructuredReader, T> read) {
+
+    // arrange
+    MarshallingConfig binary = MarshallingConfig.DEFAULTS.with(MarshallingConfig.VAR_BINARY_TEMPORALS, Boolean.TRUE);
+    MarshallingConfig strings = MarshallingConfig.DEFAULTS.with(MarshallingConfig.VAR_BINARY_TEMPORALS, Boolean.FALSE);
+    // act
+    byte[] binaryData = writeTemporal(binary, value, write);
+    byte[] stringData = writeTemporal(strings, value, write);
+    // assert
+    assertThat(binaryData.length).as(value.toString()).isLessThan(stringData.length);
+    StructuredReader reader = ((StructuredBinaryFormat) newFormat(binary)).reader(binaryData);
+    assertThat(reader.readStartObject(new RootTestBean())).isTrue();
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_INSTANT);
+    assertThat(read.apply(reader)).isEqualTo(value);
+    assertThat(reader.readEndObject()).isTrue();
+    assertThat(reader.isDone()).isTrue();
+  }
+
+  private <T> byte[] writeTemporal(MarshallingConfig config, T value, BiConsumer<StructuredWriter, T> write) {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StructuredWriter writer = ((StructuredBinaryFormat) newFormat(config)).writer(out);
+    writer.writeStartObject(new RootTestBean());
+    writer.writeName(RootTestBean.PROPERTY_INSTANT);
+    write.accept(writer, value);
+    writer.writeEnd();
+    writer.close();
+    return out.toByteArray();
+  }
+
+  /**
+   * Test of writing a homogeneous numeric {@code List<Object>} and reading it back generically via
+   * {@link StructuredReader#readValue()} without knowing the element type.
+   */
+  @Test
+  void testNumericListGeneric() {
+
+    // arrange
+    List<Object> longs = List.of(Long.valueOf(1), Long.valueOf(2), Long.valueOf(300), Long.valueOf(-5));
+    List<Object> doubles = List.of(Double.valueOf(0.5), Double.valueOf(-1.25));
+    StructuredBinaryFormat format = (StructuredBinaryFormat) newFormat();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StructuredWriter writer = format.writer(out);
+    // act
+    writer.writeStartObject(new RootTestBean());
+    writer.writeName(RootTestBean.PROPERTY_LIST);
+    writer.writeStartArray();
+    for (Object value : longs) {
+      writer.writeValue(value);
+    }
+    writer.writeEnd();
+    writer.writeName(RootTestBean.PROPERTY_EMPTY);
+    writer.writeStartArray();
+    for (Object value : doubles) {
+      writer.writeValue(value);
+    }
+    writer.writeEnd();
+    writer.writeEnd();
+    writer.close();
+    // assert
+    StructuredReader reader = format.reader(out.toByteArray());
+    assertThat(reader.readStartObject(new RootTestBean())).isTrue();
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_LIST);
+    assertThat(readArrayGeneric(reader)).isEqualTo(longs);
+    assertThat(reader.readName()).isEqualTo(RootTestBean.PROPERTY_EMPTY);
+    assertThat(readArrayGeneric(reader)).isEqualTo(doubles);
+    assertThat(reader.readEndObject()).isTrue();
+    assertThat(reader.isDone()).isTrue();
+  }
+
+  private List<Object> readArrayGeneric(StructuredReader reader) {
+
+    assertThat(reader.readStartArray()).isTrue();
+    List<Object> list = new ArrayList<>();
+    while (!reader.readEndArray()) {
+      list.add(reader.readValue());
+    }
+    return list;
+  }
+
+  /**
+   * @param key the {@link ChildTestBean#PROPERTY_KEY key} of the nested child objects.
+   * @return a {@link MarshallableObject} writing a root object with an array of nested child objects.
+   */
+  protected MarshallableObject createTestObject(String key) {
+
+    RootTestBean root = createRoot();
+    ChildTestBean child = new ChildTestBean();
+    return writer -> {
+      writer.writeStartObject(root);
+      writer.writeName(RootTestBean.PROPERTY_FOO);
+      writer.writeValue(root.getFoo());
+      writer.writeName(RootTestBean.PROPERTY_LIST);
+      writer.writeStartArray();
+      for (int i = 0; i < 2; i++) {
+        writer.writeStartObject(child);
+        writer.writeName(ChildTestBean.PROPERTY_KEY);
+        writer.writeValueAsString(key);
+        writer.writeEnd();
+      }
+      writer.writeEnd();
+      writer.writeEnd();
+    };
+  }
+
+  /**
+   * @param format the {@link StructuredBinaryFormat} to use.
+   * @param object the {@link MarshallableObject} to {@link StructuredWriter#writeValue(Object) write}.
+   * @return the written data.
+   */
+  protected byte[] write(StructuredBinaryFormat format, MarshallableObject object) {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StructuredWriter writer = format.writer(out);
+    writer.writeValue(object);
+    writer.close();
+    return out.toByteArray();
+  }
+
 }
@@ -16,6 +16,7 @@ import io.github.mmm.marshall.StructuredFormatProvider;
 import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredState;
 import io.github.mmm.marshall.StructuredWriter;
+import io.github.mmm.marshall.id.StructuredIdMapping;
 
 /**
  * Abstract test for {@link StructuredFormat}.
@@ -121,6 +122,16 @@ public abstract class StructuredFormatTest extends Assertions {
    */
   protected void writeTestData(StructuredWriter writer) {
 
+    writeTestData(writer, true);
+  }
+
+  /**
+   * @param writer the {@link StringWriter} where to write the test-data to.
+   * @param close - {@code true} to {@link StructuredWriter#close() close} the {@link StructuredWriter} at the end,
+   *        {@code false} otherwise.
+   */
+  protected void writeTestData(StructuredWriter writer, boolean close) {
+
     // arrange (dummy objects)
     RootTestBean root = createRoot();
     ChildTestBean child = new ChildTestBean();
@@ -184,8 +195,10 @@ public abstract class StructuredFormatTest extends Assertions {
     assertThat(writer.getState()).isSameAs(StructuredState.END_ARRAY);
     writer.writeEnd(); // end root object
     assertThat(writer.getState()).isSameAs(StructuredState.END_OBJECT);
-    writer.close();
-    assertThat(writer.getState()).isSameAs(StructuredState.DONE);
+    if (close) {
+      writer.close();
+      assertThat(writer.getState()).isSameAs(StructuredState.DONE);
+    }
   }
 
   /**
@@ -352,6 +365,60 @@ public abstract class StructuredFormatTest extends Assertions {
     assertThat(reader.isDone()).isTrue();
   }
 
+  /**
+   * Test of the primitive {@code readValueAs*} methods such as {@link StructuredReader#readValueAsInteger(int)}.
+   */
+  @Test
+  protected void testReadPrimitiveValues() {
+
+    // arrange (dummy object)
+    RootTestBean root = new RootTestBean();
+
+    // act
+    StructuredReader reader = newReader();
+    assertThat(reader.readStartObject(root)).isTrue();
+    checkState(reader, StructuredState.NAME);
+    checkName(reader, RootTestBean.PROPERTY_FOO);
+    assertThat(reader.isNullValue()).isFalse();
+    reader.skipValue();
+    checkState(reader, StructuredState.NAME);
+    checkName(reader, RootTestBean.PROPERTY_INSTANT);
+    reader.skipValue();
+    checkState(reader, StructuredState.NAME);
+    checkName(reader, RootTestBean.PROPERTY_LIST);
+    assertThat(reader.readStartArray()).isTrue();
+    checkState(reader, StructuredState.VALUE);
+    assertThat(reader.isNullValue()).isFalse();
+    assertThat(reader.readValueAsInteger(0)).isEqualTo(P3_LIST_VALUE1.intValue());
+    assertThat(reader.readValueAsLong(0)).isEqualTo(P3_LIST_VALUE2.longValue());
+    assertThat(reader.readValueAsInteger(0)).isEqualTo(P3_LIST_VALUE3.intValue());
+    assertThat(reader.readValueAsLong(0)).isEqualTo(P3_LIST_VALUE4.longValue());
+    assertThat(reader.readValueAsFloat()).isEqualTo(P3_LIST_VALUE5);
+    assertThat(reader.readValueAsDouble(0)).isEqualTo(P3_LIST_VALUE6.doubleValue());
+    checkState(reader, StructuredState.VALUE);
+  }
+
+  /** Test of {@link StructuredReader#readNameToken()}. */
+  @Test
+  protected void testReadNameToken() {
+
+    // arrange (dummy object)
+    RootTestBean root = new RootTestBean();
+    StructuredIdMapping idMapping = root.defineIdMapping();
+
+    // act
+    StructuredReader reader = newReader();
+    assertThat(reader.readStartObject(root)).isTrue();
+    checkState(reader, StructuredState.NAME);
+    assertThat(reader.readNameToken()).isEqualTo(idMapping.id(RootTestBean.PROPERTY_FOO));
+    assertThat(reader.getName()).isEqualTo(RootTestBean.PROPERTY_FOO);
+    reader.skipValue();
+    assertThat(reader.readNameToken()).isEqualTo(idMapping.id(RootTestBean.PROPERTY_INSTANT));
+    reader.skipValue();
+    assertThat(reader.readNameToken()).isEqualTo(idMapping.id(RootTestBean.PROPERTY_LIST));
+    assertThat(reader.readStartArray()).isTrue();
+  }
+
   /**
    * @return the payload data expected for the atomic long value 42 in the {@link #getProvider() format} to test.
    */
@@ -1,5 +1,6 @@
 package io.github.mmm.marshall.test;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -12,6 +13,8 @@ import io.github.mmm.marshall.StructuredReader;
 import io.github.mmm.marshall.StructuredState;
 import io.github.mmm.marshall.StructuredTextFormat;
 import io.github.mmm.marshall.StructuredTextFormatProvider;
+import io.github.mmm.marshall.StructuredTextReaderPool;
+import io.github.mmm.marshall.StructuredTextWriterPool;
 import io.github.mmm.marshall.StructuredWriter;
 
 /**
@@ -115,6 +118,52 @@ public abstract class StructuredTextFormatTest extends StructuredFormatTest {
     assertThat(getActualData()).isEqualTo(getExpectedDataRaw(false));
   }
 
+  /**
+   * Test of {@link StructuredWriter} writing to a {@link java.io.Writer} with a small
+   * {@link MarshallingConfig#VAR_BUFFER_SIZE buffer size} so the buffer is flushed multiple times.
+   */
+  @Test
+  protected void testWriteBuffered() {
+
+    MarshallingConfig config = MarshallingConfig.DEFAULTS.with(MarshallingConfig.VAR_BUFFER_SIZE, Integer.valueOf(64));
+    StringWriter out = new StringWriter();
+    writeTestData(getProvider().create(config).writer(out));
+    assertThat(out.toString()).isEqualTo(getExpectedData());
+  }
+
+  /**
+   * Test of {@link StructuredWriter} writing to a {@link java.io.Writer} without {@link StructuredWriter#close()
+   * closing} it. The output has to be complete after the root object has been ended.
+   */
+  @Test
+  protected void testWriteWithoutClose() {
+
+    MarshallingConfig config = MarshallingConfig.DEFAULTS.with(MarshallingConfig.VAR_BUFFER_SIZE, Integer.valueOf(64));
+    StringWriter out = new StringWriter();
+    writeTestData(getProvider().create(config).writer(out), false);
+    assertThat(out.toString()).isEqualTo(getExpectedData());
+  }
+
+  /**
+   * Test of {@link StructuredTextFormat#readerPool()} and {@link StructuredTextFormat#writerPool()} reusing closed
+   * readers and writers.
+   */
+  @Test
+  protected void testPool() {
+
+    StructuredTextFormat format = getProvider().create();
+    StructuredTextWriterPool writerPool = format.writerPool();
+    StructuredTextReaderPool readerPool = format.readerPool();
+    for (int i = 0; i < 3; i++) {
+      StringBuilder out = new StringBuilder();
+      writeTestData(writerPool.writer(out));
+      assertThat(out.toString()).isEqualTo(getExpectedData());
+      StructuredReader reader = readerPool.reader(out.toString());
+      readTestData(reader);
+      reader.close();
+    }
+  }
+
   /**
    * Test of {@link StructuredTextFormat#isText()}.
    */